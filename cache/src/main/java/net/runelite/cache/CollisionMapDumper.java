@@ -27,6 +27,7 @@ package net.runelite.cache;
 
 import net.runelite.cache.definitions.ObjectDefinition;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.jagex.MappedDiskStorage;
 import net.runelite.cache.region.Location;
 import net.runelite.cache.region.Position;
 import net.runelite.cache.region.Region;
@@ -39,8 +40,21 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Collision map dumper
@@ -50,8 +64,13 @@ import java.util.Collection;
  * and replace "mapsquare" with "region" and "key" with "keys".
  * Compile the client with "mvn install -f pom.xml -DskipTests -U".
  * Run "java net.runelite.cache.CollisionMapDumper --cachedir ../cache --xteapath ../keys.json --outputdir ../output"
+ * <p>
+ * Regions are processed in parallel, on as many threads as there are processors unless "--threads" says otherwise.
+ * collision-map.zip for the shortest path plugin resources is written to the output directory.
  */
 public class CollisionMapDumper {
+    private static final int TILE_COUNT = Region.Z * Region.X * Region.Y;
+
     private final RegionLoader regionLoader;
     private final ObjectManager objectManager;
 
@@ -69,6 +88,7 @@ public class CollisionMapDumper {
         options.addOption(Option.builder().longOpt("cachedir").hasArg().required().build());
         options.addOption(Option.builder().longOpt("xteapath").hasArg().required().build());
         options.addOption(Option.builder().longOpt("outputdir").hasArg().required().build());
+        options.addOption(Option.builder().longOpt("threads").hasArg().build());
 
         CommandLineParser parser = new DefaultParser();
         CommandLine cmd;
@@ -83,6 +103,9 @@ public class CollisionMapDumper {
         final String cacheDirectory = cmd.getOptionValue("cachedir");
         final String xteaJSONPath = cmd.getOptionValue("xteapath");
         final String outputDirectory = cmd.getOptionValue("outputdir");
+        final int threads = cmd.hasOption("threads")
+                ? Integer.parseInt(cmd.getOptionValue("threads"))
+                : Runtime.getRuntime().availableProcessors();
 
         XteaKeyManager xteaKeyManager = new XteaKeyManager();
         try (FileInputStream fin = new FileInputStream(xteaJSONPath)) {
@@ -93,7 +116,7 @@ public class CollisionMapDumper {
         File outDir = new File(outputDirectory);
         outDir.mkdirs();
 
-        try (Store store = new Store(base)) {
+        try (Store store = new Store(new MappedDiskStorage(base))) {
             store.load();
 
             CollisionMapDumper dumper = new CollisionMapDumper(store, xteaKeyManager);
@@ -101,13 +124,52 @@ public class CollisionMapDumper {
 
             Collection<Region> regions = dumper.regionLoader.getRegions();
 
-            int n = 0;
+            AtomicInteger n = new AtomicInteger();
             int total = regions.size();
 
-            for (Region region : regions) {
-                dumper.makeCollisionMap(region, outputDirectory, ++n, total);
+            // Everything the regions are made from has been loaded, so they can be made in any order
+            Map<String, byte[]> collisionMaps = new ConcurrentHashMap<>();
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                pool.submit(() -> {
+                    // Every region is also added to the collision maps of its eight neighbours, so sort it only once
+                    Map<Region, LocationBuckets> buckets = regions.parallelStream()
+                            .collect(Collectors.toConcurrentMap(Function.identity(), LocationBuckets::new));
+                    regions.parallelStream().forEach(region -> {
+                        String name = region.getRegionX() + "_" + region.getRegionY();
+                        byte[] buf = dumper.makeCollisionMap(region, buckets);
+                        if (buf.length > 0) {
+                            collisionMaps.put(name, buf);
+                            System.out.println("Exporting region " + name + " (" + n.incrementAndGet() + " / " + total + ")");
+                        }
+                    });
+                }).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while making collision maps", e);
+            } catch (ExecutionException e) {
+                throw new IOException("Unable to make collision maps", e.getCause());
+            } finally {
+                pool.shutdown();
+            }
+
+            writeArchive(outDir, new TreeMap<>(collisionMaps));
+        }
+    }
+
+    /**
+     * Writes the collision maps of all regions as collision-map.zip, with one entry per region.
+     */
+    private static void writeArchive(File outDir, Map<String, byte[]> collisionMaps) throws IOException {
+        File zipFile = new File(outDir, "collision-map.zip");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zipFile))) {
+            for (Map.Entry<String, byte[]> entry : collisionMaps.entrySet()) {
+                out.putNextEntry(new ZipEntry(entry.getKey()));
+                out.write(entry.getValue());
+                out.closeEntry();
             }
         }
+        System.out.println("Exported " + collisionMaps.size() + " regions to " + zipFile);
     }
 
     public CollisionMapDumper load() throws IOException {
@@ -122,44 +184,72 @@ public class CollisionMapDumper {
         return objectManager.getObject(id);
     }
 
-    private void makeCollisionMap(Region region, String outputDirectory, int n, int total) {
+    private byte[] makeCollisionMap(Region region, Map<Region, LocationBuckets> buckets) {
         int baseX = region.getBaseX();
         int baseY = region.getBaseY();
 
         FlagMap flagMap = new FlagMap(baseX, baseY, baseX + Region.X - 1, baseY + Region.Y - 1);
 
-        addCollisions(flagMap, region);
-        addNeighborCollisions(flagMap, region, -1, -1);
-        addNeighborCollisions(flagMap, region, -1, 0);
-        addNeighborCollisions(flagMap, region, -1, 1);
-        addNeighborCollisions(flagMap, region, 0, -1);
-        addNeighborCollisions(flagMap, region, 0, 1);
-        addNeighborCollisions(flagMap, region, 1, -1);
-        addNeighborCollisions(flagMap, region, 1, 0);
-        addNeighborCollisions(flagMap, region, 1, 1);
-
-        String name = region.getRegionX() + "_" + region.getRegionY();
-
-        byte[] buf = flagMap.toBytes();
-        if (buf.length > 0) {
-            try (FileOutputStream out = new FileOutputStream(outputDirectory + "/" + name)) {
-                out.write(buf, 0, buf.length);
-                System.out.println("Exporting region " + name + " (" + n + " / " + total + ")");
-            } catch (IOException e) {
-                System.out.println("Unable to write compressed output bytes for " + name + ". " + e);
-            }
-        }
+        addCollisions(flagMap, region, buckets.get(region));
+        addNeighborCollisions(flagMap, region, buckets, -1, -1);
+        addNeighborCollisions(flagMap, region, buckets, -1, 0);
+        addNeighborCollisions(flagMap, region, buckets, -1, 1);
+        addNeighborCollisions(flagMap, region, buckets, 0, -1);
+        addNeighborCollisions(flagMap, region, buckets, 0, 1);
+        addNeighborCollisions(flagMap, region, buckets, 1, -1);
+        addNeighborCollisions(flagMap, region, buckets, 1, 0);
+        addNeighborCollisions(flagMap, region, buckets, 1, 1);
+
+        return flagMap.toBytes();
     }
 
-    private void addNeighborCollisions(FlagMap flagMap, Region region, int dx, int dy) {
+    private void addNeighborCollisions(FlagMap flagMap, Region region, Map<Region, LocationBuckets> buckets, int dx, int dy) {
         Region neighbor = regionLoader.findRegionForRegionCoordinates(region.getRegionX() + dx, region.getRegionY() + dy);
         if (neighbor == null) {
             return;
         }
-        addCollisions(flagMap, neighbor);
+        addCollisions(flagMap, neighbor, buckets.get(neighbor));
+    }
+
+    /**
+     * Sorts the locations of a region by tile, keeping their order within a tile. The locations on a tile are
+     * {@code locations[start[tile]]} up to {@code locations[start[tile + 1]]}, see {@link #tileIndex}.
+     */
+    private static final class LocationBuckets {
+        private final Location[] locations;
+        private final int[] start = new int[TILE_COUNT + 1];
+
+        private LocationBuckets(Region region) {
+            List<Location> all = region.getLocations();
+            int[] tiles = new int[all.size()];
+            for (int i = 0; i < tiles.length; i++) {
+                Position pos = all.get(i).getPosition();
+                tiles[i] = tileIndex(pos.getZ(), pos.getX() - region.getBaseX(), pos.getY() - region.getBaseY());
+                if (tiles[i] >= 0) {
+                    start[tiles[i] + 1]++;
+                }
+            }
+            for (int i = 0; i < TILE_COUNT; i++) {
+                start[i + 1] += start[i];
+            }
+            locations = new Location[start[TILE_COUNT]];
+            int[] next = Arrays.copyOf(start, TILE_COUNT);
+            for (int i = 0; i < tiles.length; i++) {
+                if (tiles[i] >= 0) {
+                    locations[next[tiles[i]]++] = all.get(i);
+                }
+            }
+        }
+
+        private static int tileIndex(int z, int localX, int localY) {
+            if (z < 0 || z >= Region.Z || localX < 0 || localX >= Region.X || localY < 0 || localY >= Region.Y) {
+                return -1;
+            }
+            return (z * Region.X + localX) * Region.Y + localY;
+        }
     }
 
-    private void addCollisions(FlagMap flagMap, Region region) {
+    private void addCollisions(FlagMap flagMap, Region region, LocationBuckets buckets) {
         int baseX = region.getBaseX();
         int baseY = region.getBaseY();
 
@@ -172,11 +262,10 @@ public class CollisionMapDumper {
                     boolean isBridge = (region.getTileSetting(1, localX, localY) & 2) != 0;
                     int tileZ = z + (isBridge ? 1 : 0);
 
-                    for (Location loc : region.getLocations()) {
-                        Position pos = loc.getPosition();
-                        if (pos.getX() != regionX || pos.getY() != regionY || pos.getZ() != tileZ) {
-                            continue;
-                        }
+                    int bucket = LocationBuckets.tileIndex(tileZ, localX, localY);
+                    int end = bucket < 0 ? 0 : buckets.start[bucket + 1];
+                    for (int i = bucket < 0 ? 0 : buckets.start[bucket]; i < end; i++) {
+                        Location loc = buckets.locations[i];
 
                         boolean tile = FlagMap.TILE_BLOCKED;
                         Boolean exclusion = Exclusion.matches(loc.getId());
@@ -604,13 +693,16 @@ public class CollisionMapDumper {
             this.tile = tile;
         }
 
-        public static Boolean matches(int id) {
+        private static final Map<Integer, Boolean> TILES = new HashMap<>();
+
+        static {
             for (Exclusion exclusion : values()) {
-                if (exclusion.id == id) {
-                    return exclusion.tile;
-                }
+                TILES.putIfAbsent(exclusion.id, exclusion.tile);
             }
-            return null;
+        }
+
+        public static Boolean matches(int id) {
+            return TILES.get(id);
         }
     }
 
@@ -27,25 +27,22 @@ package net.runelite.cache;
 import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import net.runelite.cache.definitions.ItemDefinition;
 import net.runelite.cache.definitions.exporters.ItemExporter;
 import net.runelite.cache.definitions.loaders.ItemLoader;
 import net.runelite.cache.definitions.providers.ItemProvider;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.util.DefinitionTable;
 import net.runelite.cache.util.IDClass;
 
 public class ItemManager implements ItemProvider
 {
 	private final Store store;
-	private final Map<Integer, ItemDefinition> items = new HashMap<>();
+	private DefinitionTable<ItemDefinition> items = DefinitionTable.empty();
 
 	public ItemManager(Store store)
 	{
@@ -63,11 +60,25 @@ public class ItemManager implements ItemProvider
 		byte[] archiveData = storage.loadArchive(archive);
 		ArchiveFiles files = archive.getFiles(archiveData);
 
-		for (FSFile f : files.getFiles())
-		{
-			ItemDefinition def = loader.load(f.getFileId(), f.getContents());
-			items.put(f.getFileId(), def);
-		}
+		items = DefinitionTable.load(files.getFiles(), loader::load);
+	}
+
+	/**
+	 * Decodes items when they're asked for, instead of all of them up front like {@link #load()}.
+	 * Items decoded this way aren't linked by {@link #link()}.
+	 *
+	 * @param cacheSize the number of decoded items to keep
+	 */
+	public void loadLazy(int cacheSize) throws IOException
+	{
+		ItemLoader loader = new ItemLoader();
+
+		Storage storage = store.getStorage();
+		Index index = store.getIndex(IndexType.CONFIGS);
+		Archive archive = index.getArchive(ConfigType.ITEM.getId());
+
+		byte[] archiveData = storage.loadArchive(archive);
+		items = DefinitionTable.lazy(archive.getLazyFiles(archiveData), loader::load, cacheSize);
 	}
 
 	public void link()
@@ -96,7 +107,7 @@ public class ItemManager implements ItemProvider
 
 	public Collection<ItemDefinition> getItems()
 	{
-		return Collections.unmodifiableCollection(items.values());
+		return items.values();
 	}
 
 	public ItemDefinition getItem(int itemId)
@@ -26,15 +26,22 @@ package net.runelite.cache;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import javax.imageio.ImageIO;
 import lombok.Getter;
 import lombok.Setter;
@@ -56,6 +63,7 @@ import net.runelite.cache.fs.FSFile;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.jagex.MappedDiskStorage;
 import net.runelite.cache.item.RSTextureProvider;
 import net.runelite.cache.models.JagexColor;
 import net.runelite.cache.region.Location;
@@ -78,6 +86,8 @@ public class MapImageDumper
 {
 	private static final int MAP_SCALE = 4; // this squared is the number of pixels per map square
 	private static final int BLEND = 5; // number of surrounding tiles for ground blending
+	private static final int TILE_SIZE = Region.X * MAP_SCALE; // a tile of drawTiles is one region at the deepest zoom
+	private static final int LABEL_MARGIN = 256; // how far outside an image a label can start and still reach into it
 
 	private static byte[][][] TILE_SHAPE_2D;
 
@@ -138,6 +148,13 @@ public class MapImageDumper
 	@Setter
 	private boolean lowMemory = true;
 
+	/**
+	 * The number of regions drawn at once by {@link #drawTiles(int, File)}
+	 */
+	@Getter
+	@Setter
+	private int threads = Runtime.getRuntime().availableProcessors();
+
 	public MapImageDumper(Store store, KeyProvider keyProvider)
 	{
 		this(store, new RegionLoader(store, keyProvider));
@@ -160,6 +177,8 @@ public class MapImageDumper
 		options.addOption(Option.builder().longOpt("cachedir").hasArg().required().build());
 		options.addOption(Option.builder().longOpt("xteapath").hasArg().required().build());
 		options.addOption(Option.builder().longOpt("outputdir").hasArg().required().build());
+		options.addOption(Option.builder().longOpt("tiles").build());
+		options.addOption(Option.builder().longOpt("threads").hasArg().build());
 
 		CommandLineParser parser = new DefaultParser();
 		CommandLine cmd;
@@ -188,15 +207,27 @@ public class MapImageDumper
 		File outDir = new File(outputDirectory);
 		outDir.mkdirs();
 
-		try (Store store = new Store(base))
+		try (Store store = new Store(new MappedDiskStorage(base)))
 		{
 			store.load();
 
 			MapImageDumper dumper = new MapImageDumper(store, xteaKeyManager);
+			if (cmd.hasOption("threads"))
+			{
+				dumper.setThreads(Integer.parseInt(cmd.getOptionValue("threads")));
+			}
 			dumper.load();
 
 			for (int i = 0; i < Region.Z; ++i)
 			{
+				if (cmd.hasOption("tiles"))
+				{
+					File tileDir = new File(outDir, "tiles/" + i);
+					dumper.drawTiles(i, tileDir);
+					log.info("Wrote tiles to {}", tileDir);
+					continue;
+				}
+
 				BufferedImage image = dumper.drawMap(i);
 
 				File imageFile = new File(outDir, "img-" + i + ".png");
@@ -219,6 +250,12 @@ public class MapImageDumper
 		loadOverlays(store);
 		objectManager.load();
 
+		// Generated up front as regions may be drawn on several threads
+		if (TILE_SHAPE_2D == null)
+		{
+			generateTileShapes();
+		}
+
 		TextureManager textureManager = new TextureManager(store);
 		textureManager.load();
 		rsTextureProvider = new RSTextureProvider(textureManager, sprites);
@@ -264,11 +301,178 @@ public class MapImageDumper
 		drawMap(image, z);
 		drawObjects(image, z);
 		drawMapIcons(image, z);
-		drawMapLabels(image, z);
+		drawMapLabels(image, z, regionLoader.getLowestX().getBaseX(), regionLoader.getHighestY().getBaseY());
 
 		return image;
 	}
 
+	/**
+	 * Draws a plane as a pyramid of {@value #TILE_SIZE}px tiles, written to {@code outDir/zoom/x/y.png} like the tiles
+	 * of a slippy map. At the deepest zoom a tile is a single region, with the region of the highest y and lowest x at
+	 * 0/0; each zoom level above it halves the scale until the whole plane is in the tile at 0/0/0. Tiles without
+	 * regions are left out.
+	 * <p>
+	 * Regions are drawn on {@link #getThreads()} threads and written as soon as they're done, and the tiles above are
+	 * made from the written tiles below, so only a few tiles per thread are in memory at once.
+	 *
+	 * @return the deepest zoom level
+	 */
+	public int drawTiles(int z, File outDir) throws IOException
+	{
+		final int minRegionX = regionLoader.getLowestX().getRegionX();
+		final int maxRegionY = regionLoader.getHighestY().getRegionY();
+		final int width = regionLoader.getHighestX().getRegionX() - minRegionX + 1;
+		final int height = maxRegionY - regionLoader.getLowestY().getRegionY() + 1;
+		final int maxZoom = 32 - Integer.numberOfLeadingZeros(Math.max(width, height) - 1);
+
+		log.info("Drawing plane {} as {}x{} tiles at zoom {}, on {} threads", z, width, height, maxZoom, threads);
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try
+		{
+			Set<Long> tiles = ConcurrentHashMap.newKeySet();
+			run(pool, () -> regionLoader.getRegions().parallelStream().forEach(region ->
+			{
+				int x = region.getRegionX() - minRegionX;
+				int y = maxRegionY - region.getRegionY();
+				writeTile(drawTile(region, z), outDir, maxZoom, x, y);
+				tiles.add(packTile(x, y));
+			}));
+
+			for (int zoom = maxZoom - 1; zoom >= 0; --zoom)
+			{
+				final int childZoom = zoom + 1;
+				Set<Long> parents = new HashSet<>();
+				for (long tile : tiles)
+				{
+					parents.add(packTile(tileX(tile) >> 1, tileY(tile) >> 1));
+				}
+
+				final int parentZoom = zoom;
+				run(pool, () -> parents.parallelStream().forEach(tile ->
+					writeTile(mergeTiles(outDir, childZoom, tileX(tile), tileY(tile)), outDir, parentZoom, tileX(tile), tileY(tile))));
+				tiles = parents;
+			}
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+
+		return maxZoom;
+	}
+
+	private static void run(ForkJoinPool pool, Runnable task) throws IOException
+	{
+		try
+		{
+			pool.submit(task).get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while drawing tiles", e);
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof UncheckedIOException)
+			{
+				throw ((UncheckedIOException) cause).getCause();
+			}
+			throw new IOException("Unable to draw tiles", cause);
+		}
+	}
+
+	/**
+	 * Draws a region like {@link #drawRegion(Region, int)}, along with the icons and labels of the map around it that
+	 * reach into the region.
+	 */
+	private BufferedImage drawTile(Region region, int z)
+	{
+		BufferedImage image = drawRegion(region, z);
+		for (int dx = -1; dx <= 1; dx++)
+		{
+			for (int dy = -1; dy <= 1; dy++)
+			{
+				Region neighbor = regionLoader.findRegionForRegionCoordinates(region.getRegionX() + dx, region.getRegionY() + dy);
+				if (neighbor != null && neighbor != region)
+				{
+					drawMapIcons(image, neighbor, z, Region.X * dx, Region.Y * -dy);
+				}
+			}
+		}
+		drawMapLabels(image, z, region.getBaseX(), region.getBaseY());
+		return image;
+	}
+
+	/**
+	 * Draws the four tiles below a tile at half their scale.
+	 */
+	private BufferedImage mergeTiles(File outDir, int childZoom, int x, int y)
+	{
+		BufferedImage image = new BufferedImage(TILE_SIZE, TILE_SIZE, transparency ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		try
+		{
+			for (int dx = 0; dx < 2; dx++)
+			{
+				for (int dy = 0; dy < 2; dy++)
+				{
+					File child = tileFile(outDir, childZoom, x * 2 + dx, y * 2 + dy);
+					if (child.exists())
+					{
+						graphics.drawImage(ImageIO.read(child), dx * TILE_SIZE / 2, dy * TILE_SIZE / 2, TILE_SIZE / 2, TILE_SIZE / 2, null);
+					}
+				}
+			}
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+		finally
+		{
+			graphics.dispose();
+		}
+		return image;
+	}
+
+	private static void writeTile(BufferedImage image, File outDir, int zoom, int x, int y)
+	{
+		File file = tileFile(outDir, zoom, x, y);
+		file.getParentFile().mkdirs();
+		try
+		{
+			ImageIO.write(image, "png", file);
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static File tileFile(File outDir, int zoom, int x, int y)
+	{
+		return new File(outDir, zoom + "/" + x + "/" + y + ".png");
+	}
+
+	private static long packTile(int x, int y)
+	{
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
+	}
+
+	private static int tileX(long tile)
+	{
+		return (int) (tile >> 32);
+	}
+
+	private static int tileY(long tile)
+	{
+		return (int) tile;
+	}
+
 	private void drawNeighborObjects(BufferedImage image, int rx, int ry, int dx, int dy, int z)
 	{
 		Region neighbor = regionLoader.findRegionForRegionCoordinates(rx + dx, ry + dy);
@@ -1581,7 +1785,11 @@ public class MapImageDumper
 		}
 	}
 
-	private void drawMapLabels(BufferedImage image, int z)
+	/**
+	 * Draws the labels of the map on an image whose top left corner is the top left of the region at
+	 * {@code baseX, baseY}.
+	 */
+	private void drawMapLabels(BufferedImage image, int z, int baseX, int baseY)
 	{
 		if (!renderLabels)
 		{
@@ -1599,6 +1807,14 @@ public class MapImageDumper
 				continue;
 			}
 
+			int drawX = worldPosition.getX() - baseX;
+			int drawY = baseY - worldPosition.getY() + Region.Y - 2;
+			if (drawX * MAP_SCALE < -LABEL_MARGIN || drawX * MAP_SCALE > image.getWidth() + LABEL_MARGIN
+				|| drawY * MAP_SCALE < -LABEL_MARGIN || drawY * MAP_SCALE > image.getHeight() + LABEL_MARGIN)
+			{
+				continue;
+			}
+
 			FontName fontSize = fontSizes[area.getTextScale()];
 			FontDefinition font = fonts.findFontByName(fontSize.getName());
 			String areaLabel = area.getName();
@@ -1615,8 +1831,6 @@ public class MapImageDumper
 					SpriteDefinition sprite = sprites.findSpriteByArchiveName(fontSize.getName(), c);
 					if (sprite.getWidth() != 0 && sprite.getHeight() != 0)
 					{
-						int drawX = worldPosition.getX() - regionLoader.getLowestX().getBaseX();
-						int drawY = regionLoader.getHighestY().getBaseY() - worldPosition.getY() + Region.Y - 2;
 						blitGlyph(image,
 							(drawX * MAP_SCALE) + advance - (stringWidth / 2),
 							(drawY * MAP_SCALE) + ascent - (font.getAscent() / 2),
@@ -1842,7 +2056,10 @@ public class MapImageDumper
 
 	private void blitIcon(BufferedImage dst, int x, int y, SpriteDefinition sprite, float scale)
 	{
-		sprite.normalize(); //Sprites are required to be normalized to have small sprites draw correctly
+		synchronized (sprite)
+		{
+			sprite.normalize(); //Sprites are required to be normalized to have small sprites draw correctly
+		}
 		x += sprite.getOffsetX();
 		y += sprite.getOffsetY();
 		int displayHeight = (int) (sprite.getHeight() * scale);
@@ -1904,16 +2121,25 @@ public class MapImageDumper
 
 	private void blitGlyph(BufferedImage dst, int x, int y, int color, SpriteDefinition glyph)
 	{
+		// The glyph is shared, so it's colored in a copy
 		int[] pixels = glyph.getPixels();
+		int[] colorPixels = new int[pixels.length];
 		int[] shadowPixels = new int[pixels.length];
 		for (int i = 0; i < pixels.length; ++i)
 		{
 			if (pixels[i] != 0)
 			{
-				pixels[i] = color;
+				colorPixels[i] = color;
 				shadowPixels[i] = 0xFF000000;
 			}
 		}
+		SpriteDefinition colored = new SpriteDefinition();
+		colored.setPixels(colorPixels);
+		colored.setOffsetX(glyph.getOffsetX());
+		colored.setOffsetY(glyph.getOffsetY());
+		colored.setWidth(glyph.getWidth());
+		colored.setHeight(glyph.getHeight());
+
 		SpriteDefinition shadow = new SpriteDefinition();
 		shadow.setPixels(shadowPixels);
 		shadow.setOffsetX(glyph.getOffsetX());
@@ -1922,6 +2148,6 @@ public class MapImageDumper
 		shadow.setHeight(glyph.getHeight());
 
 		blitGlyphIcon(dst, x + 1, y + 1, shadow);
-		blitGlyphIcon(dst, x, y, glyph);
+		blitGlyphIcon(dst, x, y, colored);
 	}
 }
@@ -27,24 +27,21 @@ package net.runelite.cache;
 import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import net.runelite.cache.definitions.NpcDefinition;
 import net.runelite.cache.definitions.exporters.NpcExporter;
 import net.runelite.cache.definitions.loaders.NpcLoader;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.util.DefinitionTable;
 import net.runelite.cache.util.IDClass;
 
 public class NpcManager
 {
 	private final Store store;
-	private final Map<Integer, NpcDefinition> npcs = new HashMap<>();
+	private DefinitionTable<NpcDefinition> npcs = DefinitionTable.empty();
 
 	public NpcManager(Store store)
 	{
@@ -64,16 +61,31 @@ public class NpcManager
 		byte[] archiveData = storage.loadArchive(archive);
 		ArchiveFiles files = archive.getFiles(archiveData);
 
-		for (FSFile f : files.getFiles())
-		{
-			NpcDefinition npc = loader.load(f.getFileId(), f.getContents());
-			npcs.put(f.getFileId(), npc);
-		}
+		npcs = DefinitionTable.load(files.getFiles(), loader::load);
+	}
+
+	/**
+	 * Decodes npcs when they're asked for, instead of all of them up front like {@link #load()}.
+	 *
+	 * @param cacheSize the number of decoded npcs to keep
+	 */
+	public void loadLazy(int cacheSize) throws IOException
+	{
+		NpcLoader loader = new NpcLoader();
+
+		Storage storage = store.getStorage();
+		Index index = store.getIndex(IndexType.CONFIGS);
+		Archive archive = index.getArchive(ConfigType.NPC.getId());
+
+		loader.configureForRevision(archive.getRevision());
+
+		byte[] archiveData = storage.loadArchive(archive);
+		npcs = DefinitionTable.lazy(archive.getLazyFiles(archiveData), loader::load, cacheSize);
 	}
 
 	public Collection<NpcDefinition> getNpcs()
 	{
-		return Collections.unmodifiableCollection(npcs.values());
+		return npcs.values();
 	}
 
 	public NpcDefinition get(int npcId)
@@ -27,24 +27,21 @@ package net.runelite.cache;
 import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import net.runelite.cache.definitions.ObjectDefinition;
 import net.runelite.cache.definitions.exporters.ObjectExporter;
 import net.runelite.cache.definitions.loaders.ObjectLoader;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.util.DefinitionTable;
 import net.runelite.cache.util.IDClass;
 
 public class ObjectManager
 {
 	private final Store store;
-	private final Map<Integer, ObjectDefinition> objects = new HashMap<>();
+	private DefinitionTable<ObjectDefinition> objects = DefinitionTable.empty();
 
 	public ObjectManager(Store store)
 	{
@@ -64,16 +61,31 @@ public class ObjectManager
 		byte[] archiveData = storage.loadArchive(archive);
 		ArchiveFiles files = archive.getFiles(archiveData);
 
-		for (FSFile f : files.getFiles())
-		{
-			ObjectDefinition def = loader.load(f.getFileId(), f.getContents());
-			objects.put(f.getFileId(), def);
-		}
+		objects = DefinitionTable.load(files.getFiles(), loader::load);
+	}
+
+	/**
+	 * Decodes objects when they're asked for, instead of all of them up front like {@link #load()}.
+	 *
+	 * @param cacheSize the number of decoded objects to keep
+	 */
+	public void loadLazy(int cacheSize) throws IOException
+	{
+		ObjectLoader loader = new ObjectLoader();
+
+		Storage storage = store.getStorage();
+		Index index = store.getIndex(IndexType.CONFIGS);
+		Archive archive = index.getArchive(ConfigType.OBJECT.getId());
+
+		loader.configureForRevision(archive.getRevision());
+
+		byte[] archiveData = storage.loadArchive(archive);
+		objects = DefinitionTable.lazy(archive.getLazyFiles(archiveData), loader::load, cacheSize);
 	}
 
 	public Collection<ObjectDefinition> getObjects()
 	{
-		return Collections.unmodifiableCollection(objects.values());
+		return objects.values();
 	}
 
 	public ObjectDefinition getObject(int id)
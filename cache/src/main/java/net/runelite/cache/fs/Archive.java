@@ -127,4 +127,12 @@ public class Archive
 		files.loadContents(decompressedData);
 		return files;
 	}
+
+	/**
+	 * Decompresses the archive without splitting it into its files, which are then read one at a time.
+	 */
+	public LazyArchiveFiles getLazyFiles(byte[] data) throws IOException
+	{
+		return new LazyArchiveFiles(fileData, decompress(data, null));
+	}
 }
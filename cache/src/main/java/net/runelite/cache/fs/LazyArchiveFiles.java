@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs;
+
+import java.util.Arrays;
+import net.runelite.cache.index.FileData;
+import net.runelite.cache.io.InputStream;
+
+/**
+ * The files of a decompressed archive, copied out of it only when they're asked for, unlike {@link ArchiveFiles}
+ * which splits the whole archive up front. Only the chunk table of the archive is read when it's created.
+ */
+public class LazyArchiveFiles
+{
+	private final byte[] data;
+	/**
+	 * The ids of the files, in the order they're stored in, which is ascending
+	 */
+	private final int[] fileIds;
+	private final int chunks;
+	/**
+	 * The offset and size of each chunk of each file, at {@code chunk * fileIds.length + file}
+	 */
+	private final int[] chunkOffsets;
+	private final int[] chunkSizes;
+	private final int[] fileSizes;
+
+	LazyArchiveFiles(FileData[] fileData, byte[] data)
+	{
+		this.data = data;
+		this.fileIds = new int[fileData.length];
+		for (int i = 0; i < fileData.length; ++i)
+		{
+			fileIds[i] = fileData[i].getId();
+		}
+
+		int filesCount = fileIds.length;
+		fileSizes = new int[filesCount];
+		if (filesCount == 1)
+		{
+			chunks = 1;
+			chunkOffsets = new int[]{0};
+			chunkSizes = new int[]{data.length};
+			fileSizes[0] = data.length;
+			return;
+		}
+
+		// Same layout as read by ArchiveFiles.loadContents
+		InputStream stream = new InputStream(data);
+		stream.setOffset(stream.getLength() - 1);
+		chunks = stream.readUnsignedByte();
+
+		stream.setOffset(stream.getLength() - 1 - chunks * filesCount * 4);
+		chunkOffsets = new int[chunks * filesCount];
+		chunkSizes = new int[chunks * filesCount];
+
+		int offset = 0;
+		for (int chunk = 0; chunk < chunks; ++chunk)
+		{
+			int chunkSize = 0;
+			for (int id = 0; id < filesCount; ++id)
+			{
+				chunkSize += stream.readInt();
+
+				chunkOffsets[chunk * filesCount + id] = offset;
+				chunkSizes[chunk * filesCount + id] = chunkSize;
+				fileSizes[id] += chunkSize;
+				offset += chunkSize;
+			}
+		}
+	}
+
+	public int getFileCount()
+	{
+		return fileIds.length;
+	}
+
+	/**
+	 * The ids of the files in ascending order
+	 */
+	public int[] getFileIds()
+	{
+		return fileIds.clone();
+	}
+
+	/**
+	 * Copies the contents of a file out of the archive.
+	 *
+	 * @return the contents of the file, or null if the archive doesn't have it
+	 */
+	public byte[] getContents(int fileId)
+	{
+		int file = Arrays.binarySearch(fileIds, fileId);
+		if (file < 0)
+		{
+			return null;
+		}
+
+		byte[] contents = new byte[fileSizes[file]];
+		int offset = 0;
+		for (int chunk = 0; chunk < chunks; ++chunk)
+		{
+			int slot = chunk * fileIds.length + file;
+			System.arraycopy(data, chunkOffsets[slot], contents, offset, chunkSizes[slot]);
+			offset += chunkSizes[slot];
+		}
+		return contents;
+	}
+}
@@ -134,6 +134,11 @@ public class DiskStorage implements Storage
 			return;
 		}
 
+		loadIndex(index, indexData);
+	}
+
+	static void loadIndex(Index index, byte[] indexData) throws IOException
+	{
 		Container res = Container.decompress(indexData, null);
 		byte[] data = res.data;
 
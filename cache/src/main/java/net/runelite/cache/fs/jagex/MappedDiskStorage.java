@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.jagex;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Storage;
+import net.runelite.cache.fs.Store;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A read only {@link Storage} for a jagex disk cache that memory-maps the data and index files.
+ * <p>
+ * Unlike {@link DiskStorage}, which reads through a single {@link java.io.RandomAccessFile} under a lock, archives
+ * can be read from any number of threads at once, and each archive is copied straight from the mapped file into the
+ * array that is returned. The files are mapped when the storage is created, so changes made to the cache afterwards
+ * aren't seen.
+ */
+public class MappedDiskStorage implements Storage
+{
+	private static final Logger logger = LoggerFactory.getLogger(MappedDiskStorage.class);
+
+	private static final String MAIN_FILE_CACHE_DAT = "main_file_cache.dat2";
+	private static final String MAIN_FILE_CACHE_IDX = "main_file_cache.idx";
+
+	private static final int SECTOR_SIZE = 520;
+	private static final int INDEX_ENTRY_LEN = 6;
+	/**
+	 * The data file is mapped in chunks of whole sectors, as a single mapping can't be larger than 2GB.
+	 */
+	private static final int SECTORS_PER_CHUNK = 1 << 20;
+	private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+	private final File folder;
+	private final MappedByteBuffer[] data;
+	private final long dataSectors;
+	private final ByteBuffer index255;
+	private final Map<Integer, ByteBuffer> indexFiles = new ConcurrentHashMap<>();
+
+	public MappedDiskStorage(File folder) throws IOException
+	{
+		this.folder = folder;
+
+		try (FileChannel channel = FileChannel.open(new File(folder, MAIN_FILE_CACHE_DAT).toPath(), StandardOpenOption.READ))
+		{
+			long length = channel.size();
+			long chunkSize = (long) SECTORS_PER_CHUNK * SECTOR_SIZE;
+			data = new MappedByteBuffer[(int) ((length + chunkSize - 1) / chunkSize)];
+			for (int i = 0; i < data.length; ++i)
+			{
+				long position = i * chunkSize;
+				data[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(chunkSize, length - position));
+			}
+			dataSectors = length / SECTOR_SIZE;
+		}
+
+		index255 = map(new File(folder, MAIN_FILE_CACHE_IDX + "255"));
+	}
+
+	@Override
+	public void init(Store store) throws IOException
+	{
+		int indexCount = index255.capacity() / INDEX_ENTRY_LEN;
+		for (int i = 0; i < indexCount; ++i)
+		{
+			store.addIndex(i);
+			getIndex(i);
+		}
+	}
+
+	/**
+	 * Closing doesn't unmap the files; the mappings are released once they're no longer reachable.
+	 */
+	@Override
+	public void close()
+	{
+		indexFiles.clear();
+	}
+
+	private ByteBuffer getIndex(int i)
+	{
+		if (i == 255)
+		{
+			return index255;
+		}
+
+		return indexFiles.computeIfAbsent(i, id ->
+		{
+			try
+			{
+				return map(new File(folder, MAIN_FILE_CACHE_IDX + id));
+			}
+			catch (IOException e)
+			{
+				logger.warn("unable to map index file {}", id, e);
+				return EMPTY;
+			}
+		});
+	}
+
+	private static ByteBuffer map(File file) throws IOException
+	{
+		if (!file.exists())
+		{
+			return EMPTY;
+		}
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+	@Override
+	public void load(Store store) throws IOException
+	{
+		for (Index index : store.getIndexes())
+		{
+			logger.trace("Loading index {}", index.getId());
+
+			byte[] indexData = load(255, index.getId());
+			if (indexData != null)
+			{
+				DiskStorage.loadIndex(index, indexData);
+			}
+		}
+	}
+
+	@Override
+	public void save(Store store)
+	{
+		throw new UnsupportedOperationException("mapped disk storage is read only");
+	}
+
+	@Override
+	public byte[] load(int index, int archive) throws IOException
+	{
+		ByteBuffer indexFile = getIndex(index);
+
+		// Absolute reads don't change the buffer, so they're safe from any thread
+		int position = archive * INDEX_ENTRY_LEN;
+		if (archive < 0 || position + INDEX_ENTRY_LEN > indexFile.capacity())
+		{
+			logger.debug("can't read archive {} from index {}", archive, index);
+			return null;
+		}
+
+		int length = readMedium(indexFile, position);
+		int sector = readMedium(indexFile, position + 3);
+		if (length <= 0 || sector <= 0)
+		{
+			logger.debug("invalid length or sector {}/{}", length, sector);
+			return null;
+		}
+
+		logger.trace("Loading archive {} for index {} from sector {} length {}",
+			archive, index, sector, length);
+
+		return read(index, archive, sector, length);
+	}
+
+	/**
+	 * Reads an archive like {@link DataFile#read(int, int, int, int)}.
+	 */
+	private byte[] read(int indexId, int archiveId, int sector, int size)
+	{
+		if (sector <= 0 || dataSectors < sector)
+		{
+			logger.warn("bad read, dat sectors {}, requested sector {}", dataSectors, sector);
+			return null;
+		}
+
+		final boolean largeArchive = archiveId > 0xFFFF;
+		final int headerSize = largeArchive ? 10 : 8;
+		byte[] result = new byte[size];
+
+		for (int part = 0, readBytesCount = 0, nextSector; size > readBytesCount; sector = nextSector)
+		{
+			if (sector == 0)
+			{
+				logger.warn("Unexpected end of file");
+				return null;
+			}
+
+			ByteBuffer chunk = data[sector / SECTORS_PER_CHUNK];
+			int offset = (sector % SECTORS_PER_CHUNK) * SECTOR_SIZE;
+
+			int dataBlockSize = Math.min(size - readBytesCount, SECTOR_SIZE - headerSize);
+			if (offset + headerSize + dataBlockSize > chunk.capacity())
+			{
+				logger.warn("Short read when reading file data for {}/{}", indexId, archiveId);
+				return null;
+			}
+
+			int currentArchive;
+			int currentPart;
+			if (largeArchive)
+			{
+				currentArchive = chunk.getInt(offset);
+				currentPart = chunk.getShort(offset + 4) & 0xFFFF;
+				nextSector = readMedium(chunk, offset + 6);
+			}
+			else
+			{
+				currentArchive = chunk.getShort(offset) & 0xFFFF;
+				currentPart = chunk.getShort(offset + 2) & 0xFFFF;
+				nextSector = readMedium(chunk, offset + 4);
+			}
+			int currentIndex = chunk.get(offset + headerSize - 1) & 0xFF;
+
+			if (archiveId != currentArchive || currentPart != part || indexId != currentIndex)
+			{
+				logger.warn("data mismatch {} != {}, {} != {}, {} != {}",
+					archiveId, currentArchive,
+					part, currentPart,
+					indexId, currentIndex);
+				return null;
+			}
+
+			if (nextSector < 0 || dataSectors < nextSector)
+			{
+				logger.warn("Invalid next sector");
+				return null;
+			}
+
+			// A duplicate has its own position, so concurrent reads don't interfere
+			ByteBuffer sectorData = chunk.duplicate();
+			sectorData.position(offset + headerSize);
+			sectorData.get(result, readBytesCount, dataBlockSize);
+			readBytesCount += dataBlockSize;
+
+			++part;
+		}
+
+		return result;
+	}
+
+	private static int readMedium(ByteBuffer buffer, int position)
+	{
+		return ((buffer.get(position) & 0xFF) << 16)
+			| ((buffer.get(position + 1) & 0xFF) << 8)
+			| (buffer.get(position + 2) & 0xFF);
+	}
+
+	@Override
+	public void store(int index, int archive, byte[] data)
+	{
+		throw new UnsupportedOperationException("mapped disk storage is read only");
+	}
+}
@@ -28,6 +28,7 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.definitions.LocationsDefinition;
@@ -38,6 +39,7 @@ import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.util.Djb2;
 import net.runelite.cache.util.KeyProvider;
 
 @Slf4j
@@ -50,6 +52,7 @@ public class RegionLoader
 	private final KeyProvider keyProvider;
 
 	private final Map<Integer, Region> regions = new HashMap<>();
+	private final Region[] regionsById = new Region[MAX_REGION];
 	private Region lowestX = null, lowestY = null;
 	private Region highestX = null, highestY = null;
 
@@ -67,16 +70,37 @@ public class RegionLoader
 			return;
 		}
 
-		for (int i = 0; i < MAX_REGION; ++i)
+		// Looking archives up by name scans the whole index, so they're hashed once
+		Map<Integer, Archive> archivesByName = new HashMap<>();
+		for (Archive archive : index.getArchives())
 		{
+			archivesByName.putIfAbsent(archive.getNameHash(), archive);
+		}
+
+		// Regions are decompressed, decrypted and decoded in parallel, and then added in order of id like before
+		Region[] loaded = new Region[MAX_REGION];
+		IntStream.range(0, MAX_REGION).parallel().forEach(i ->
+		{
+			int x = i >> 8;
+			int y = i & 0xFF;
 			try
 			{
-				this.loadRegionFromArchive(i);
+				loaded[i] = readRegion(i,
+					archivesByName.get(Djb2.hash("m" + x + "_" + y)),
+					archivesByName.get(Djb2.hash("l" + x + "_" + y)));
 			}
 			catch (IOException ex)
 			{
 				log.debug("Can't decrypt region " + i, ex);
 			}
+		});
+
+		for (Region region : loaded)
+		{
+			if (region != null)
+			{
+				addRegion(region);
+			}
 		}
 	}
 
@@ -85,9 +109,22 @@ public class RegionLoader
 		int x = i >> 8;
 		int y = i & 0xFF;
 
+		Region region = readRegion(i,
+			index.findArchiveByName("m" + x + "_" + y),
+			index.findArchiveByName("l" + x + "_" + y));
+		if (region != null)
+		{
+			addRegion(region);
+		}
+		return region;
+	}
+
+	private Region readRegion(int i, Archive map, Archive land) throws IOException
+	{
+		int x = i >> 8;
+		int y = i & 0xFF;
+
 		Storage storage = store.getStorage();
-		Archive map = index.findArchiveByName("m" + x + "_" + y);
-		Archive land = index.findArchiveByName("l" + x + "_" + y);
 
 		assert (map == null) == (land == null);
 
@@ -111,11 +148,18 @@ public class RegionLoader
 			region.loadLocations(locDef);
 		}
 
-		regions.put(i, region);
-
 		return region;
 	}
 
+	private void addRegion(Region region)
+	{
+		regions.put(region.getRegionID(), region);
+		if (region.getRegionID() >= 0 && region.getRegionID() < MAX_REGION)
+		{
+			regionsById[region.getRegionID()] = region;
+		}
+	}
+
 	public Region loadRegion(int id, MapDefinition map, LocationsDefinition locs)
 	{
 		Region r = new Region(id);
@@ -124,7 +168,7 @@ public class RegionLoader
 		{
 			r.loadLocations(locs);
 		}
-		regions.put(id, r);
+		addRegion(r);
 		return r;
 	}
 
@@ -163,12 +207,17 @@ public class RegionLoader
 	{
 		x >>>= 6;
 		y >>>= 6;
-		return regions.get((x << 8) | y);
+		return findRegion((x << 8) | y);
 	}
 
 	public Region findRegionForRegionCoordinates(int x, int y)
 	{
-		return regions.get((x << 8) | y);
+		return findRegion((x << 8) | y);
+	}
+
+	private Region findRegion(int id)
+	{
+		return id >= 0 && id < MAX_REGION ? regionsById[id] : regions.get(id);
 	}
 
 	public Region getLowestX()
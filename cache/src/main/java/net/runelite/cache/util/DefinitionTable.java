@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.LazyArchiveFiles;
+
+/**
+ * Definitions by id, for ids that are dense like those of objects, items and npcs.
+ * <p>
+ * A table made by {@link #load(Collection, Decoder)} decodes every file of a config archive in parallel on the common
+ * fork-join pool into an array indexed by id, so the decoder must not keep any state between files. A table made by
+ * {@link #lazy(LazyArchiveFiles, Decoder, int)} decodes a definition the first time it's asked for, and keeps only the
+ * most recently used ones. In both, the order of {@link #values()} is the order of the ids.
+ */
+public abstract class DefinitionTable<T>
+{
+	@FunctionalInterface
+	public interface Decoder<T>
+	{
+		T load(int id, byte[] data);
+	}
+
+	public static <T> DefinitionTable<T> empty()
+	{
+		return new Loaded<>(new Object[0]);
+	}
+
+	public static <T> DefinitionTable<T> load(Collection<FSFile> files, Decoder<T> decoder)
+	{
+		FSFile[] array = files.toArray(new FSFile[0]);
+		int maxId = -1;
+		for (FSFile file : array)
+		{
+			maxId = Math.max(maxId, file.getFileId());
+		}
+
+		Object[] definitions = new Object[maxId + 1];
+		IntStream.range(0, array.length).parallel().forEach(i ->
+		{
+			FSFile file = array[i];
+			definitions[file.getFileId()] = decoder.load(file.getFileId(), file.getContents());
+		});
+		return new Loaded<>(definitions);
+	}
+
+	/**
+	 * @param cacheSize the number of decoded definitions to keep
+	 */
+	public static <T> DefinitionTable<T> lazy(LazyArchiveFiles files, Decoder<T> decoder, int cacheSize)
+	{
+		return new Lazy<>(files, decoder, cacheSize);
+	}
+
+	/**
+	 * @return the definition, or null if there is no definition with the id
+	 */
+	public abstract T get(int id);
+
+	public abstract int size();
+
+	/**
+	 * All definitions in order of id. For a lazy table, the definitions that aren't cached are decoded each time this
+	 * is called, and aren't added to the cache.
+	 */
+	public abstract List<T> values();
+
+	private static final class Loaded<T> extends DefinitionTable<T>
+	{
+		private final Object[] definitions;
+		private final List<T> values;
+
+		private Loaded(Object[] definitions)
+		{
+			this.definitions = definitions;
+
+			List<T> values = new ArrayList<>();
+			for (Object definition : definitions)
+			{
+				if (definition != null)
+				{
+					values.add(cast(definition));
+				}
+			}
+			this.values = Collections.unmodifiableList(values);
+		}
+
+		@Override
+		public T get(int id)
+		{
+			return id >= 0 && id < definitions.length ? cast(definitions[id]) : null;
+		}
+
+		@Override
+		public int size()
+		{
+			return values.size();
+		}
+
+		@Override
+		public List<T> values()
+		{
+			return values;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> T cast(Object definition)
+		{
+			return (T) definition;
+		}
+	}
+
+	private static final class Lazy<T> extends DefinitionTable<T>
+	{
+		private final LazyArchiveFiles files;
+		private final Decoder<T> decoder;
+		private final Map<Integer, T> cache;
+
+		private Lazy(LazyArchiveFiles files, Decoder<T> decoder, int cacheSize)
+		{
+			this.files = files;
+			this.decoder = decoder;
+			this.cache = new LinkedHashMap<Integer, T>(16, 0.75f, true)
+			{
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Integer, T> eldest)
+				{
+					return size() > cacheSize;
+				}
+			};
+		}
+
+		@Override
+		public T get(int id)
+		{
+			synchronized (cache)
+			{
+				T definition = cache.get(id);
+				if (definition != null)
+				{
+					return definition;
+				}
+			}
+
+			// Decoded outside of the lock, a definition asked for by two threads at once is decoded twice
+			byte[] contents = files.getContents(id);
+			if (contents == null)
+			{
+				return null;
+			}
+
+			T definition = decoder.load(id, contents);
+			synchronized (cache)
+			{
+				T cached = cache.putIfAbsent(id, definition);
+				return cached != null ? cached : definition;
+			}
+		}
+
+		@Override
+		public int size()
+		{
+			return files.getFileCount();
+		}
+
+		@Override
+		public List<T> values()
+		{
+			int[] ids = files.getFileIds();
+			List<T> values = new ArrayList<>(ids.length);
+			for (int id : ids)
+			{
+				T definition;
+				synchronized (cache)
+				{
+					definition = cache.get(id);
+				}
+				values.add(definition != null ? definition : decoder.load(id, files.getContents(id)));
+			}
+			return Collections.unmodifiableList(values);
+		}
+	}
+}
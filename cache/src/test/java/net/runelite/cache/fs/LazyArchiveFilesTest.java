@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs;
+
+import net.runelite.cache.index.FileData;
+import net.runelite.cache.io.OutputStream;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LazyArchiveFilesTest
+{
+	@Test
+	public void testGetContents()
+	{
+		int[] ids = {2, 7, 9};
+		byte[][][] chunks = {
+			{{1, 2}, {3}, {}},
+			{{4}, {5, 6, 7}, {8}},
+		};
+
+		// Two chunks, each with a part of every file, followed by the size deltas of each chunk
+		OutputStream stream = new OutputStream();
+		for (byte[][] chunk : chunks)
+		{
+			for (byte[] part : chunk)
+			{
+				stream.writeBytes(part);
+			}
+		}
+		for (byte[][] chunk : chunks)
+		{
+			int previous = 0;
+			for (byte[] part : chunk)
+			{
+				stream.writeInt(part.length - previous);
+				previous = part.length;
+			}
+		}
+		stream.writeByte(chunks.length);
+		byte[] data = stream.flip();
+
+		FileData[] fileData = new FileData[ids.length];
+		ArchiveFiles archiveFiles = new ArchiveFiles();
+		for (int i = 0; i < ids.length; ++i)
+		{
+			fileData[i] = new FileData();
+			fileData[i].setId(ids[i]);
+			archiveFiles.addFile(new FSFile(ids[i]));
+		}
+		archiveFiles.loadContents(data);
+
+		LazyArchiveFiles lazyFiles = new LazyArchiveFiles(fileData, data);
+		assertEquals(ids.length, lazyFiles.getFileCount());
+		for (int id : ids)
+		{
+			assertArrayEquals(archiveFiles.findFile(id).getContents(), lazyFiles.getContents(id));
+		}
+		assertArrayEquals(new byte[]{1, 2, 4}, lazyFiles.getContents(2));
+		assertNull(lazyFiles.getContents(3));
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.jagex;
+
+import java.io.File;
+import java.util.stream.IntStream;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.index.FileData;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class MappedDiskStorageTest
+{
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	@Test
+	public void testLoadArchive() throws Exception
+	{
+		File file = folder.newFolder();
+		byte[][] contents = new byte[3][];
+		int[] archiveIds = {0, 1, 0x1FFFF};
+		try (Store store = new Store(new DiskStorage(file)))
+		{
+			Index index = store.addIndex(0);
+			// Archive ids above 0xFFFF need protocol 7
+			index.setProtocol(7);
+			for (int i = 0; i < archiveIds.length; ++i)
+			{
+				// Spread over a varying number of sectors
+				contents[i] = new byte[1 + i * 700];
+				for (int j = 0; j < contents[i].length; ++j)
+				{
+					contents[i][j] = (byte) (i + j);
+				}
+
+				Archive archive = index.addArchive(archiveIds[i]);
+				archive.setFileData(new FileData[]{new FileData()});
+
+				Container container = new Container(archive.getCompression(), -1);
+				container.compress(contents[i], null);
+				archive.setCrc(container.crc);
+				store.getStorage().saveArchive(archive, container.data);
+			}
+
+			store.save();
+		}
+
+		MappedDiskStorage storage = new MappedDiskStorage(file);
+		try (Store store = new Store(storage))
+		{
+			store.load();
+			Index index = store.findIndex(0);
+			assertEquals(archiveIds.length, index.getArchives().size());
+
+			IntStream.range(0, 100).parallel().forEach(n ->
+			{
+				int i = n % archiveIds.length;
+				Archive archive = index.getArchive(archiveIds[i]);
+				try
+				{
+					assertArrayEquals(contents[i], archive.decompress(storage.loadArchive(archive)));
+				}
+				catch (Exception e)
+				{
+					throw new AssertionError(e);
+				}
+			});
+
+			assertNull(storage.load(0, 2));
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.cache.index.FileData;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DefinitionTableTest
+{
+	@Test
+	public void testLoad()
+	{
+		List<FSFile> files = new ArrayList<>();
+		for (int id : new int[]{5, 0, 3, 1000})
+		{
+			FSFile file = new FSFile(id);
+			file.setContents(new byte[]{(byte) id});
+			files.add(file);
+		}
+
+		DefinitionTable<String> table = DefinitionTable.load(files, (id, data) -> id + ":" + (data[0] & 0xFF));
+
+		assertEquals(4, table.size());
+		assertEquals("3:3", table.get(3));
+		assertNull(table.get(4));
+		assertNull(table.get(-1));
+		assertNull(table.get(1001));
+		assertEquals(Arrays.asList("0:0", "3:3", "5:5", "1000:232"), table.values());
+	}
+
+	@Test
+	public void testLazy() throws Exception
+	{
+		Archive archive = new Index(0).addArchive(0);
+		ArchiveFiles files = new ArchiveFiles();
+		FileData[] fileData = new FileData[3];
+		for (int id = 0; id < fileData.length; ++id)
+		{
+			fileData[id] = new FileData();
+			fileData[id].setId(id);
+			FSFile file = new FSFile(id);
+			file.setContents(new byte[]{(byte) (id * 10)});
+			files.addFile(file);
+		}
+		archive.setFileData(fileData);
+
+		Container container = new Container(CompressionType.NONE, -1);
+		container.compress(files.saveContents(), null);
+		archive.setCrc(container.crc);
+
+		AtomicInteger decoded = new AtomicInteger();
+		DefinitionTable<String> table = DefinitionTable.lazy(archive.getLazyFiles(container.data), (id, data) ->
+		{
+			decoded.incrementAndGet();
+			return id + ":" + data[0];
+		}, 1);
+
+		assertEquals(0, decoded.get());
+		assertEquals("2:20", table.get(2));
+		assertSame(table.get(2), table.get(2));
+		assertEquals(1, decoded.get());
+
+		// Only the most recent definition is kept
+		assertEquals("1:10", table.get(1));
+		assertEquals("2:20", table.get(2));
+		assertEquals(3, decoded.get());
+
+		assertNull(table.get(3));
+		assertEquals(3, table.size());
+		assertEquals(Arrays.asList("0:0", "1:10", "2:20"), table.values());
+	}
+}
@@ -29,6 +29,7 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.executor.SharedScheduler;
 
 import javax.inject.Singleton;
 import java.util.Iterator;
@@ -44,7 +45,7 @@ public class ClientThread
 	private final ConcurrentLinkedQueue<BooleanSupplier> invokes = new ConcurrentLinkedQueue<>();
 	private final ConcurrentLinkedQueue<BooleanSupplier> invokesAtTickEnd = new ConcurrentLinkedQueue<>();
 
-	protected ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+	protected ScheduledExecutorService scheduledExecutorService = SharedScheduler.newExecutor("ClientThread-Separate");
 	public Future<?> scheduledFuture;
 
 	@Inject
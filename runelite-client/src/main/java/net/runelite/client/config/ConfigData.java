@@ -24,6 +24,11 @@
  */
 package net.runelite.client.config;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -38,24 +43,68 @@ import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * The properties of a config profile. Changes are kept in memory and written to the properties file by
+ * {@link #patch(Map)}, which the {@link ConfigManager} only does every few minutes and on shutdown.
+ * <p>
+ * The config data of the active profiles also has a journal next to the properties file, so changes made since
+ * the last patch survive the client being killed. Changes are appended to the journal in batches, at most
+ * {@link #JOURNAL_DELAY_MS} after they are made, and the journal is rewritten with just the unsaved changes each time
+ * the properties file is patched. The journal is replayed when the journaled config data is loaded. Config data
+ * without a journal leaves it alone, as it would save the replayed changes without compacting the journal, and they
+ * would then be replayed again over any newer values.
+ */
 @Slf4j
 class ConfigData
 {
+	private static final long JOURNAL_DELAY_MS = 500;
+
+	private static final byte JOURNAL_SET = 1;
+	private static final byte JOURNAL_UNSET = 0;
+
 	private final File configPath;
+	private final File journalPath;
 
 	private final ConcurrentHashMap<String, String> properties;
 	private Map<String, String> patchChanges = new HashMap<>();
 
+	@Nullable
+	private final ScheduledExecutorService journalExecutor;
+	/**
+	 * Held while writing the journal, before the lock on this.
+	 */
+	private final Object journalLock = new Object();
+	/**
+	 * Changes which haven't been appended to the journal yet, guarded by this.
+	 */
+	private Map<String, String> journalChanges = new LinkedHashMap<>();
+	private boolean journalScheduled;
+
 	ConfigData(File configPath)
+	{
+		this(configPath, null);
+	}
+
+	/**
+	 * @param journalExecutor the executor changes are written to the journal on, or null to neither replay nor
+	 *                        write the journal. There must be a single journaled config data per properties file.
+	 */
+	ConfigData(File configPath, @Nullable ScheduledExecutorService journalExecutor)
 	{
 		this.configPath = configPath;
+		this.journalPath = journalFile(configPath);
+		this.journalExecutor = journalExecutor;
 
 		Properties props = new Properties();
 		try (FileInputStream in = new FileInputStream(configPath);
@@ -73,6 +122,16 @@ class ConfigData
 
 		properties = new ConcurrentHashMap<>(props.size());
 		props.forEach((k, v) -> properties.put((String) k, (String) v));
+
+		if (journalExecutor != null)
+		{
+			replayJournal();
+		}
+	}
+
+	static File journalFile(File configPath)
+	{
+		return new File(configPath.getParentFile(), configPath.getName() + ".journal");
 	}
 
 	String getProperty(String key)
@@ -86,6 +145,7 @@ class ConfigData
 		if (!Objects.equals(old, value))
 		{
 			patchChanges.put(key, value);
+			journal(key, value);
 		}
 		return old;
 	}
@@ -96,6 +156,7 @@ class ConfigData
 		if (old != null)
 		{
 			patchChanges.put(key, null);
+			journal(key, null);
 		}
 		return old;
 	}
@@ -104,6 +165,7 @@ class ConfigData
 	{
 		patchChanges.putAll(values);
 		properties.putAll(values);
+		values.forEach(this::journal);
 	}
 
 	Set<String> keySet()
@@ -194,6 +256,8 @@ class ConfigData
 				log.debug("atomic move not supported", ex);
 				Files.move(tempFile.toPath(), configPath.toPath(), StandardCopyOption.REPLACE_EXISTING);
 			}
+
+			compactJournal();
 		}
 		catch (IOException ex)
 		{
@@ -201,4 +265,182 @@ class ConfigData
 		}
 		lckFile.delete();
 	}
+
+	/**
+	 * Records a change to be appended to the journal. Changes made in quick succession are coalesced, and a key
+	 * changed several times is only written once.
+	 */
+	private void journal(String key, @Nullable String value)
+	{
+		assert Thread.holdsLock(this);
+
+		if (journalExecutor == null)
+		{
+			return;
+		}
+
+		journalChanges.put(key, value);
+		if (!journalScheduled)
+		{
+			journalScheduled = true;
+			journalExecutor.schedule(this::flushJournal, JOURNAL_DELAY_MS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void flushJournal()
+	{
+		synchronized (journalLock)
+		{
+			Map<String, String> changes;
+			synchronized (this)
+			{
+				journalScheduled = false;
+				if (journalChanges.isEmpty())
+				{
+					return;
+				}
+
+				changes = journalChanges;
+				journalChanges = new LinkedHashMap<>();
+			}
+
+			try
+			{
+				writeJournal(changes, true);
+			}
+			catch (IOException ex)
+			{
+				log.warn("unable to append to config journal {}", journalPath, ex);
+			}
+		}
+	}
+
+	/**
+	 * Replaces the journal with the changes that haven't been patched into the properties file yet. Called after
+	 * the properties file is written, so the journal only grows between saves. The changes are copied under the lock
+	 * on this and written without it, so changing the config doesn't wait for the disk.
+	 */
+	private void compactJournal()
+	{
+		if (journalExecutor == null)
+		{
+			return;
+		}
+
+		synchronized (journalLock)
+		{
+			Map<String, String> unsaved;
+			synchronized (this)
+			{
+				// the changes which haven't been appended yet are all in patchChanges. Changes made from here on are
+				// appended by the next flush, which waits for journalLock
+				journalChanges = new LinkedHashMap<>();
+				unsaved = new LinkedHashMap<>(patchChanges);
+			}
+
+			try
+			{
+				if (unsaved.isEmpty())
+				{
+					Files.deleteIfExists(journalPath.toPath());
+				}
+				else
+				{
+					writeJournal(unsaved, false);
+				}
+			}
+			catch (IOException ex)
+			{
+				log.warn("unable to compact config journal {}", journalPath, ex);
+			}
+		}
+	}
+
+	private void writeJournal(Map<String, String> changes, boolean append) throws IOException
+	{
+		try (FileOutputStream fout = new FileOutputStream(journalPath, append);
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fout)))
+		{
+			for (Map.Entry<String, String> entry : changes.entrySet())
+			{
+				out.writeByte(entry.getValue() == null ? JOURNAL_UNSET : JOURNAL_SET);
+				writeString(out, entry.getKey());
+				if (entry.getValue() != null)
+				{
+					writeString(out, entry.getValue());
+				}
+			}
+			out.flush();
+			fout.getFD().sync();
+		}
+	}
+
+	private synchronized void replayJournal()
+	{
+		if (!journalPath.exists())
+		{
+			return;
+		}
+
+		int replayed = 0;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(journalPath))))
+		{
+			for (;;)
+			{
+				int op = in.read();
+				if (op == -1)
+				{
+					break;
+				}
+
+				String key = readString(in);
+				if (op == JOURNAL_SET)
+				{
+					String value = readString(in);
+					properties.put(key, value);
+					patchChanges.put(key, value);
+				}
+				else
+				{
+					properties.remove(key);
+					patchChanges.put(key, null);
+				}
+				++replayed;
+			}
+		}
+		catch (EOFException ex)
+		{
+			// the client stopped part way through appending the last batch
+			log.debug("config journal {} is truncated", journalPath);
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to replay config journal {}", journalPath, ex);
+		}
+
+		if (replayed > 0)
+		{
+			log.info("Replayed {} unsaved config changes from {}", replayed, journalPath.getName());
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String s) throws IOException
+	{
+		// writeUTF is limited to 64k, which some plugins store more than
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(b.length);
+		out.write(b);
+	}
+
+	private static String readString(DataInputStream in) throws IOException
+	{
+		int len = in.readInt();
+		if (len < 0)
+		{
+			throw new IOException("invalid string length " + len);
+		}
+		byte[] b = new byte[len];
+		in.readFully(b);
+		return new String(b, StandardCharsets.UTF_8);
+	}
 }
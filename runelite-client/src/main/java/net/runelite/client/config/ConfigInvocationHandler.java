@@ -24,45 +24,79 @@
  */
 package net.runelite.client.config;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.util.ReflectUtil;
 
+/**
+ * The handler of the proxies of one config interface. Each config item of the interface gets an accessor up front,
+ * which caches the value of the item until its key is changed.
+ */
 @Slf4j
 class ConfigInvocationHandler implements InvocationHandler
 {
 	// Special object to represent null values in the cache
 	private static final Object NULL = new Object();
+	// Special object to represent a value which isn't cached
+	private static final Object UNSET = new Object();
 
 	private final ConfigManager manager;
-	private final Cache<Method, Object> cache = CacheBuilder.newBuilder()
-		.maximumSize(256)
-		.build();
+	private final Class<?> iface;
+	private final ConfigGroup group;
+	private final Map<Method, Accessor> accessors;
+	private final Map<String, List<Accessor>> accessorsByKey;
 
-	ConfigInvocationHandler(ConfigManager manager)
+	ConfigInvocationHandler(ConfigManager manager, Class<?> iface)
 	{
 		this.manager = manager;
+		this.iface = iface;
+		this.group = iface.getAnnotation(ConfigGroup.class);
+
+		Map<Method, Accessor> accessors = new HashMap<>();
+		Map<String, List<Accessor>> accessorsByKey = new HashMap<>();
+		if (group != null)
+		{
+			for (Method method : iface.getMethods())
+			{
+				ConfigItem item = method.getAnnotation(ConfigItem.class);
+				if (item == null)
+				{
+					continue;
+				}
+
+				Accessor accessor = new Accessor(method, item.keyName());
+				accessors.put(method, accessor);
+				accessorsByKey.computeIfAbsent(item.keyName(), k -> new ArrayList<>(1)).add(accessor);
+			}
+		}
+		this.accessors = accessors;
+		this.accessorsByKey = accessorsByKey;
 	}
 
 	@Override
 	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
 	{
+		Accessor accessor = accessors.get(method);
+
 		// Use cached configuration value if available
-		if (args == null)
+		if (accessor != null && args == null)
 		{
-			Object cachedValue = cache.getIfPresent(method);
-			if (cachedValue != null)
+			Object cachedValue = accessor.value;
+			if (cachedValue != UNSET)
 			{
 				return cachedValue == NULL ? null : cachedValue;
 			}
 		}
 
-		Class<?> iface = proxy.getClass().getInterfaces()[0];
-
 		if ("toString".equals(method.getName()) && args == null)
 		{
 			return iface.getSimpleName();
@@ -78,16 +112,13 @@ class ConfigInvocationHandler implements InvocationHandler
 			return proxy == args[0];
 		}
 
-		ConfigGroup group = iface.getAnnotation(ConfigGroup.class);
-		ConfigItem item = method.getAnnotation(ConfigItem.class);
-
 		if (group == null)
 		{
 			log.warn("Configuration proxy class {} has no @ConfigGroup!", proxy.getClass());
 			return null;
 		}
 
-		if (item == null)
+		if (accessor == null)
 		{
 			log.warn("Configuration method {} has no @ConfigItem!", method);
 			return null;
@@ -95,98 +126,178 @@ class ConfigInvocationHandler implements InvocationHandler
 
 		if (args == null)
 		{
-			log.trace("cache miss (size: {}, group: {}, key: {})", cache.size(), group.value(), item.keyName());
+			return accessor.get(proxy);
+		}
+		else
+		{
+			// Setting a configuration value
+
+			if (args.length != 1)
+			{
+				throw new RuntimeException("Invalid number of arguments to configuration method");
+			}
+
+			accessor.set(proxy, args);
+			return null;
+		}
+	}
+
+	static Object callDefaultMethod(Object proxy, Method method, Object[] args) throws Throwable
+	{
+		return defaultMethodHandle(method)
+			.bindTo(proxy)
+			.invokeWithArguments(args);
+	}
+
+	private static MethodHandle defaultMethodHandle(Method method) throws IllegalAccessException
+	{
+		Class<?> declaringClass = method.getDeclaringClass();
+		return ReflectUtil.privateLookupIn(declaringClass)
+			.unreflectSpecial(method, declaringClass);
+	}
+
+	/**
+	 * Forgets the cached value of the config item with the key, after it was set or unset.
+	 */
+	void invalidate(String key)
+	{
+		List<Accessor> keyAccessors = accessorsByKey.getOrDefault(key, Collections.emptyList());
+		for (Accessor accessor : keyAccessors)
+		{
+			accessor.invalidate();
+		}
+	}
+
+	void invalidate()
+	{
+		log.trace("cache invalidate ({})", group == null ? iface.getName() : group.value());
+		for (Accessor accessor : accessors.values())
+		{
+			accessor.invalidate();
+		}
+	}
+
+	private class Accessor
+	{
+		private final Method method;
+		private final String key;
+		private final Type type;
+		private final boolean isDefault;
+		private MethodHandle defaultMethod;
+
+		private volatile Object value = UNSET;
+		// incremented on each invalidation, so a value read before one isn't cached after it
+		private int generation;
+
+		Accessor(Method method, String key)
+		{
+			this.method = method;
+			this.key = key;
+			this.type = method.getParameterCount() == 0 ? method.getGenericReturnType() : method.getParameterTypes()[0];
+			this.isDefault = method.isDefault();
+		}
+
+		Object get(Object proxy) throws Throwable
+		{
+			int gen;
+			synchronized (this)
+			{
+				gen = generation;
+			}
+
+			log.trace("cache miss (group: {}, key: {})", group.value(), key);
 
 			// Getting configuration item
-			String value = manager.getConfiguration(group.value(), item.keyName());
+			String value = manager.getConfiguration(group.value(), key);
 
 			if (value == null)
 			{
-				if (method.isDefault())
+				if (isDefault)
 				{
-					Object defaultValue = callDefaultMethod(proxy, method, null);
-					cache.put(method, defaultValue == null ? NULL : defaultValue);
+					Object defaultValue = callDefault(proxy, null);
+					cache(gen, defaultValue);
 					return defaultValue;
 				}
 
-				cache.put(method, NULL);
+				cache(gen, null);
 				return null;
 			}
 
 			// Convert value to return type
 			try
 			{
-				Object objectValue = manager.stringToObject(value, method.getGenericReturnType());
-				cache.put(method, objectValue == null ? NULL : objectValue);
+				Object objectValue = manager.stringToObject(value, type);
+				cache(gen, objectValue);
 				return objectValue;
 			}
 			catch (Exception e)
 			{
-				log.warn("Unable to unmarshal {}.{} ", group.value(), item.keyName(), e);
-				if (method.isDefault())
+				log.warn("Unable to unmarshal {}.{} ", group.value(), key, e);
+				if (isDefault)
 				{
-					return callDefaultMethod(proxy, method, null);
+					return callDefault(proxy, null);
 				}
 				return null;
 			}
 		}
-		else
-		{
-			// Setting a configuration value
-
-			if (args.length != 1)
-			{
-				throw new RuntimeException("Invalid number of arguments to configuration method");
-			}
 
+		void set(Object proxy, Object[] args) throws Throwable
+		{
 			Object newValue = args[0];
 
-			Class<?> type = method.getParameterTypes()[0];
-			Object oldValue = manager.getConfiguration(group.value(), item.keyName(), type);
+			Object oldValue = manager.getConfiguration(group.value(), key, type);
 
 			if (Objects.equals(oldValue, newValue))
 			{
 				// nothing to do
-				return null;
+				return;
 			}
 
-			if (method.isDefault())
+			if (isDefault)
 			{
-				Object defaultValue = callDefaultMethod(proxy, method, args);
+				Object defaultValue = callDefault(proxy, args);
 
 				if (Objects.equals(newValue, defaultValue))
 				{
 					// Just unset if it goes back to the default
-					manager.unsetConfiguration(group.value(), item.keyName());
-					return null;
+					manager.unsetConfiguration(group.value(), key);
+					return;
 				}
 			}
 
 			if (newValue == null)
 			{
-				manager.unsetConfiguration(group.value(), item.keyName());
+				manager.unsetConfiguration(group.value(), key);
 			}
 			else
 			{
 				String newValueStr = manager.objectToString(newValue);
-				manager.setConfiguration(group.value(), item.keyName(), newValueStr);
+				manager.setConfiguration(group.value(), key, newValueStr);
 			}
-			return null;
 		}
-	}
 
-	static Object callDefaultMethod(Object proxy, Method method, Object[] args) throws Throwable
-	{
-		Class<?> declaringClass = method.getDeclaringClass();
-		return ReflectUtil.privateLookupIn(declaringClass)
-			.unreflectSpecial(method, declaringClass)
-			.bindTo(proxy)
-			.invokeWithArguments(args);
-	}
+		private Object callDefault(Object proxy, Object[] args) throws Throwable
+		{
+			MethodHandle handle = defaultMethod;
+			if (handle == null)
+			{
+				handle = defaultMethod = defaultMethodHandle(method);
+			}
+			return handle.bindTo(proxy).invokeWithArguments(args);
+		}
 
-	void invalidate()
-	{
-		log.trace("cache invalidate");
-		cache.invalidateAll();
+		private synchronized void cache(int gen, Object objectValue)
+		{
+			if (generation == gen)
+			{
+				value = objectValue == null ? NULL : objectValue;
+			}
+		}
+
+		synchronized void invalidate()
+		{
+			++generation;
+			value = UNSET;
+		}
 	}
 }
@@ -68,6 +68,8 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -102,7 +104,8 @@ public class ConfigManager
 	private final ProfileManager profileManager;
 	private final SessionManager sessionManager;
 
-	private final ConfigInvocationHandler handler = new ConfigInvocationHandler(this);
+	private final Map<Class<?>, ConfigInvocationHandler> handlers = new ConcurrentHashMap<>();
+	private final Map<String, List<ConfigInvocationHandler>> handlersByGroup = new ConcurrentHashMap<>();
 
 	@Getter
 	private ConfigProfile profile;
@@ -182,13 +185,13 @@ public class ConfigManager
 			}
 		}
 
-		ConfigData newData = new ConfigData(ProfileManager.profileConfigFile(newProfile));
+		ConfigData newData = new ConfigData(ProfileManager.profileConfigFile(newProfile), executor);
 		Set<String> allKeys = new HashSet<>(newData.keySet());
 
 		ConfigData oldData;
 		synchronized (this)
 		{
-			handler.invalidate();
+			handlers.values().forEach(ConfigInvocationHandler::invalidate);
 			oldData = configProfile;
 			profile = newProfile;
 			configProfile = newData;
@@ -467,7 +470,7 @@ public class ConfigManager
 
 				if (rsProfileConfigProfile == null)
 				{
-					rsProfileConfigProfile = new ConfigData(ProfileManager.profileConfigFile(rsProfile));
+					rsProfileConfigProfile = new ConfigData(ProfileManager.profileConfigFile(rsProfile), executor);
 				}
 
 				importAndMigrate(lock, configFile, targetProfile);
@@ -650,7 +653,7 @@ public class ConfigManager
 			syncRemote(lock, rsProfile, remoteProfiles);
 
 			this.rsProfile = rsProfile;
-			rsProfileConfigProfile = new ConfigData(ProfileManager.profileConfigFile(rsProfile));
+			rsProfileConfigProfile = new ConfigData(ProfileManager.profileConfigFile(rsProfile), executor);
 
 			final String launcherDisplayName = client.getLauncherDisplayName();
 			// --profile
@@ -728,7 +731,7 @@ public class ConfigManager
 			syncRemote(lock, profile, remoteProfiles);
 
 			this.profile = profile;
-			configProfile = new ConfigData(ProfileManager.profileConfigFile(profile));
+			configProfile = new ConfigData(ProfileManager.profileConfigFile(profile), executor);
 		}
 
 		eventBus.post(new ProfileChanged());
@@ -836,6 +839,7 @@ public class ConfigManager
 				File configFile = ProfileManager.profileConfigFile(profile);
 				// remote configuration replaces local
 				configFile.delete();
+				ConfigData.journalFile(configFile).delete();
 
 				ConfigData configData = new ConfigData(configFile);
 				configData.putAll(remoteConfiguration.getConfig());
@@ -862,11 +866,34 @@ public class ConfigManager
 		T t = (T) Proxy.newProxyInstance(clazz.getClassLoader(), new Class<?>[]
 			{
 				clazz
-			}, handler);
+			}, handlers.computeIfAbsent(clazz, this::createHandler));
 
 		return t;
 	}
 
+	private ConfigInvocationHandler createHandler(Class<?> clazz)
+	{
+		ConfigInvocationHandler handler = new ConfigInvocationHandler(this, clazz);
+		ConfigGroup group = clazz.getAnnotation(ConfigGroup.class);
+		if (group != null)
+		{
+			handlersByGroup.computeIfAbsent(group.value(), g -> new CopyOnWriteArrayList<>()).add(handler);
+		}
+		return handler;
+	}
+
+	private void invalidate(String groupName, String key)
+	{
+		List<ConfigInvocationHandler> groupHandlers = handlersByGroup.get(groupName);
+		if (groupHandlers != null)
+		{
+			for (ConfigInvocationHandler handler : groupHandlers)
+			{
+				handler.invalidate(key);
+			}
+		}
+	}
+
 	public List<String> getConfigurationKeys(String prefix)
 	{
 		return configProfile.keySet().stream()
@@ -988,7 +1015,10 @@ public class ConfigManager
 		}
 
 		log.debug("Setting configuration value for {} to {}", wholeKey, value);
-		handler.invalidate();
+		if (profile == null)
+		{
+			invalidate(groupName, key);
+		}
 
 		ConfigChanged configChanged = new ConfigChanged();
 		configChanged.setGroup(groupName);
@@ -1080,7 +1110,10 @@ public class ConfigManager
 		}
 
 		log.debug("Unsetting configuration value for {}", wholeKey);
-		handler.invalidate();
+		if (profile == null)
+		{
+			invalidate(groupName, key);
+		}
 
 		ConfigChanged configChanged = new ConfigChanged();
 		configChanged.setGroup(groupName);
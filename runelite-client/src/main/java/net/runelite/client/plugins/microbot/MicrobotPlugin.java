@@ -20,9 +20,11 @@ import net.runelite.client.plugins.microbot.pouch.PouchOverlay;
 import net.runelite.client.plugins.microbot.ui.MicrobotPluginConfigurationDescriptor;
 import net.runelite.client.plugins.microbot.ui.MicrobotPluginListPanel;
 import net.runelite.client.plugins.microbot.ui.MicrobotTopLevelConfigPanel;
+import net.runelite.client.plugins.microbot.util.GameEventSignal;
 import net.runelite.client.plugins.microbot.util.bank.Rs2Bank;
 import net.runelite.client.plugins.microbot.util.cache.*;
 import net.runelite.client.plugins.microbot.util.equipment.Rs2Equipment;
+import net.runelite.client.plugins.microbot.util.gameobject.Rs2ObjectIndex;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Gembag;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2RunePouch;
@@ -31,6 +33,7 @@ import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 import net.runelite.client.plugins.microbot.util.reflection.Rs2Reflection;
 import net.runelite.client.plugins.microbot.util.sailing.Rs2Sailing;
 import net.runelite.client.plugins.microbot.util.shop.Rs2Shop;
+import net.runelite.client.plugins.microbot.util.snapshot.Rs2WorldSnapshot;
 import net.runelite.client.plugins.microbot.util.widget.Rs2Widget;
 import net.runelite.client.plugins.microbot.util.security.LoginManager;
 import net.runelite.client.ui.ClientToolbar;
@@ -151,6 +154,11 @@ public class MicrobotPlugin extends Plugin
 
 		Microbot.pauseAllScripts.set(false);
 
+		// Wakes scripts waiting in Global.sleepUntil when the game state changes
+		eventBus.register(GameEventSignal.getInstance());
+		eventBus.register(Rs2WorldSnapshot.getInstance());
+		eventBus.register(Rs2ObjectIndex.getInstance());
+
 		MicrobotPluginListPanel pluginListPanel = pluginListPanelProvider.get();
 		pluginListPanel.addFakePlugin(new MicrobotPluginConfigurationDescriptor(
 			"Microbot", "Microbot client settings",
@@ -199,6 +207,11 @@ public class MicrobotPlugin extends Plugin
 		clientToolbar.removeNavigation(navButton);
 		if (gameChatAppender.isStarted()) gameChatAppender.stop();
 		microbotVersionChecker.shutdown();
+		eventBus.unregister(GameEventSignal.getInstance());
+		eventBus.unregister(Rs2WorldSnapshot.getInstance());
+		Rs2WorldSnapshot.getInstance().reset();
+		eventBus.unregister(Rs2ObjectIndex.getInstance());
+		Rs2ObjectIndex.getInstance().reset();
 		
 		// Shutdown the cache system
 		shutdownCacheSystem();
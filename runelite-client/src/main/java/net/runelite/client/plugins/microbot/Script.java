@@ -6,29 +6,19 @@ import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
 import net.runelite.client.plugins.microbot.util.Global;
 import net.runelite.client.plugins.microbot.util.cache.Rs2CacheManager;
+import net.runelite.client.plugins.microbot.util.executor.ScriptExecutorService;
+import net.runelite.client.plugins.microbot.util.executor.SharedScheduler;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 import net.runelite.client.plugins.microbot.util.walker.Rs2Walker;
-import org.jetbrains.annotations.NotNull;
 
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 public abstract class Script extends Global implements IScript {
-	protected ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(10,
-		new ThreadFactory() {
-			private final AtomicInteger threadNumber = new AtomicInteger(1);
-			@Override
-			public Thread newThread(@NotNull Runnable r) {
-				Thread t = new Thread(r);
-				t.setName(Script.this.getClass().getSimpleName() + "-" + threadNumber.getAndIncrement());
-				return t;
-			}
-		});
+	private final ScriptExecutorService executor = SharedScheduler.newExecutor(getClass().getSimpleName());
+	protected ScheduledExecutorService scheduledExecutorService = executor;
     protected ScheduledFuture<?> scheduledFuture;
     protected ScheduledFuture<?> mainScheduledFuture;
 
@@ -54,6 +44,8 @@ public abstract class Script extends Global implements IScript {
         if (scheduledFuture != null && !scheduledFuture.isDone()) {
             scheduledFuture.cancel(true);
         }
+        // Anything else the script still has scheduled would otherwise keep running after it stopped
+        executor.cancelAll();
     }
 
     public boolean run() {
@@ -30,6 +30,7 @@ import net.runelite.client.plugins.microbot.pluginscheduler.event.PluginSchedule
 import net.runelite.client.plugins.microbot.pluginscheduler.event.PluginScheduleEntryPreScheduleTaskFinishedEvent;
 import net.runelite.client.plugins.microbot.pluginscheduler.model.PluginScheduleEntry;
 import net.runelite.client.plugins.microbot.pluginscheduler.model.PluginScheduleEntry.StopReason;
+import net.runelite.client.plugins.microbot.pluginscheduler.model.SchedulerSnapshot;
 import net.runelite.client.plugins.microbot.pluginscheduler.serialization.ScheduledSerializer;
 import net.runelite.client.plugins.microbot.pluginscheduler.tasks.AbstractPrePostScheduleTasks;
 import net.runelite.client.plugins.microbot.pluginscheduler.tasks.state.TaskExecutionState;
@@ -68,9 +69,16 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static net.runelite.client.plugins.microbot.util.Global.*;
@@ -103,9 +111,12 @@ public class SchedulerPlugin extends Plugin {
     @Inject
     private ClientToolbar clientToolbar;
     @Inject
-    private ScheduledExecutorService executorService;
-    @Inject
     private OverlayManager overlayManager;
+    /**
+     * Runs the main loop and everything it schedules, so scheduling decisions don't wait for, or hold up, the
+     * Swing thread.
+     */
+    private ScheduledExecutorService schedulerExecutor;
 
     private NavigationButton navButton;
     private SchedulerPanel panel;
@@ -114,9 +125,9 @@ public class SchedulerPlugin extends Plugin {
     @Inject
     private SchedulerInfoOverlay overlay;
     @Getter
-    private PluginScheduleEntry currentPlugin;
+    private volatile PluginScheduleEntry currentPlugin;
     @Getter
-    private PluginScheduleEntry lastPlugin;
+    private volatile PluginScheduleEntry lastPlugin;
     private void setCurrentPlugin(PluginScheduleEntry plugin) {
         // Update last plugin when setting new one
         if (this.currentPlugin != null && plugin != this.currentPlugin) {
@@ -130,7 +141,7 @@ public class SchedulerPlugin extends Plugin {
      * @return List of PluginScheduleEntry objects
      */
     @Getter
-    private List<PluginScheduleEntry> scheduledPlugins = new ArrayList<>();
+    private List<PluginScheduleEntry> scheduledPlugins = new CopyOnWriteArrayList<>();
 
     // private final Map<String, PluginScheduleEntry> nextPluginCache = new
     // HashMap<>();
@@ -139,7 +150,7 @@ public class SchedulerPlugin extends Plugin {
     private static final int MAX_INIT_CHECKS = 10;
 
     @Getter
-    private SchedulerState currentState = SchedulerState.UNINITIALIZED;
+    private volatile SchedulerState currentState = SchedulerState.UNINITIALIZED;
     private SchedulerState prvState = SchedulerState.UNINITIALIZED;
     private GameState lastGameState = GameState.UNKNOWN;
 
@@ -163,8 +174,14 @@ public class SchedulerPlugin extends Plugin {
     private Notifier notifier;
     
     // UI update throttling
-    private long lastPanelUpdateTime = 0;
+    private volatile long lastPanelUpdateTime = 0;
     private static final long PANEL_UPDATE_THROTTLE_MS = 500; // Minimum 500ms between panel updates
+    /**
+     * The state the panels render, replaced whenever the scheduler checked the schedule or the schedule was edited.
+     */
+    private final AtomicReference<SchedulerSnapshot> snapshot = new AtomicReference<>(SchedulerSnapshot.EMPTY);
+    private final AtomicLong snapshotSequence = new AtomicLong();
+    private final AtomicBoolean panelRefreshPending = new AtomicBoolean();
     @Override
     protected void startUp() {
         hasDisabledQoLPlugin=false;
@@ -190,9 +207,14 @@ public class SchedulerPlugin extends Plugin {
         // Check initialization status before fully enabling scheduler
         //checkInitialization();
 
-        // Run the main loop
-        updateTask = executorService.scheduleWithFixedDelay(() -> {
-            SwingUtilities.invokeLater(() -> {
+        // Run the main loop on its own thread, the panels are refreshed on the Swing thread from the snapshot it publishes
+        schedulerExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "PluginScheduler");
+            t.setDaemon(true);
+            return t;
+        });
+        updateTask = schedulerExecutor.scheduleWithFixedDelay(() -> {
+            try {
                 // Only run scheduling logic if fully initialized
                 if (currentState.isSchedulerActive()) {
                     checkSchedule();
@@ -202,10 +224,52 @@ public class SchedulerPlugin extends Plugin {
                     checkInitialization();
                 }
                 updatePanels();
-            });
+            } catch (Exception e) {
+                // An exception would cancel the loop
+                log.error("Error in scheduler loop", e);
+            }
         }, 0, 1, TimeUnit.SECONDS);
     }
 
+    /**
+     * Runs a task on the scheduler thread, after the task it's running now.
+     */
+    public void runOnSchedulerThread(Runnable task) {
+        final ScheduledExecutorService executor = schedulerExecutor;
+        if (executor == null || executor.isShutdown()) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("Error in scheduler task", e);
+            }
+        });
+    }
+
+    /**
+     * Runs an action requested from the UI on the scheduler thread, so it never
+     * races the schedule loop, then runs {@code onDone} on the Swing thread.
+     */
+    public void runOnSchedulerThread(Runnable action, Runnable onDone) {
+        callOnSchedulerThread(() -> {
+            action.run();
+            return null;
+        }, result -> onDone.run());
+    }
+
+    /**
+     * Like {@link #runOnSchedulerThread(Runnable, Runnable)}, but hands the
+     * action's result to {@code onResult} on the Swing thread.
+     */
+    public <T> void callOnSchedulerThread(Supplier<T> action, Consumer<T> onResult) {
+        runOnSchedulerThread(() -> {
+            T result = action.get();
+            SwingUtilities.invokeLater(() -> onResult.accept(result));
+        });
+    }
+
     /**
      * Checks if all required plugins are loaded and initialized.
      * This runs until initialization is complete or max check count is reached.
@@ -300,6 +364,10 @@ public class SchedulerPlugin extends Plugin {
             updateTask.cancel(false);
             updateTask = null;
         }
+        if (schedulerExecutor != null) {
+            schedulerExecutor.shutdown();
+            schedulerExecutor = null;
+        }
 
         if (schedulerWindow != null) {
             schedulerWindow.dispose(); // This will stop the timer
@@ -326,9 +394,7 @@ public class SchedulerPlugin extends Plugin {
                 log.info("Plugin Scheduler started");
                 
                 // Check schedule immediately when started
-                SwingUtilities.invokeLater(() -> {
-                    checkSchedule();
-                });
+                runOnSchedulerThread(this::checkSchedule);
                 return true;
             }
             return true;
@@ -655,7 +721,7 @@ public class SchedulerPlugin extends Plugin {
             Thread.currentThread().interrupt();
         }
         if (BreakHandlerScript.isBreakActive()) {
-            SwingUtilities.invokeLater(() -> {
+            runOnSchedulerThread(() -> {
                 log.info("\n\t--Break was not interrupted successfully");
                 interruptBreak();
             });
@@ -1255,7 +1321,7 @@ public class SchedulerPlugin extends Plugin {
                     log.info("Plugin stopped successfully: " + currentPlugin.getCleanName());
 
                 } else {
-                    SwingUtilities.invokeLater(() -> {
+                    runOnSchedulerThread(() -> {
                         forceStopCurrentPluginScheduleEntry(successful);
                     });
                     log.info("Failed to hard stop plugin: " + currentPlugin.getCleanName());
@@ -1267,7 +1333,7 @@ public class SchedulerPlugin extends Plugin {
 
     /**
      * Update all UI panels with the current state.
-     * Throttled to prevent excessive refresh calls.
+     * Throttled to prevent excessive refresh calls. Can be called from any thread.
      */
     void updatePanels() {
         long currentTime = System.currentTimeMillis();
@@ -1278,14 +1344,8 @@ public class SchedulerPlugin extends Plugin {
         }
         
         lastPanelUpdateTime = currentTime;
-        
-        if (panel != null) {
-            panel.refresh();
-        }
-
-        if (schedulerWindow != null && schedulerWindow.isVisible()) {
-            schedulerWindow.refresh();
-        }
+        publishSnapshot();
+        refreshPanels();
     }
     
     /**
@@ -1293,6 +1353,69 @@ public class SchedulerPlugin extends Plugin {
      * Use this for critical state changes that require immediate UI updates.
      */
     void forceUpdatePanels() {
+        publishSnapshot();
+        refreshPanels();
+    }
+
+    /**
+     * @return the state the panels render, replaced whenever the scheduler checked the schedule or the schedule was
+     * edited
+     */
+    public SchedulerSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Takes a new snapshot of the scheduler for the panels. This isn't done under a lock, as evaluating the start
+     * conditions can wait for the client thread, so a snapshot only replaces the published one if it was started
+     * after it.
+     */
+    public void publishSnapshot() {
+        final long sequence = snapshotSequence.incrementAndGet();
+        List<PluginScheduleEntry> available = new ArrayList<>();
+        List<PluginScheduleEntry> unavailable = new ArrayList<>();
+        int pausedPluginCount = 0;
+        for (PluginScheduleEntry entry : scheduledPlugins) {
+            (entry.isPluginAvailable() ? available : unavailable).add(entry);
+            if (entry.isPaused()) {
+                pausedPluginCount++;
+            }
+        }
+        final SchedulerSnapshot next = SchedulerSnapshot.builder()
+                .sequence(sequence)
+                .state(currentState)
+                .currentPlugin(currentPlugin)
+                .lastPlugin(lastPlugin)
+                .upComingPlugin(getUpComingPlugin())
+                .nextDuePlugin(getNextPluginToBeScheduled())
+                .schedulerPaused(isPaused())
+                .currentPluginPaused(isCurrentPluginPaused())
+                .pluginPauseEventActive(PluginPauseEvent.isPaused())
+                .pausedPluginCount(pausedPluginCount)
+                .onBreak(isOnBreak())
+                .loggedIn(Microbot.isLoggedIn())
+                .availablePlugins(Collections.unmodifiableList(SchedulerPluginUtil.sortPluginScheduleEntries(available)))
+                .unavailablePlugins(Collections.unmodifiableList(unavailable))
+                .build();
+        snapshot.accumulateAndGet(next, (current, taken) -> taken.getSequence() > current.getSequence() ? taken : current);
+    }
+
+    /**
+     * Refreshes the panels from the latest snapshot, straight away on the Swing thread and otherwise with at most one
+     * refresh waiting for it.
+     */
+    private void refreshPanels() {
+        if (SwingUtilities.isEventDispatchThread()) {
+            refreshPanelsNow();
+        } else if (panelRefreshPending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(() -> {
+                panelRefreshPending.set(false);
+                refreshPanelsNow();
+            });
+        }
+    }
+
+    private void refreshPanelsNow() {
         if (panel != null) {
             panel.refresh();
         }
@@ -1306,11 +1429,13 @@ public class SchedulerPlugin extends Plugin {
         scheduledPlugins.add(plugin);
         // Register the stop completion callback
         registerStopCompletionCallback(plugin);
+        publishSnapshot();
     }
 
     public void removeScheduledPlugin(PluginScheduleEntry plugin) {
         plugin.setEnabled(false);
         scheduledPlugins.remove(plugin);
+        publishSnapshot();
     }
 
     public void updateScheduledPlugin(PluginScheduleEntry oldPlugin, PluginScheduleEntry newPlugin) {
@@ -1319,6 +1444,7 @@ public class SchedulerPlugin extends Plugin {
             scheduledPlugins.set(index, newPlugin);
             // Register the stop completion callback for the new plugin
             registerStopCompletionCallback(newPlugin);
+            publishSnapshot();
         }
     }
 
@@ -1378,7 +1504,8 @@ public class SchedulerPlugin extends Plugin {
             }
             
             // Replace current plugins
-            scheduledPlugins = loadedPlugins;
+            scheduledPlugins = new CopyOnWriteArrayList<>(loadedPlugins);
+            publishSnapshot();
             
             // Update UI
             SwingUtilities.invokeLater(this::updatePanels);
@@ -1497,7 +1624,8 @@ public class SchedulerPlugin extends Plugin {
             return;
         }
         Microbot.getConfigManager().setConfiguration(SchedulerPlugin.configGroup, "scheduledPlugins", json);
-
+        // Edits to entries are saved, so the panels see the new order
+        publishSnapshot();
     }
 
     private void loadScheduledPluginEntires() {
@@ -1511,7 +1639,7 @@ public class SchedulerPlugin extends Plugin {
             log.debug("Loading scheduled plugins from config: {}\n\n", json);
 
             if (json != null && !json.isEmpty()) {
-                this.scheduledPlugins = ScheduledSerializer.fromJson(json,  this.VERSION);
+                this.scheduledPlugins = new CopyOnWriteArrayList<>(ScheduledSerializer.fromJson(json,  this.VERSION));
 
                 // Apply stop settings from config to all loaded plugins
                 for (PluginScheduleEntry plugin : scheduledPlugins) {
@@ -1559,11 +1687,12 @@ public class SchedulerPlugin extends Plugin {
                 }
 
                 // Force UI update after loading plugins
+                publishSnapshot();
                 SwingUtilities.invokeLater(this::updatePanels);
             }
         } catch (Exception e) {
             log.error("Error loading scheduled plugins", e);
-            this.scheduledPlugins = new ArrayList<>();
+            this.scheduledPlugins = new CopyOnWriteArrayList<>();
         }
     }
 
@@ -1974,6 +2103,7 @@ public class SchedulerPlugin extends Plugin {
         if (!toRemove.isEmpty()) {
             scheduledPlugins.removeAll(toRemove);
             saveScheduledPlugins();
+            publishSnapshot();
             log.info("Removed {} completed one-time plugins", toRemove.size());
         }
     }
@@ -2328,7 +2458,7 @@ public class SchedulerPlugin extends Plugin {
                 // If we get here, login failed too many times
                 log.error("Failed to login after {} attempts",
                         MAX_LOGIN_ATTEMPTS);
-                SwingUtilities.invokeLater(() -> {
+                runOnSchedulerThread(() -> {
                     // Clean up and set proper state
                     if (currentPlugin != null && currentPlugin.isRunning()) {
                         currentPlugin.stop(false, StopReason.SCHEDULED_STOP, "Plugin stopped due to scheduled time conditions");
@@ -3004,7 +3134,7 @@ public class SchedulerPlugin extends Plugin {
         // Check if the plugin is still stopping
         if (currentPlugin.isStopping()) {
             log.info("Plugin '{}' is still stopping, waiting for it to finish", currentPlugin.getCleanName());
-            SwingUtilities.invokeLater(() -> {
+            runOnSchedulerThread(() -> {
                 // Check if the plugin is still stopping
                 checkIfStopFinished();
             });
@@ -1,10 +1,14 @@
 package net.runelite.client.plugins.microbot.pluginscheduler.condition;
 
 import java.time.Duration;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.Optional;
+import java.util.Set;
 
+import net.runelite.api.Skill;
 import net.runelite.api.events.AnimationChanged;
 import net.runelite.api.events.ChatMessage;
 import net.runelite.api.events.GameStateChanged;
@@ -29,6 +33,10 @@ import net.runelite.api.events.VarbitChanged;
  */
 
 public interface Condition {
+    /**
+     * Returned by {@link #getNextChangeTime()} when the value of a condition only changes on its events.
+     */
+    ZonedDateTime NO_TIMED_CHANGE = ZonedDateTime.of(LocalDateTime.MAX, ZoneOffset.UTC);
     
     public static String getVersion(){
         return getVersion();
@@ -136,6 +144,66 @@ public interface Condition {
         reset(true);
     }
 
+    /**
+     * Gets the event types this condition handles, so {@link ConditionManager} only forwards those events to it.
+     * By default these are the events whose handler the condition overrides.
+     *
+     * @return event classes, such as {@code GameTick.class}
+     */
+    default Set<Class<?>> getHandledEvents() {
+        return ConditionEventRouter.getOverriddenHandlers(getClass());
+    }
+
+    /**
+     * Narrows the {@link StatChanged} events this condition handles to those of some skills.
+     *
+     * @return the skills, or null for every skill
+     */
+    default Set<Skill> getHandledSkills() {
+        return null;
+    }
+
+    /**
+     * Narrows the {@link ItemContainerChanged} events this condition handles to those of some containers.
+     *
+     * @return the container ids, or null for every container
+     */
+    default Set<Integer> getHandledItemContainers() {
+        return null;
+    }
+
+    /**
+     * Narrows the {@link VarbitChanged} events this condition handles to those of some varbits. When either this or
+     * {@link #getHandledVarPlayers()} isn't null, the condition only gets the changes of the vars they return.
+     *
+     * @return the varbit ids, or null
+     */
+    default Set<Integer> getHandledVarbits() {
+        return null;
+    }
+
+    /**
+     * Narrows the {@link VarbitChanged} events this condition handles to those of some varplayers.
+     *
+     * @return the varplayer ids, or null
+     * @see #getHandledVarbits()
+     */
+    default Set<Integer> getHandledVarPlayers() {
+        return null;
+    }
+
+    /**
+     * Gets the earliest time the value of this condition can change other than through the events it handles or a
+     * reset, pause or resume by its {@link ConditionManager}, which reuses the value it evaluated last until then.
+     * This is called before {@link #isSatisfied()}, so the time must hold for a value evaluated after the call.
+     *
+     * @return the time, {@link #NO_TIMED_CHANGE} when only those change the value, or empty when the value can change
+     * at any time, like for conditions that poll the game, which is the default
+     */
+    default Optional<ZonedDateTime> getNextChangeTime() {
+        return Optional.empty();
+    }
+
     default void onGameStateChanged(GameStateChanged gameStateChanged) {
         // This event handler is called whenever the game state changes
         // Useful for conditions that depend on the game state (e.g., logged in, logged out)
@@ -0,0 +1,406 @@
+package net.runelite.client.plugins.microbot.pluginscheduler.condition;
+
+import java.lang.reflect.Method;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.events.AnimationChanged;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.GroundObjectDespawned;
+import net.runelite.api.events.GroundObjectSpawned;
+import net.runelite.api.events.HitsplatApplied;
+import net.runelite.api.events.InteractingChanged;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.ItemDespawned;
+import net.runelite.api.events.ItemSpawned;
+import net.runelite.api.events.MenuOptionClicked;
+import net.runelite.api.events.NpcChanged;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.api.events.StatChanged;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.LogicalCondition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.NotCondition;
+
+/**
+ * A routing table from event type to the conditions of a {@link ConditionManager} that handle it, so an event only
+ * reaches the conditions that are interested in it instead of every condition of every logical condition.
+ * <p>
+ * Logical conditions only forward events to their children, so the table holds the leaf conditions of both the plugin
+ * and the user structure, each once. Events with a key, the skill of a {@link StatChanged}, the container of an
+ * {@link ItemContainerChanged} and the var of a {@link VarbitChanged}, are also routed by that key for conditions
+ * that narrowed what they handle.
+ * <p>
+ * A table is built for one version of the condition structure; {@link #isFor} tells when it has to be rebuilt by
+ * checking the structure version of each logical condition it walked, which is much cheaper than walking the
+ * structure again.
+ * <p>
+ * The table also remembers the value of each condition of the structure, so {@link #isSatisfied} only evaluates
+ * the conditions that changed since. A condition changes when an event was dispatched to it, and every logical
+ * condition above it with it; otherwise it keeps its value until the time given by
+ * {@link Condition#getNextChangeTime()}. Values are evaluated under the lock of the table, while changes are marked
+ * without it, so dispatching events never waits for an evaluation.
+ */
+@Slf4j
+final class ConditionEventRouter {
+    /**
+     * The event handlers of {@link Condition}, by event type.
+     */
+    private static final Map<Class<?>, String> HANDLERS = new LinkedHashMap<>();
+    private static final Map<Class<?>, Set<Class<?>>> OVERRIDDEN_HANDLERS = new ConcurrentHashMap<>();
+
+    static {
+        HANDLERS.put(GameStateChanged.class, "onGameStateChanged");
+        HANDLERS.put(StatChanged.class, "onStatChanged");
+        HANDLERS.put(ItemContainerChanged.class, "onItemContainerChanged");
+        HANDLERS.put(GameTick.class, "onGameTick");
+        HANDLERS.put(NpcChanged.class, "onNpcChanged");
+        HANDLERS.put(NpcSpawned.class, "onNpcSpawned");
+        HANDLERS.put(NpcDespawned.class, "onNpcDespawned");
+        HANDLERS.put(GroundObjectSpawned.class, "onGroundObjectSpawned");
+        HANDLERS.put(GroundObjectDespawned.class, "onGroundObjectDespawned");
+        HANDLERS.put(ItemSpawned.class, "onItemSpawned");
+        HANDLERS.put(ItemDespawned.class, "onItemDespawned");
+        HANDLERS.put(MenuOptionClicked.class, "onMenuOptionClicked");
+        HANDLERS.put(ChatMessage.class, "onChatMessage");
+        HANDLERS.put(HitsplatApplied.class, "onHitsplatApplied");
+        HANDLERS.put(VarbitChanged.class, "onVarbitChanged");
+        HANDLERS.put(InteractingChanged.class, "onInteractingChanged");
+        HANDLERS.put(AnimationChanged.class, "onAnimationChanged");
+    }
+
+    private final LogicalCondition pluginCondition;
+    private final LogicalCondition userCondition;
+    private final List<LogicalCondition> logicalConditions = new ArrayList<>();
+    private final List<Integer> structureVersions = new ArrayList<>();
+    private final Map<Class<?>, Route> routes = new HashMap<>();
+    private final Map<Condition, Node> nodes = new IdentityHashMap<>();
+
+    private ConditionEventRouter(LogicalCondition pluginCondition, LogicalCondition userCondition) {
+        this.pluginCondition = pluginCondition;
+        this.userCondition = userCondition;
+    }
+
+    /**
+     * Gets the events whose handler a class of condition overrides, which is what a condition handles unless it says
+     * otherwise with {@link Condition#getHandledEvents()}.
+     */
+    static Set<Class<?>> getOverriddenHandlers(Class<?> conditionClass) {
+        return OVERRIDDEN_HANDLERS.computeIfAbsent(conditionClass, type -> {
+            Set<Class<?>> handled = new LinkedHashSet<>();
+            for (Map.Entry<Class<?>, String> handler : HANDLERS.entrySet()) {
+                try {
+                    Method method = type.getMethod(handler.getValue(), handler.getKey());
+                    if (method.getDeclaringClass() != Condition.class) {
+                        handled.add(handler.getKey());
+                    }
+                } catch (NoSuchMethodException e) {
+                    // Doesn't happen, every condition has the handlers of the interface
+                    handled.add(handler.getKey());
+                }
+            }
+            return Collections.unmodifiableSet(handled);
+        });
+    }
+
+    static ConditionEventRouter build(LogicalCondition pluginCondition, LogicalCondition userCondition) {
+        ConditionEventRouter router = new ConditionEventRouter(pluginCondition, userCondition);
+        List<Condition> leaves = new ArrayList<>();
+        router.collect(pluginCondition, null, leaves);
+        router.collect(userCondition, null, leaves);
+        for (Condition condition : leaves) {
+            router.add(condition);
+        }
+        return router;
+    }
+
+    boolean isFor(LogicalCondition pluginCondition, LogicalCondition userCondition) {
+        if (this.pluginCondition != pluginCondition || this.userCondition != userCondition) {
+            return false;
+        }
+        for (int i = 0; i < logicalConditions.size(); i++) {
+            if (logicalConditions.get(i).getStructureVersion() != structureVersions.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the conditions that handle events of a type that isn't routed by key
+     */
+    List<Condition> get(Class<?> eventType) {
+        Route route = routes.get(eventType);
+        return route == null ? Collections.emptyList() : route.get(null, null);
+    }
+
+    List<Condition> get(StatChanged event) {
+        Route route = routes.get(StatChanged.class);
+        return route == null ? Collections.emptyList() : route.get(event.getSkill(), null);
+    }
+
+    List<Condition> get(ItemContainerChanged event) {
+        Route route = routes.get(ItemContainerChanged.class);
+        return route == null ? Collections.emptyList() : route.get(event.getContainerId(), null);
+    }
+
+    List<Condition> get(VarbitChanged event) {
+        Route route = routes.get(VarbitChanged.class);
+        if (route == null) {
+            return Collections.emptyList();
+        }
+        return route.get(event.getVarbitId() != -1 ? varbitKey(event.getVarbitId()) : null, varPlayerKey(event.getVarpId()));
+    }
+
+    /**
+     * Marks a condition and every logical condition above it as changed, after an event was dispatched to it.
+     */
+    void changed(Condition condition) {
+        Node node = nodes.get(condition);
+        if (node != null) {
+            node.changed();
+        }
+    }
+
+    /**
+     * Marks every condition as changed, for changes that aren't tracked by events, like a reset.
+     */
+    void invalidate() {
+        for (Node node : nodes.values()) {
+            node.dirty = true;
+        }
+    }
+
+    /**
+     * Evaluates a condition of the structure, reusing the values of the conditions below it that didn't change.
+     */
+    synchronized boolean isSatisfied(Condition condition) {
+        Node node = nodes.get(condition);
+        if (node == null) {
+            return condition.isSatisfied();
+        }
+        return evaluate(node, ZonedDateTime.now());
+    }
+
+    private boolean evaluate(Node node, ZonedDateTime now) {
+        final ZonedDateTime validUntil = node.validUntil;
+        if (!node.dirty && validUntil != null && now.isBefore(validUntil)) {
+            return node.value;
+        }
+        // Cleared first, so a change while evaluating marks it again
+        node.dirty = false;
+        final Condition condition = node.condition;
+        boolean value;
+        ZonedDateTime nextValidUntil;
+        try {
+            if (condition instanceof LogicalCondition || condition instanceof NotCondition) {
+                ChildEvaluation children = new ChildEvaluation(now);
+                value = condition instanceof LogicalCondition
+                        ? ((LogicalCondition) condition).isSatisfied(children)
+                        : ((NotCondition) condition).isSatisfied(children);
+                nextValidUntil = children.validUntil;
+            } else {
+                // Asked before evaluating, as the time holds for a value evaluated after it
+                nextValidUntil = condition.getNextChangeTime().orElse(null);
+                value = condition.isSatisfied();
+            }
+        } catch (RuntimeException e) {
+            node.dirty = true;
+            throw e;
+        }
+        node.value = value;
+        node.validUntil = nextValidUntil;
+        return value;
+    }
+
+    private void collect(Condition condition, Node parent, List<Condition> leaves) {
+        if (condition == null) {
+            return;
+        }
+        Node node = nodes.get(condition);
+        if (node != null) {
+            // Shared by more than one logical condition
+            if (parent != null) {
+                node.parents.add(parent);
+            }
+            return;
+        }
+        node = new Node(condition);
+        if (parent != null) {
+            node.parents.add(parent);
+        }
+        nodes.put(condition, node);
+        if (condition instanceof LogicalCondition) {
+            LogicalCondition logical = (LogicalCondition) condition;
+            // The version is taken first, so a change while walking the children makes the table stale
+            logicalConditions.add(logical);
+            structureVersions.add(logical.getStructureVersion());
+            for (Condition child : logical.getConditions().toArray(new Condition[0])) {
+                collect(child, node, leaves);
+            }
+        } else if (condition instanceof NotCondition) {
+            collect(((NotCondition) condition).getCondition(), node, leaves);
+        } else {
+            leaves.add(condition);
+        }
+    }
+
+    private void add(Condition condition) {
+        Set<Class<?>> handled;
+        try {
+            handled = condition.getHandledEvents();
+        } catch (Exception e) {
+            log.error("Error getting the events of condition {}, it gets every event", condition.getDescription(), e);
+            handled = HANDLERS.keySet();
+        }
+        for (Class<?> eventType : handled) {
+            Collection<?> keys = null;
+            if (eventType == StatChanged.class) {
+                keys = condition.getHandledSkills();
+            } else if (eventType == ItemContainerChanged.class) {
+                keys = condition.getHandledItemContainers();
+            } else if (eventType == VarbitChanged.class) {
+                keys = varKeys(condition.getHandledVarbits(), condition.getHandledVarPlayers());
+            }
+            routes.computeIfAbsent(eventType, type -> new Route()).add(condition, keys);
+        }
+    }
+
+    private static Collection<Object> varKeys(Set<Integer> varbits, Set<Integer> varPlayers) {
+        if (varbits == null && varPlayers == null) {
+            return null;
+        }
+        List<Object> keys = new ArrayList<>();
+        if (varbits != null) {
+            for (int varbit : varbits) {
+                keys.add(varbitKey(varbit));
+            }
+        }
+        if (varPlayers != null) {
+            for (int varPlayer : varPlayers) {
+                keys.add(varPlayerKey(varPlayer));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Varbits and varplayers share one key space: varbit ids as they are, varplayer ids as their complement.
+     */
+    private static Integer varbitKey(int varbitId) {
+        return varbitId;
+    }
+
+    private static Integer varPlayerKey(int varPlayerId) {
+        return ~varPlayerId;
+    }
+
+    /**
+     * A condition of the structure with the value it was evaluated to last.
+     */
+    private static final class Node {
+        private final Condition condition;
+        private final List<Node> parents = new ArrayList<>(1);
+        private volatile boolean dirty = true;
+        private volatile boolean value;
+        /**
+         * Until when the value holds without changes, null to evaluate it every time.
+         */
+        private volatile ZonedDateTime validUntil;
+
+        private Node(Condition condition) {
+            this.condition = condition;
+        }
+
+        private void changed() {
+            dirty = true;
+            for (Node parent : parents) {
+                parent.changed();
+            }
+        }
+    }
+
+    /**
+     * Gives a logical condition the values of its children, and keeps the earliest time one of the children it asked
+     * for can change, which is when its own value can change.
+     */
+    private final class ChildEvaluation implements Predicate<Condition> {
+        private final ZonedDateTime now;
+        private ZonedDateTime validUntil = Condition.NO_TIMED_CHANGE;
+
+        private ChildEvaluation(ZonedDateTime now) {
+            this.now = now;
+        }
+
+        @Override
+        public boolean test(Condition child) {
+            Node node = nodes.get(child);
+            if (node == null) {
+                validUntil = null;
+                return child.isSatisfied();
+            }
+            boolean value = evaluate(node, now);
+            ZonedDateTime childValidUntil = node.validUntil;
+            if (childValidUntil == null) {
+                validUntil = null;
+            } else if (validUntil != null && childValidUntil.isBefore(validUntil)) {
+                validUntil = childValidUntil;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * The conditions that handle an event type, split into those that handle every event and those that handle the
+     * events with some keys.
+     */
+    private static final class Route {
+        private final List<Condition> unkeyed = new ArrayList<>();
+        private final Map<Object, List<Condition>> keyed = new HashMap<>();
+
+        private void add(Condition condition, Collection<?> keys) {
+            if (keys == null) {
+                unkeyed.add(condition);
+                return;
+            }
+            for (Object key : keys) {
+                keyed.computeIfAbsent(key, k -> new ArrayList<>()).add(condition);
+            }
+        }
+
+        private List<Condition> get(Object key, Object otherKey) {
+            List<Condition> byKey = key == null ? null : keyed.get(key);
+            List<Condition> byOtherKey = otherKey == null ? null : keyed.get(otherKey);
+            if (byKey == null && byOtherKey == null) {
+                return unkeyed;
+            }
+            List<Condition> result = new ArrayList<>(unkeyed);
+            if (byKey != null) {
+                result.addAll(byKey);
+            }
+            if (byOtherKey != null) {
+                // A condition can be under both keys, like a varbit and the varplayer it's part of
+                for (Condition condition : byOtherKey) {
+                    if (byKey == null || !byKey.contains(condition)) {
+                        result.add(condition);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
 import lombok.Getter;
@@ -140,6 +141,11 @@ public class ConditionManager implements AutoCloseable {
      */
     private Supplier<LogicalCondition> currentWatchdogSupplier = null;
 
+    /**
+     * Routes each event to only the conditions that handle it, see {@link #getEventRouter()}.
+     */
+    private transient volatile ConditionEventRouter eventRouter;
+
     /**
      * Creates a new condition manager with default settings.
      * Initializes the user logical condition as an AND condition (all conditions must be met).
@@ -332,14 +338,14 @@ public class ConditionManager implements AutoCloseable {
     }
     public boolean arePluginConditionsMet() {
         if (pluginCondition != null && !pluginCondition.getConditions().isEmpty()) {          
-            return pluginCondition.isSatisfied();            
+            return getEventRouter().isSatisfied(pluginCondition);
         }
         return true;
     }
    
     public boolean areUserConditionsMet() {
         if (userLogicalCondition != null && !userLogicalCondition.getConditions().isEmpty()) {          
-            return userLogicalCondition.isSatisfied();            
+            return getEventRouter().isSatisfied(userLogicalCondition);
         }
         return true;
     }
@@ -509,6 +515,7 @@ public class ConditionManager implements AutoCloseable {
         if (userLogicalCondition != null) {
             userLogicalCondition.reset();
         }
+        invalidateConditionValues();
     }
     
     /**
@@ -520,12 +527,14 @@ public class ConditionManager implements AutoCloseable {
         if (userLogicalCondition != null) {
             userLogicalCondition.reset(randomize);
         }
+        invalidateConditionValues();
     
     }
     public void hardResetUserConditions() {
         if (userLogicalCondition != null) {
             userLogicalCondition.hardReset();
         }
+        invalidateConditionValues();
     }
     
     /**
@@ -535,6 +544,7 @@ public class ConditionManager implements AutoCloseable {
         if (pluginCondition != null) {
             pluginCondition.reset();
         }
+        invalidateConditionValues();
     }
     
     /**
@@ -546,6 +556,7 @@ public class ConditionManager implements AutoCloseable {
         if (pluginCondition != null) {
             pluginCondition.reset(randomize);
         }
+        invalidateConditionValues();
     }
 
     /**
@@ -1329,217 +1340,130 @@ public class ConditionManager implements AutoCloseable {
                     .orElse(0.0);
         }
     }
-    @Subscribe(priority = -1)
-    public void onGameStateChanged(GameStateChanged gameStateChanged){
-        for (Condition condition : getConditions( )) {
+    /**
+     * Gets the routing of events to the conditions that handle them, which is rebuilt when the plugin or user
+     * structure was replaced or changed since it was built.
+     */
+    private ConditionEventRouter getEventRouter() {
+        final LogicalCondition plugin = pluginCondition;
+        final LogicalCondition user = userLogicalCondition;
+        ConditionEventRouter router = eventRouter;
+        if (router == null || !router.isFor(plugin, user)) {
+            router = ConditionEventRouter.build(plugin, user);
+            eventRouter = router;
+        }
+        return router;
+    }
+
+    /**
+     * Marks every condition as changed, after a reset, pause or resume that events don't tell about.
+     */
+    private void invalidateConditionValues() {
+        final ConditionEventRouter router = eventRouter;
+        if (router != null) {
+            router.invalidate();
+        }
+    }
+
+    private <T> void dispatch(List<Condition> conditions, T event, BiConsumer<Condition, T> handler) {
+        final ConditionEventRouter router = eventRouter;
+        for (Condition condition : conditions) {
             try {
-                condition.onGameStateChanged(gameStateChanged);
+                handler.accept(condition, event);
             } catch (Exception e) {
-                log.error("Error in condition {} during GameStateChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
+                log.error("Error in condition {} during {} event: {}", 
+                    condition.getDescription(), event.getClass().getSimpleName(), e.getMessage(), e);
             }
-        }        
+            // The handler may have changed what the value of the condition depends on
+            router.changed(condition);
+        }
+    }
+
+    @Subscribe(priority = -1)
+    public void onGameStateChanged(GameStateChanged gameStateChanged){
+        dispatch(getEventRouter().get(GameStateChanged.class), gameStateChanged, Condition::onGameStateChanged);
+        // Logging in or out changes what many conditions read from the game
+        invalidateConditionValues();
     }
 
     @Subscribe(priority = -1)
     public void onStatChanged(StatChanged event) {
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onStatChanged(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during StatChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-                e.printStackTrace();
-            }
-        }        
+        dispatch(getEventRouter().get(event), event, Condition::onStatChanged);
     }
-   
     
     @Subscribe(priority = -1)
     public void onItemContainerChanged(ItemContainerChanged event) {
-         // Propagate event to all conditions
-         for (Condition condition : getConditions( )) {
-            try {
-                condition.onItemContainerChanged(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during ItemContainerChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }       
+        dispatch(getEventRouter().get(event), event, Condition::onItemContainerChanged);
     }
+
     @Subscribe(priority = -1)
     public void onGameTick(GameTick gameTick) {
-        // Propagate event to all conditions        
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onGameTick(gameTick);
-            } catch (Exception e) {
-                log.error("Error in condition {} during GameTick event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }      
+        dispatch(getEventRouter().get(GameTick.class), gameTick, Condition::onGameTick);
     }
 
     @Subscribe(priority = -1)
     public void onGroundObjectSpawned(GroundObjectSpawned event) {
-        // Propagate event to all conditions
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onGroundObjectSpawned(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during GroundItemSpawned event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }
-        if (pluginCondition != null) {
-            try {
-                pluginCondition.onGroundObjectSpawned(event);
-            } catch (Exception e) {
-                log.error("Error in plugin condition during GroundItemSpawned event: {}", 
-                    e.getMessage(), e);
-            }
-        }
+        dispatch(getEventRouter().get(GroundObjectSpawned.class), event, Condition::onGroundObjectSpawned);
     }
 
     @Subscribe(priority = -1)
     public void onGroundObjectDespawned(GroundObjectDespawned event) {
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onGroundObjectDespawned(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during GroundItemDespawned event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }       
+        dispatch(getEventRouter().get(GroundObjectDespawned.class), event, Condition::onGroundObjectDespawned);
     }
 
     @Subscribe(priority = -1)
     public void onMenuOptionClicked(MenuOptionClicked event) {
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onMenuOptionClicked(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during MenuOptionClicked event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
+        dispatch(getEventRouter().get(MenuOptionClicked.class), event, Condition::onMenuOptionClicked);
     }
 
     @Subscribe(priority = -1)
     public void onChatMessage(ChatMessage event) {
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onChatMessage(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during ChatMessage event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
+        dispatch(getEventRouter().get(ChatMessage.class), event, Condition::onChatMessage);
     }
 
     @Subscribe(priority = -1)
     public void onHitsplatApplied(HitsplatApplied event) {
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onHitsplatApplied(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during HitsplatApplied event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }
-       
+        dispatch(getEventRouter().get(HitsplatApplied.class), event, Condition::onHitsplatApplied);
     }
+
     @Subscribe(priority = -1)
-	public void onVarbitChanged(VarbitChanged event)
-	{
-		for (Condition condition :getConditions( )) {
-            try {
-                condition.onVarbitChanged(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during VarbitChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
-	}
+    public void onVarbitChanged(VarbitChanged event) {
+        dispatch(getEventRouter().get(event), event, Condition::onVarbitChanged);
+    }
+
     @Subscribe(priority = -1)
     void onNpcChanged(NpcChanged event){
-        for (Condition condition :getConditions( )) {
-            try {
-                condition.onNpcChanged(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during NpcChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
+        dispatch(getEventRouter().get(NpcChanged.class), event, Condition::onNpcChanged);
     }
+
     @Subscribe(priority = -1)
     void onNpcSpawned(NpcSpawned npcSpawned){
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onNpcSpawned(npcSpawned);
-            } catch (Exception e) {
-                log.error("Error in condition {} during NpcSpawned event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
-        
+        dispatch(getEventRouter().get(NpcSpawned.class), npcSpawned, Condition::onNpcSpawned);
     }
+
     @Subscribe(priority = -1)
     void onNpcDespawned(NpcDespawned npcDespawned){
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onNpcDespawned(npcDespawned);
-            } catch (Exception e) {
-                log.error("Error in condition {} during NpcDespawned event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
+        dispatch(getEventRouter().get(NpcDespawned.class), npcDespawned, Condition::onNpcDespawned);
     }
+
     @Subscribe(priority = -1)
     void onInteractingChanged(InteractingChanged event){
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onInteractingChanged(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during InteractingChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }       
+        dispatch(getEventRouter().get(InteractingChanged.class), event, Condition::onInteractingChanged);
     }
+
     @Subscribe(priority = -1)
-    void onItemSpawned(ItemSpawned event){        
-        List<Condition> allConditions = getConditions();            
-        // Proceed with normal processing
-        for (Condition condition : allConditions) {            
-            try {                
-                condition.onItemSpawned(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during ItemSpawned event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }       
+    void onItemSpawned(ItemSpawned event){
+        dispatch(getEventRouter().get(ItemSpawned.class), event, Condition::onItemSpawned);
     }
+
     @Subscribe(priority = -1)
     void onItemDespawned(ItemDespawned event){
-        for (Condition condition :getConditions( )) {
-            try {
-                condition.onItemDespawned(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during ItemDespawned event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }       
+        dispatch(getEventRouter().get(ItemDespawned.class), event, Condition::onItemDespawned);
     }
+
     @Subscribe(priority = -1)
     void onAnimationChanged(AnimationChanged event) {
-        for (Condition condition :getConditions( )) {
-            try {
-                condition.onAnimationChanged(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during AnimationChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }       
+        dispatch(getEventRouter().get(AnimationChanged.class), event, Condition::onAnimationChanged);
     }
 
     /**
@@ -2505,6 +2429,7 @@ public class ConditionManager implements AutoCloseable {
         for (Condition condition : timeConditions) {
             condition.pause();
         }
+        invalidateConditionValues();
         
     }
     public void pausePluginConditions() {
@@ -2513,6 +2438,7 @@ public class ConditionManager implements AutoCloseable {
         for (Condition condition : timeConditions) {
             condition.pause();
         }
+        invalidateConditionValues();
         
     }
     public void pauseAllConditions() {
@@ -2521,6 +2447,7 @@ public class ConditionManager implements AutoCloseable {
         for (Condition condition : timeConditions) {
             condition.pause();
         }
+        invalidateConditionValues();
         
     }
       
@@ -2544,6 +2471,7 @@ public class ConditionManager implements AutoCloseable {
         for (Condition condition : timeConditions) {
             condition.resume();
         }
+        invalidateConditionValues();
      
     }
     public void resumeUserConditions() {
@@ -2552,6 +2480,7 @@ public class ConditionManager implements AutoCloseable {
         for (Condition condition : timeConditions) {
             condition.resume();
         }
+        invalidateConditionValues();
         
     }
     public void resumePluginTimeConditions() {
@@ -2560,6 +2489,7 @@ public class ConditionManager implements AutoCloseable {
         for (Condition condition : timeConditions) {
             condition.resume();
         }
+        invalidateConditionValues();
         
     }
     
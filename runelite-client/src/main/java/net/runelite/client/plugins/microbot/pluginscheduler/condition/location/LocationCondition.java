@@ -18,6 +18,9 @@ import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.Or
 import net.runelite.client.plugins.microbot.util.bank.enums.BankLocation;
 import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
 /**
  * Base class for all location-based conditions.
  * Provides common functionality for conditions that depend on player location.
@@ -38,6 +41,14 @@ public abstract class LocationCondition implements Condition {
     public boolean isSatisfied() {       
         return satisfied; //update in the child class, via updateLocationStatus
     }
+
+    /**
+     * The location is only checked on game ticks.
+     */
+    @Override
+    public Optional<ZonedDateTime> getNextChangeTime() {
+        return Optional.of(NO_TIMED_CHANGE);
+    }
     
     @Override
     public void reset() {
@@ -5,6 +5,7 @@ import java.time.ZonedDateTime;
 import java.util.Optional;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.function.Predicate;
 import lombok.EqualsAndHashCode;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.Condition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.TimeCondition;
@@ -16,8 +17,13 @@ import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.TimeC
 public class AndCondition extends LogicalCondition {
     @Override
     public boolean isSatisfied() {
+        return isSatisfied(Condition::isSatisfied);
+    }
+
+    @Override
+    public boolean isSatisfied(Predicate<Condition> isChildSatisfied) {
         if (conditions.isEmpty()) return true;
-        return conditions.stream().allMatch(Condition::isSatisfied);
+        return conditions.stream().allMatch(isChildSatisfied);
     }
     
     /**
@@ -2,8 +2,12 @@ package net.runelite.client.plugins.microbot.pluginscheduler.condition.logical;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -33,7 +37,26 @@ public abstract class LogicalCondition implements Condition {
         }
     }
     @Getter
-    protected List<Condition> conditions = new ArrayList<>();
+    protected final List<Condition> conditions = new ConditionList();
+
+    /**
+     * Increases whenever a condition is added to, replaced in or removed from this logical condition, so a
+     * {@link net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionManager} knows when to rebuild
+     * the routing of its events.
+     */
+    public int getStructureVersion() {
+        return ((ConditionList) conditions).version;
+    }
+
+    /**
+     * Combines the values of the child conditions as given by a function, in order and only as far as needed, so a
+     * {@link net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionManager} can evaluate the
+     * structure with the values it remembers.
+     *
+     * @param isChildSatisfied gives the value of a child condition
+     * @return whether this logical condition is satisfied
+     */
+    public abstract boolean isSatisfied(Predicate<Condition> isChildSatisfied);
     
     public LogicalCondition addCondition(Condition condition) {
         //check if the condition is already in the list, with .equals()
@@ -1499,6 +1522,86 @@ public abstract class LogicalCondition implements Condition {
         // Default behavior: return empty if we can't determine
         return Optional.empty();
     }
-}
 
+    /**
+     * The children of a logical condition, which are also changed through {@link #getConditions()}, so every change
+     * counts towards the structure version.
+     */
+    private static final class ConditionList extends ArrayList<Condition> {
+        private volatile int version;
+
+        private <T> T changed(T result) {
+            version++;
+            return result;
+        }
+
+        @Override
+        public boolean add(Condition condition) {
+            return changed(super.add(condition));
+        }
+
+        @Override
+        public void add(int index, Condition condition) {
+            super.add(index, condition);
+            changed(null);
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends Condition> c) {
+            return changed(super.addAll(c));
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends Condition> c) {
+            return changed(super.addAll(index, c));
+        }
 
+        @Override
+        public Condition set(int index, Condition condition) {
+            return changed(super.set(index, condition));
+        }
+
+        @Override
+        public Condition remove(int index) {
+            return changed(super.remove(index));
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return changed(super.remove(o));
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> c) {
+            return changed(super.removeAll(c));
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> c) {
+            return changed(super.retainAll(c));
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super Condition> filter) {
+            return changed(super.removeIf(filter));
+        }
+
+        @Override
+        public void replaceAll(UnaryOperator<Condition> operator) {
+            super.replaceAll(operator);
+            changed(null);
+        }
+
+        @Override
+        public void sort(Comparator<? super Condition> c) {
+            super.sort(c);
+            changed(null);
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            changed(null);
+        }
+    }
+}
@@ -15,6 +15,7 @@ import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.TimeW
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * Logical NOT operator - inverts a condition.
@@ -30,14 +31,23 @@ public class NotCondition implements Condition {
     
     @Override
     public boolean isSatisfied() {
+        return isSatisfied(Condition::isSatisfied);
+    }
+
+    /**
+     * Inverts the value of the inner condition as given by a function.
+     *
+     * @see LogicalCondition#isSatisfied(Predicate)
+     */
+    public boolean isSatisfied(Predicate<Condition> isChildSatisfied) {
         if (condition instanceof SingleTriggerTimeCondition) {
             if (((SingleTriggerTimeCondition) condition).canTriggerAgain()) {
-                return !condition.isSatisfied();
+                return !isChildSatisfied.test(condition);
             }
             // should we only return true if the condition if it can trigger and is not satisfied? as we do it now
             return false;
         }
-        return !condition.isSatisfied();
+        return !isChildSatisfied.test(condition);
     }
     
     @Override
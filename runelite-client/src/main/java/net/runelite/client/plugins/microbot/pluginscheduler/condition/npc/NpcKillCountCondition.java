@@ -14,9 +14,11 @@ import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.Lo
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.OrCondition;
 import net.runelite.client.plugins.microbot.util.math.Rs2Random;
 
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -236,6 +238,14 @@ public class NpcKillCountCondition extends NpcCondition {
         
         return false;
     }
+
+    /**
+     * The kill count only changes on the events this condition handles.
+     */
+    @Override
+    public Optional<ZonedDateTime> getNextChangeTime() {
+        return Optional.of(NO_TIMED_CHANGE);
+    }
     
     @Override
     public String getDescription() {
@@ -1,7 +1,9 @@
 package net.runelite.client.plugins.microbot.pluginscheduler.condition.resource;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 import lombok.Builder;
 import lombok.Getter;
@@ -140,6 +142,11 @@ public class BankItemCountCondition extends ResourceCondition {
         return Math.min(100.0, (currentItemCount * 100.0) / currentTargetCount);
     }
     
+    @Override
+    public Set<Integer> getHandledItemContainers() {
+        return Collections.singleton(InventoryID.BANK.getId());
+    }
+
     @Override
     @Subscribe
     public void onItemContainerChanged(ItemContainerChanged event) {
@@ -24,9 +24,12 @@ import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -361,6 +364,11 @@ public class GatheredResourceCondition extends ResourceCondition {
         }
     }
     
+    @Override
+    public Set<Skill> getHandledSkills() {
+        return new HashSet<>(relevantSkills);
+    }
+
     @Override
     public void onStatChanged(StatChanged event) {
         // Check if XP was gained in a relevant skill
@@ -392,6 +400,11 @@ public class GatheredResourceCondition extends ResourceCondition {
         }
     }
     
+    @Override
+    public Set<Integer> getHandledItemContainers() {
+        return Collections.singleton(InventoryID.INVENTORY.getId());
+    }
+
     @Override
     public void onItemContainerChanged(ItemContainerChanged event) {
         // Only process inventory changes
@@ -1,7 +1,9 @@
 package net.runelite.client.plugins.microbot.pluginscheduler.condition.resource;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 
 import lombok.Builder;
@@ -300,6 +302,11 @@ public class InventoryItemCountCondition extends ResourceCondition {
         return Math.min(100.0, (currentItemCount * 100.0) / currentTargetCount);
     }
     
+    @Override
+    public Set<Integer> getHandledItemContainers() {
+        return Collections.singleton(InventoryID.INVENTORY.getId());
+    }
+
     @Override
     public void onItemContainerChanged(ItemContainerChanged event) {
         // Skip processing if paused
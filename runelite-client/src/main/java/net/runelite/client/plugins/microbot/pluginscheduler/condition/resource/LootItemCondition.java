@@ -26,6 +26,7 @@ import net.runelite.client.plugins.microbot.util.math.Rs2Random;
 import net.runelite.client.plugins.microbot.util.models.RS2Item;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -550,6 +551,11 @@ public class LootItemCondition extends ResourceCondition {
         // Not used for this implementation
     }
     
+    @Override
+    public Set<Integer> getHandledItemContainers() {
+        return Collections.singleton(InventoryID.INVENTORY.getId());
+    }
+
      /**
      * Called when item containers change (inventory, bank, etc.)
      * We need to check if we gained any of our target items.
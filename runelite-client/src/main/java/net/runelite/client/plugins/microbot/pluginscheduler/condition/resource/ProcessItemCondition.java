@@ -18,9 +18,11 @@ import net.runelite.client.plugins.microbot.util.math.Rs2Random;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -430,7 +432,12 @@ public class ProcessItemCondition extends ResourceCondition {
         
         return Math.min(100.0, (processedCount * 100.0) / currentTargetCount);
     }
-     @Override
+    @Override
+    public Set<Integer> getHandledItemContainers() {
+        return Collections.singleton(InventoryID.INVENTORY.getId());
+    }
+
+    @Override
     public void onItemContainerChanged(ItemContainerChanged event) {
         // Skip updates if paused
         if (isPaused()) {
@@ -12,6 +12,7 @@ import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2ItemModel;
 
 import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
@@ -83,6 +84,14 @@ public abstract class ResourceCondition implements Condition {
     public double getProgressPercentage() {
         return isSatisfied() ? 100.0 : 0.0;
     }
+
+    /**
+     * Resource conditions only count on the events they handle.
+     */
+    @Override
+    public Optional<ZonedDateTime> getNextChangeTime() {
+        return Optional.of(NO_TIMED_CHANGE);
+    }
     
     /**
      * Gets the estimated time until this resource condition will be satisfied.
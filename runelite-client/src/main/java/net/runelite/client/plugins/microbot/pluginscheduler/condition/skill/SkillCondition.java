@@ -17,8 +17,10 @@ import javax.swing.*;
 import static net.runelite.client.plugins.microbot.util.Global.sleepUntil;
 
 import java.awt.image.BufferedImage;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -260,6 +262,14 @@ public abstract class SkillCondition implements Condition {
         LAST_UPDATE_TIME = currentTime;
     }
     
+    /**
+     * The total level and experience change with every skill, otherwise only the skill of this condition matters.
+     */
+    @Override
+    public Set<Skill> getHandledSkills() {
+        return isTotal() ? null : Collections.singleton(skill);
+    }
+
     /**
      * Updates skill data when stats change
      */
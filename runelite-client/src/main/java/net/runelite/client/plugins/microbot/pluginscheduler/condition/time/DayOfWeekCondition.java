@@ -315,6 +315,29 @@ public class DayOfWeekCondition extends TimeCondition {
         return true;
     }
 
+    /**
+     * Changes at the start of a day, when the interval condition changes, or when it's reset and counts a repeat.
+     */
+    @Override
+    public Optional<ZonedDateTime> getNextChangeTime() {
+        if (isPaused() || !canTriggerAgain()) {
+            return Optional.of(NO_TIMED_CHANGE);
+        }
+        ZonedDateTime now = getNow();
+        ZonedDateTime changeTime = now.toLocalDate().plusDays(1).atStartOfDay(now.getZone());
+        IntervalCondition intervalCondition = getIntervalCondition().orElse(null);
+        if (intervalCondition != null) {
+            ZonedDateTime intervalChange = intervalCondition.getNextChangeTime().orElse(null);
+            if (intervalChange == null) {
+                return Optional.empty();
+            }
+            if (intervalChange.isBefore(changeTime)) {
+                changeTime = intervalChange;
+            }
+        }
+        return Optional.of(changeTime);
+    }
+
     /**
      * {@inheritDoc}
      * Provides a user-friendly description of this condition, showing which days are active.
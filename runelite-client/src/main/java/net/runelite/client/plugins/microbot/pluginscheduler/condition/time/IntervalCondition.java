@@ -428,6 +428,29 @@ public class IntervalCondition extends TimeCondition {
         }
         return false;
     }
+
+    /**
+     * Becomes satisfied at the trigger time, or at the end of the initial delay if that's later, and stays satisfied
+     * until it's reset.
+     */
+    @Override
+    public Optional<ZonedDateTime> getNextChangeTime() {
+        if (isPaused || !canTriggerAgain()) {
+            return Optional.of(NO_TIMED_CHANGE);
+        }
+        ZonedDateTime now = getNow();
+        ZonedDateTime changeTime = getNextTriggerTimeWithPause().orElse(now);
+        if (initialDelayCondition != null) {
+            ZonedDateTime delayEnd = initialDelayCondition.getNextChangeTime().orElse(null);
+            if (delayEnd == null) {
+                return Optional.empty();
+            }
+            if (delayEnd != NO_TIMED_CHANGE && delayEnd.isAfter(changeTime)) {
+                changeTime = delayEnd;
+            }
+        }
+        return Optional.of(changeTime.isAfter(now) ? changeTime : NO_TIMED_CHANGE);
+    }
     @Override
     public String getDescription() {
         ZonedDateTime now = getNow();
@@ -95,6 +95,19 @@ public class SingleTriggerTimeCondition extends TimeCondition {
         return false;
     }
 
+    /**
+     * Changes once, at the trigger time, and after triggering keeps its value until it's reset.
+     */
+    @Override
+    public Optional<ZonedDateTime> getNextChangeTime() {
+        if (isPaused() || hasTriggered() || !canTriggerAgain()) {
+            return Optional.of(NO_TIMED_CHANGE);
+        }
+        ZonedDateTime now = getNow();
+        ZonedDateTime triggerTime = getNextTriggerTimeWithPause().orElse(now);
+        return Optional.of(triggerTime.isAfter(now) ? triggerTime : NO_TIMED_CHANGE);
+    }
+
     
     @Override
     public String getDescription() {
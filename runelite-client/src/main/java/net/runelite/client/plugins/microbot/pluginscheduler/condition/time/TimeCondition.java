@@ -14,7 +14,9 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Abstract base class for all time-based conditions.
@@ -449,6 +451,27 @@ public abstract class TimeCondition implements Condition {
         return isSatisfiedAt(getNow());
     }
 
+    /**
+     * Time conditions change with the clock rather than on events, their game tick handlers only keep them
+     * registered with the event bus.
+     */
+    @Override
+    public Set<Class<?>> getHandledEvents() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * A paused condition, or one that can't trigger again, keeps its value until it's resumed or reset. Subclasses
+     * that know when they change next override this.
+     */
+    @Override
+    public Optional<ZonedDateTime> getNextChangeTime() {
+        if (isPaused || !canTriggerAgain()) {
+            return Optional.of(NO_TIMED_CHANGE);
+        }
+        return Optional.empty();
+    }
+
     /**
      * Gets the estimated time until this time condition will be satisfied.
      * This implementation leverages getCurrentTriggerTime() to provide accurate estimates
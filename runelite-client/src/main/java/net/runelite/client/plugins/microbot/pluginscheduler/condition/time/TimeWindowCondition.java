@@ -515,6 +515,40 @@ public class TimeWindowCondition extends TimeCondition {
         return isSatisfied(triggerTime.toLocalDateTime());
         
     }
+
+    /**
+     * Changes at the start and the end of the current window, and at the start of a day, when the window moves on.
+     */
+    @Override
+    public Optional<ZonedDateTime> getNextChangeTime() {
+        if (isPaused() || !canTriggerAgain()) {
+            return Optional.of(NO_TIMED_CHANGE);
+        }
+        ZonedDateTime start = getNextTriggerTimeWithPause().orElse(null);
+        if (start == null || currentEndDateTime == null) {
+            return Optional.of(NO_TIMED_CHANGE);
+        }
+        ZonedDateTime now = ZonedDateTime.now(getZoneId());
+        if (currentEndDateTime.toLocalDate().isBefore(now.toLocalDate())) {
+            // The window of an earlier day can be moved to today by the next evaluation
+            return Optional.empty();
+        }
+        ZonedDateTime changeTime = now.toLocalDate().plusDays(1).atStartOfDay(now.getZone());
+        ZonedDateTime end = currentEndDateTime.atZone(getZoneId());
+        if (!start.isBefore(now) && start.isBefore(changeTime)) {
+            changeTime = start;
+        }
+        if (!end.isBefore(now) && end.isBefore(changeTime)) {
+            changeTime = end;
+        }
+        if (!isUnlimitedEndDate()) {
+            ZonedDateTime lastEnd = LocalDateTime.of(endDate, endTime).atZone(getZoneId());
+            if (!lastEnd.isBefore(now) && lastEnd.isBefore(changeTime)) {
+                changeTime = lastEnd;
+            }
+        }
+        return Optional.of(changeTime);
+    }
     
     private boolean isSatisfied(LocalDateTime currentStartDateTime) {
         if (isPaused()) {
@@ -1,7 +1,9 @@
 package net.runelite.client.plugins.microbot.pluginscheduler.condition.varbit;
 
 import java.time.ZonedDateTime;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.Set;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -336,8 +338,26 @@ public class VarbitCondition implements Condition {
         }
     }
     
+    @Override
+    public Set<Integer> getHandledVarbits() {
+        return varType == VarType.VARBIT ? Collections.singleton(varId) : Collections.emptySet();
+    }
+
+    @Override
+    public Set<Integer> getHandledVarPlayers() {
+        return varType == VarType.VARPLAYER ? Collections.singleton(varId) : Collections.emptySet();
+    }
+
+    /**
+     * The var only has to be read again when it changes, logging in or out makes every condition evaluate again.
+     */
+    @Override
+    public Optional<ZonedDateTime> getNextChangeTime() {
+        return Optional.of(NO_TIMED_CHANGE);
+    }
+
     /**
-     * Called when a varbit changes
+     * Called when the varbit or varplayer of this condition changes
      */
     @Override
     public void onVarbitChanged(VarbitChanged event) {
@@ -0,0 +1,98 @@
+package net.runelite.client.plugins.microbot.pluginscheduler.model;
+
+import lombok.Builder;
+import lombok.Getter;
+import net.runelite.client.plugins.microbot.pluginscheduler.SchedulerState;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable view of the scheduler, taken on the scheduler thread after each check of the schedule and whenever
+ * the schedule is edited. The panels render from the latest snapshot instead of asking the scheduler, so they don't
+ * sort the schedule or evaluate conditions on the Swing thread, and can compare it with the snapshot they rendered
+ * last to only update what changed.
+ * <p>
+ * Entries are compared by reference, as {@link PluginScheduleEntry#equals(Object)} compares their conditions.
+ */
+@Getter
+@Builder
+public final class SchedulerSnapshot {
+    public static final SchedulerSnapshot EMPTY = SchedulerSnapshot.builder()
+            .state(SchedulerState.UNINITIALIZED)
+            .build();
+
+    /**
+     * Increases with each snapshot taken, so a snapshot can't replace one that was taken after it.
+     */
+    private final long sequence;
+    private final SchedulerState state;
+    private final PluginScheduleEntry currentPlugin;
+    private final PluginScheduleEntry lastPlugin;
+    private final PluginScheduleEntry upComingPlugin;
+    /**
+     * The entry that is due to run now, if any.
+     */
+    private final PluginScheduleEntry nextDuePlugin;
+    private final boolean schedulerPaused;
+    private final boolean currentPluginPaused;
+    private final boolean pluginPauseEventActive;
+    private final int pausedPluginCount;
+    private final boolean onBreak;
+    private final boolean loggedIn;
+    /**
+     * The available entries in the order they're due to run.
+     */
+    @Builder.Default
+    private final List<PluginScheduleEntry> availablePlugins = Collections.emptyList();
+    /**
+     * The entries whose plugin isn't installed.
+     */
+    @Builder.Default
+    private final List<PluginScheduleEntry> unavailablePlugins = Collections.emptyList();
+
+    public boolean hasScheduledPlugins() {
+        return !availablePlugins.isEmpty() || !unavailablePlugins.isEmpty();
+    }
+
+    /**
+     * @return true when the state of the scheduler and the plugins it tracks are the same in both snapshots, so
+     * buttons and status labels don't need to be updated
+     */
+    public boolean hasSameStatus(SchedulerSnapshot other) {
+        return other != null
+                && state == other.state
+                && currentPlugin == other.currentPlugin
+                && lastPlugin == other.lastPlugin
+                && upComingPlugin == other.upComingPlugin
+                && nextDuePlugin == other.nextDuePlugin
+                && schedulerPaused == other.schedulerPaused
+                && currentPluginPaused == other.currentPluginPaused
+                && pluginPauseEventActive == other.pluginPauseEventActive
+                && pausedPluginCount == other.pausedPluginCount
+                && onBreak == other.onBreak
+                && loggedIn == other.loggedIn
+                && hasScheduledPlugins() == other.hasScheduledPlugins();
+    }
+
+    /**
+     * @return true when both snapshots have the same entries in the same order
+     */
+    public boolean hasSameRows(SchedulerSnapshot other) {
+        return other != null
+                && sameEntries(availablePlugins, other.availablePlugins)
+                && sameEntries(unavailablePlugins, other.unavailablePlugins);
+    }
+
+    private static boolean sameEntries(List<PluginScheduleEntry> a, List<PluginScheduleEntry> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
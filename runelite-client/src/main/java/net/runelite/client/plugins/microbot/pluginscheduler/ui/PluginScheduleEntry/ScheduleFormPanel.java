@@ -1268,28 +1268,30 @@ public class ScheduleFormPanel extends JPanel {
         
         if (selectedPlugin.isRunning()) {
             // Stop the plugin
-            if (plugin.getCurrentPlugin()!= null && plugin.getCurrentPlugin().equals(selectedPlugin)) {
-                plugin.forceStopCurrentPluginScheduleEntry(true);
-            }else{
-                plugin.forceStopCurrentPluginScheduleEntry(false);
-            }
+            boolean successful = plugin.getCurrentPlugin()!= null && plugin.getCurrentPlugin().equals(selectedPlugin);
+            plugin.runOnSchedulerThread(() -> plugin.forceStopCurrentPluginScheduleEntry(successful), () -> {
+                // Update control button and statistics
+                updateControlButton();
+                updateStatistics();
+            });
         } else {
             // Start the plugin using the new manualStartPlugin method
-            String result = plugin.manualStartPlugin(selectedPlugin);
-            if (!result.isEmpty()) {
-                // Show error message if starting failed
-                JOptionPane.showMessageDialog(
-                    SwingUtilities.getWindowAncestor(this),
-                    result,
-                    "Cannot Start Plugin immediately, update only main time start condition",
-                    JOptionPane.WARNING_MESSAGE
-                );
-            }
+            PluginScheduleEntry toStart = selectedPlugin;
+            plugin.callOnSchedulerThread(() -> plugin.manualStartPlugin(toStart), result -> {
+                if (!result.isEmpty()) {
+                    // Show error message if starting failed
+                    JOptionPane.showMessageDialog(
+                        SwingUtilities.getWindowAncestor(this),
+                        result,
+                        "Cannot Start Plugin immediately, update only main time start condition",
+                        JOptionPane.WARNING_MESSAGE
+                    );
+                }
+                // Update control button and statistics
+                updateControlButton();
+                updateStatistics();
+            });
         }
-        
-        // Update control button and statistics
-        updateControlButton();
-        updateStatistics();
     }
 
     public void setEditMode(boolean editMode) {
@@ -7,7 +7,7 @@ import net.runelite.client.plugins.microbot.pluginscheduler.condition.Condition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionType;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.LogicalCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.model.PluginScheduleEntry;
-import net.runelite.client.plugins.microbot.pluginscheduler.util.SchedulerPluginUtil;
+import net.runelite.client.plugins.microbot.pluginscheduler.model.SchedulerSnapshot;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.FontManager;
 
@@ -29,6 +29,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -73,6 +74,7 @@ public class ScheduleTablePanel extends JPanel implements ScheduleTableModel {
     @SuppressWarnings("unused") private static final int COL_RUNS = 7;
     
     private List<PluginScheduleEntry> rowToPluginMap = new ArrayList<>();
+    private SchedulerSnapshot lastRenderedSnapshot;
     
     public int getRowCount() {
         if (tableModel == null) {
@@ -1152,71 +1154,27 @@ public class ScheduleTablePanel extends JPanel implements ScheduleTableModel {
             return false;
         }
         
-        PluginScheduleEntry nextPlugin = schedulerPlugin.getNextPluginToBeScheduled();
-        PluginScheduleEntry nextUpCommigPlugin = schedulerPlugin.getNextPluginToBeScheduled();
-        boolean isNextUpComingPlugin = nextUpCommigPlugin != null && nextUpCommigPlugin.equals(scheduledPlugin);
-        boolean isNextPlugin = nextPlugin != null && nextPlugin.equals(scheduledPlugin);
-        if (nextPlugin!= null){
-            return isNextPlugin;
-        }else{
-            return isNextUpComingPlugin;
-        }
+        // Called for each rendered cell, so this uses the plugin found by the scheduler thread
+        PluginScheduleEntry nextPlugin = schedulerPlugin.getSnapshot().getNextDuePlugin();
+        return nextPlugin != null && nextPlugin.equals(scheduledPlugin);
 //        return nextPlugin != null && nextPlugin.equals(scheduledPlugin);
     }   
-    private void detectChangesInPluginlist(){
-        // Get the full combined list (available + separator + unavailable) like in refreshTable
-        List<PluginScheduleEntry> availablePlugins = schedulerPlugin.getScheduledPlugins();
-        List<PluginScheduleEntry> unavailablePlugins = schedulerPlugin.getUnavailableScheduledPlugins();
-        List<PluginScheduleEntry> sortedAvailablePlugins = SchedulerPluginUtil.sortPluginScheduleEntries(availablePlugins);
-        
-        List<PluginScheduleEntry> expectedPlugins = new ArrayList<>();
-        expectedPlugins.addAll(sortedAvailablePlugins);
-        
-        // Add separator if there are unavailable plugins
-        if (!unavailablePlugins.isEmpty() && !sortedAvailablePlugins.isEmpty()) {
-            expectedPlugins.add(null); // separator
-        }
-        
-        expectedPlugins.addAll(unavailablePlugins);
+    /**
+     * @return the rows of the table: available plugins in the order they're due, then a separator, then unavailable
+     * plugins
+     */
+    private static List<PluginScheduleEntry> getRows(SchedulerSnapshot snapshot) {
+        List<PluginScheduleEntry> rows = new ArrayList<>(snapshot.getAvailablePlugins());
         
-        // Only refresh if the structure has actually changed
-        if (expectedPlugins.size() != rowToPluginMap.size()) {
-            log.info("Plugin list size changed: {} -> {}, refreshing", rowToPluginMap.size(), expectedPlugins.size());
-            this.rowToPluginMap = new ArrayList<>(expectedPlugins);
-            return;
+        // Add a placeholder separator entry if there are unavailable plugins
+        if (!snapshot.getUnavailablePlugins().isEmpty() && !snapshot.getAvailablePlugins().isEmpty()) {
+            rows.add(null); // null entry will be rendered as separator
         }
         
-        // Check if the content order has changed
-        boolean hasChanged = false;
-        for (int i = 0; i < expectedPlugins.size(); i++) {
-            PluginScheduleEntry expected = expectedPlugins.get(i);
-            PluginScheduleEntry current = i < rowToPluginMap.size() ? rowToPluginMap.get(i) : null;
-            
-            // Handle separator rows (both null)
-            if (expected == null && current == null) {
-                continue;
-            }
-            
-            // Handle mismatched null vs non-null
-            if (expected == null || current == null) {
-                hasChanged = true;
-                break;
-            }
-            
-            // Check if plugins are different
-            if (!expected.equals(current)) {
-                hasChanged = true;
-                break;
-            }
-        }
-        
-        if (hasChanged) {
-            log.info("Plugin list order changed, refreshing");
-            this.rowToPluginMap = new ArrayList<>(expectedPlugins);
-        }
+        rows.addAll(snapshot.getUnavailablePlugins());
+        return rows;
     }
 
-
     public void refreshTable() {      
         if (this.updatingTable) {
             return; // Skip if already updating
@@ -1225,30 +1183,11 @@ public class ScheduleTablePanel extends JPanel implements ScheduleTableModel {
         this.updatingTable = true;
         
         try {
-            detectChangesInPluginlist();
             // Save current selection
             PluginScheduleEntry selectedPlugin = getSelectedPlugin();
-            int selectedRow = scheduleTable.getSelectedRow();
-            // Get available and unavailable plugins separately 
-            List<PluginScheduleEntry> availablePlugins = schedulerPlugin.getScheduledPlugins();
-            List<PluginScheduleEntry> unavailablePlugins = schedulerPlugin.getUnavailableScheduledPlugins();
-            
-            // Sort available plugins by next run time
-            List<PluginScheduleEntry> sortedAvailablePlugins = SchedulerPluginUtil.sortPluginScheduleEntries(availablePlugins);
-            
-            // Combine lists: available plugins first, then separator, then unavailable plugins
-            List<PluginScheduleEntry> sortedPlugins = new ArrayList<>();
-            sortedPlugins.addAll(sortedAvailablePlugins);
-            
-            // Add a placeholder separator entry if there are unavailable plugins
-            if (!unavailablePlugins.isEmpty() && !sortedAvailablePlugins.isEmpty()) {
-                sortedPlugins.add(null); // null entry will be rendered as separator
-            }
-            
-            sortedPlugins.addAll(unavailablePlugins);
-            //SchedulerPluginUtil.logSortedPluginScheduleEntryList(sortedPlugins);
-            
-            
+            // The plugins are sorted by the scheduler thread, the table only updates the cells that changed
+            SchedulerSnapshot snapshot = schedulerPlugin.getSnapshot();
+            List<PluginScheduleEntry> sortedPlugins = getRows(snapshot);
             
             // Create a new row map with the correct size to match the sorted plugins
             List<PluginScheduleEntry> newRowMap = new ArrayList<>(sortedPlugins.size());
@@ -1258,9 +1197,10 @@ public class ScheduleTablePanel extends JPanel implements ScheduleTableModel {
             }
 
 
-            // We no longer need to save the previous row map for comparison
-            // Track if we need to force repaint (visual changes that might not trigger repaint)
-            boolean needsRepaint = false;
+            // Track if we need to force repaint (visual changes that might not trigger repaint), like the
+            // highlighting of the current and next plugin
+            boolean needsRepaint = !snapshot.hasSameStatus(lastRenderedSnapshot);
+            lastRenderedSnapshot = snapshot;
             
             // Set to track plugins we've processed to avoid duplicates
             Set<PluginScheduleEntry> processedPlugins = new HashSet<>();
@@ -1373,44 +1313,17 @@ public class ScheduleTablePanel extends JPanel implements ScheduleTableModel {
     }
 
     /**
-     * Updates existing row in the table with current plugin values
+     * Updates existing row in the table with current plugin values. Only the cells whose value changed are set, as
+     * every set repaints the cell.
      */
     private void updateRowWithPlugin(int rowIndex, PluginScheduleEntry plugin) {
-        // Handle separator row (null plugin)
-        if (plugin == null) {
-            Object[] separatorData = createRowData(null); // Use existing separator logic
-            for (int col = 0; col < separatorData.length && col < tableModel.getColumnCount(); col++) {
-                tableModel.setValueAt(separatorData[col], rowIndex, col);
+        // Handles the separator row (null plugin) too
+        Object[] rowData = createRowData(plugin);
+        for (int col = 0; col < rowData.length && col < tableModel.getColumnCount(); col++) {
+            if (!Objects.equals(tableModel.getValueAt(rowIndex, col), rowData[col])) {
+                tableModel.setValueAt(rowData[col], rowIndex, col);
             }
-            return;
-        }
-        
-        // Get basic information
-        String pluginName = plugin.getCleanName();
-        
-        if (schedulerPlugin.isRunningEntry(plugin)) {
-            pluginName = "▶ " + pluginName;
         }
-        
-        // For default plugins, add a visual indicator
-        if (plugin.isDefault()) {
-            pluginName = "* " + pluginName; // Use simple asterisk instead of emoji
-        }
-        
-        // For unavailable plugins, add visual indicator
-        if (!plugin.isPluginAvailable()) {
-            pluginName = "❌ " + pluginName + " (Not Installed)";
-        }
-        
-        // Update existing row with focused columns
-        tableModel.setValueAt(pluginName, rowIndex, 0);
-        tableModel.setValueAt(getEnhancedScheduleDisplay(plugin), rowIndex, 1);
-        tableModel.setValueAt(getEnhancedNextRunDisplay(plugin), rowIndex, 2);
-        tableModel.setValueAt(getStartConditionInfo(plugin), rowIndex, 3);
-        tableModel.setValueAt(getStopConditionInfo(plugin), rowIndex, 4);
-        tableModel.setValueAt(plugin.getPriority(), rowIndex, 5);
-        tableModel.setValueAt(plugin.isEnabled(), rowIndex, 6);
-        tableModel.setValueAt(plugin.getRunCount(), rowIndex, 7);
     }
 
     /**
@@ -5,6 +5,7 @@ import net.runelite.client.plugins.microbot.pluginscheduler.SchedulerPlugin;
 import net.runelite.client.plugins.microbot.pluginscheduler.SchedulerState;
 import net.runelite.client.plugins.microbot.pluginscheduler.api.SchedulablePlugin;
 import net.runelite.client.plugins.microbot.pluginscheduler.model.PluginScheduleEntry;
+import net.runelite.client.plugins.microbot.pluginscheduler.model.SchedulerSnapshot;
 import net.runelite.client.plugins.microbot.pluginscheduler.tasks.ui.PrePostScheduleTasksInfoPanel;
 import net.runelite.client.plugins.microbot.pluginscheduler.ui.util.UIUtils;
 import net.runelite.client.plugins.microbot.util.antiban.enums.Activity;
@@ -84,6 +85,7 @@ public class SchedulerInfoPanel extends JPanel {
     private PluginScheduleEntry lastTrackedCurrentPlugin;
     private PluginScheduleEntry lastTrackedPreviousPlugin;
     private PluginScheduleEntry lastTrackedNextUpComingPlugin;
+    private SchedulerSnapshot lastTrackedSnapshot;
   
   
     public SchedulerInfoPanel(SchedulerPlugin plugin) {
@@ -127,29 +129,20 @@ public class SchedulerInfoPanel extends JPanel {
         
         // Create run scheduler button
         runSchedulerButton = createCompactButton("Run Scheduler", new Color(76, 175, 80));
-        runSchedulerButton.addActionListener(e -> {
-            plugin.startScheduler();
-            updateButtonStates();
-        });
+        runSchedulerButton.addActionListener(e ->
+            plugin.runOnSchedulerThread(plugin::startScheduler, this::updateButtonStates));
         buttonPanel.add(runSchedulerButton);
         
         // Create stop scheduler button
         stopSchedulerButton = createCompactButton("Stop Scheduler", new Color(244, 67, 54));
-        stopSchedulerButton.addActionListener(e -> {
-            SwingUtilities.invokeLater(() -> {
-                plugin.stopScheduler();
-                updateButtonStates();
-            });
-        });
+        stopSchedulerButton.addActionListener(e ->
+            plugin.runOnSchedulerThread(plugin::stopScheduler, this::updateButtonStates));
         buttonPanel.add(stopSchedulerButton);
         
         // Create login button
         loginButton = createCompactButton("Login", new Color(33, 150, 243)); // Blue
-        loginButton.addActionListener(e -> {            
-            SwingUtilities.invokeLater(() -> {
-                plugin.toggleManualLogin();
-            });
-        });
+        loginButton.addActionListener(e ->
+            plugin.runOnSchedulerThread(plugin::toggleManualLogin, this::updateButtonStates));
         buttonPanel.add(loginButton);
         
         // Create pause/resume button
@@ -161,20 +154,20 @@ public class SchedulerInfoPanel extends JPanel {
             
             // Update button text and color based on state
             if (!plugin.isCurrentPluginPaused()) {
-                boolean pauseSuccess = plugin.pauseRunningPlugin();
-                if (pauseSuccess){
-                    pauseResumePluginButton.setText("Resume Plugin");
-                    pauseResumePluginButton.setBackground(new Color(76, 175, 80)); // Green color
-                }
+                plugin.callOnSchedulerThread(plugin::pauseRunningPlugin, pauseSuccess -> {
+                    if (pauseSuccess){
+                        pauseResumePluginButton.setText("Resume Plugin");
+                        pauseResumePluginButton.setBackground(new Color(76, 175, 80)); // Green color
+                    }
+                    updateButtonStates();
+                });
             } else {
-                if(plugin.isCurrentPluginPaused()){
-                    plugin.resumeRunningPlugin();
+                plugin.runOnSchedulerThread(plugin::resumeRunningPlugin, () -> {
                     pauseResumePluginButton.setText("Pause Plugin");
                     pauseResumePluginButton.setBackground(new Color(0, 188, 212)); // Cyan color
-                }
+                    updateButtonStates();
+                });
             }
-            // updateCurrentPluginInfo(); // Commented out - moved to status section
-            updateButtonStates();            
         });
         buttonPanel.add(pauseResumePluginButton);
         
@@ -184,23 +177,23 @@ public class SchedulerInfoPanel extends JPanel {
             // Toggle the pause state using our new methods
             if (plugin.isPaused() ) {
                 // Currently paused, so resume
-                plugin.resumeScheduler();
-                pauseResumeSchedulerButton.setText("Pause Scheduler");
-                pauseResumeSchedulerButton.setBackground(new Color(255, 152, 0)); // Orange color
+                plugin.runOnSchedulerThread(plugin::resumeScheduler, () -> {
+                    pauseResumeSchedulerButton.setText("Pause Scheduler");
+                    pauseResumeSchedulerButton.setBackground(new Color(255, 152, 0)); // Orange color
+                    updateButtonStates();
+                });
             }else if(plugin.isOnBreak() && (plugin.getCurrentState() == SchedulerState.BREAK) || 
                     plugin.getCurrentState() == SchedulerState.PLAYSCHEDULE_BREAK){
                 // If currently on break, resume the break
-                plugin.resumeBreak();                                           
+                plugin.runOnSchedulerThread(plugin::resumeBreak, this::updateButtonStates);
             }else {
                 // Currently running, so pause
-                plugin.pauseScheduler();
-                pauseResumeSchedulerButton.setText("Resume Scheduler");
-                pauseResumeSchedulerButton.setBackground(new Color(76, 175, 80)); // Green color
+                plugin.runOnSchedulerThread(plugin::pauseScheduler, () -> {
+                    pauseResumeSchedulerButton.setText("Resume Scheduler");
+                    pauseResumeSchedulerButton.setBackground(new Color(76, 175, 80)); // Green color
+                    updateButtonStates();
+                });
             }
-            
-            // Update UI
-            // updateCurrentPluginInfo(); // Commented out - moved to status section
-            updateButtonStates();
         });
         buttonPanel.add(pauseResumeSchedulerButton);
         
@@ -420,17 +413,22 @@ public class SchedulerInfoPanel extends JPanel {
      * Refreshes all displayed information with selective updates based on plugin state changes
      */
     public void refresh() {
-        // Always update scheduler status and buttons for real-time feedback
+        SchedulerSnapshot snapshot = plugin.getSnapshot();
+
+        // Always update scheduler status for its runtime, buttons only when the scheduler state changed
         updateSchedulerStatus();
-        updateButtonStates();
+        if (!snapshot.hasSameStatus(lastTrackedSnapshot)) {
+            updateButtonStates();
+            lastTrackedSnapshot = snapshot;
+        }
         
         // Always update player status as it changes frequently
         updatePlayerStatusInfo();
         
-        // Get current plugin states
-        PluginScheduleEntry currentPlugin = plugin.getCurrentPlugin();
-        PluginScheduleEntry previousPlugin = plugin.getLastPlugin();
-        PluginScheduleEntry nextUpComingPlugin = plugin.getUpComingPlugin();
+        // Get current plugin states, as published by the scheduler thread
+        PluginScheduleEntry currentPlugin = snapshot.getCurrentPlugin();
+        PluginScheduleEntry previousPlugin = snapshot.getLastPlugin();
+        PluginScheduleEntry nextUpComingPlugin = snapshot.getUpComingPlugin();
         
         // Update current plugin info if it changed or is running (for runtime updates)
         // Note: Current plugin display moved to status section, keeping runtime-only updates
@@ -466,6 +464,7 @@ public class SchedulerInfoPanel extends JPanel {
      * Useful when plugin states change and immediate UI refresh is needed.
      */
     public void forcePluginInfoUpdate() {
+        lastTrackedSnapshot = null;
         lastTrackedCurrentPlugin = null;
         lastTrackedPreviousPlugin = null;
         lastTrackedNextUpComingPlugin = null;
@@ -763,7 +762,7 @@ public class SchedulerInfoPanel extends JPanel {
      * Updates information about the next scheduled plugin
      */
     private void updateNextUpComingPluginInfo() {
-        PluginScheduleEntry nextUpComingPlugin = plugin.getUpComingPlugin();
+        PluginScheduleEntry nextUpComingPlugin = plugin.getSnapshot().getUpComingPlugin();
         
         if (nextUpComingPlugin != null) {                        
             // Update name
@@ -994,50 +993,60 @@ public class SchedulerInfoPanel extends JPanel {
     }
     
     /**
-     * Performs a hard reset on all user conditions for all scheduled plugins
+     * Performs a hard reset on all user conditions for all scheduled plugins.
+     * The reset runs on the scheduler thread; the result is shown once it's done.
      */
     private void hardResetAllUserConditions() {
-        try {
-            // Delegate the hard reset operation to the SchedulerPlugin
-            List<String> resetPlugins = plugin.hardResetAllUserConditions();
-            
-            // Show success message with details
-            String resultMessage = String.format(
-                "<html><body width='400'>" +
-                "<h2>Hard Reset Complete</h2>" +
-                "<p>Successfully reset %d user condition states.</p>",
-                resetPlugins.size());
-            
-            if (!resetPlugins.isEmpty()) {
-                resultMessage += "<p><b>Reset conditions for:</b></p><ul>";
-                for (String pluginName : resetPlugins) {
-                    resultMessage += "<li>" + pluginName + "</li>";
-                }
-                resultMessage += "</ul>";
+        plugin.callOnSchedulerThread(() -> {
+            try {
+                // Delegate the hard reset operation to the SchedulerPlugin
+                return plugin.hardResetAllUserConditions();
+            } catch (Exception e) {
+                log.error("Error during hard reset of user conditions", e);
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(
+                    SwingUtilities.getWindowAncestor(this),
+                    "An error occurred while resetting user conditions: " + e.getMessage(),
+                    "Hard Reset Error",
+                    JOptionPane.ERROR_MESSAGE
+                ));
+                return null;
             }
-            
-            resultMessage += "</body></html>";
-            
-            JOptionPane.showMessageDialog(
-                SwingUtilities.getWindowAncestor(this),
-                resultMessage,
-                "Hard Reset Complete",
-                JOptionPane.INFORMATION_MESSAGE
-            );
-            
-            log.info("Hard reset completed for {} user condition states", resetPlugins.size());
-            
-        } catch (Exception e) {
-            // Show error message
-            JOptionPane.showMessageDialog(
-                SwingUtilities.getWindowAncestor(this),
-                "An error occurred while resetting user conditions: " + e.getMessage(),
-                "Hard Reset Error",
-                JOptionPane.ERROR_MESSAGE
-            );
-            
-            log.error("Error during hard reset of user conditions", e);
+        }, this::showHardResetResult);
+    }
+
+    /**
+     * Shows which plugins had their user conditions reset by a hard reset
+     */
+    private void showHardResetResult(List<String> resetPlugins) {
+        if (resetPlugins == null) {
+            return;
         }
+
+        // Show success message with details
+        String resultMessage = String.format(
+            "<html><body width='400'>" +
+            "<h2>Hard Reset Complete</h2>" +
+            "<p>Successfully reset %d user condition states.</p>",
+            resetPlugins.size());
+        
+        if (!resetPlugins.isEmpty()) {
+            resultMessage += "<p><b>Reset conditions for:</b></p><ul>";
+            for (String pluginName : resetPlugins) {
+                resultMessage += "<li>" + pluginName + "</li>";
+            }
+            resultMessage += "</ul>";
+        }
+        
+        resultMessage += "</body></html>";
+        
+        JOptionPane.showMessageDialog(
+            SwingUtilities.getWindowAncestor(this),
+            resultMessage,
+            "Hard Reset Complete",
+            JOptionPane.INFORMATION_MESSAGE
+        );
+        
+        log.info("Hard reset completed for {} user condition states", resetPlugins.size());
     }
     
     /**
@@ -2,6 +2,7 @@ package net.runelite.client.plugins.microbot.pluginscheduler.ui;
 import net.runelite.client.plugins.microbot.pluginscheduler.SchedulerPlugin;
 import net.runelite.client.plugins.microbot.pluginscheduler.SchedulerState;
 import net.runelite.client.plugins.microbot.pluginscheduler.model.PluginScheduleEntry;
+import net.runelite.client.plugins.microbot.pluginscheduler.model.SchedulerSnapshot;
 import net.runelite.client.plugins.microbot.util.events.PluginPauseEvent;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.FontManager;
@@ -50,7 +51,7 @@ public class SchedulerPanel extends PluginPanel {
     // State tracking for optimized updates
     private PluginScheduleEntry lastTrackedCurrentPlugin;
     private PluginScheduleEntry lastTrackedNextUpComingPlugin;
-    private SchedulerState lastTrackedState; 
+    private SchedulerSnapshot lastTrackedSnapshot;
 
 
     public SchedulerPanel(SchedulerPlugin plugin) {
@@ -168,18 +169,12 @@ public class SchedulerPanel extends PluginPanel {
         // Control buttons
         Color greenColor = new Color(76, 175, 80);
         JButton runButton = createButton("Run Scheduler", greenColor);
-        runButton.addActionListener(e -> {
-            plugin.startScheduler();
-            refresh();
-        });
+        runButton.addActionListener(e -> plugin.runOnSchedulerThread(plugin::startScheduler, this::refresh));
         this.runButton = runButton;
 
         Color redColor = new Color(244, 67, 54);
         JButton stopButton = createButton("Stop Scheduler", redColor);
-        stopButton.addActionListener(e -> {
-            plugin.stopScheduler();
-            refresh();
-        });
+        stopButton.addActionListener(e -> plugin.runOnSchedulerThread(plugin::stopScheduler, this::refresh));
         this.stopButton = stopButton;
 
         // Add Antiban button - uses a distinct purple color
@@ -195,15 +190,18 @@ public class SchedulerPanel extends PluginPanel {
         JButton pauseSchedulerButton = createButton("Pause Scheduler", orangeColor);
         pauseSchedulerButton.addActionListener(e -> {
             if (plugin.isPaused()) {
-                plugin.resumeScheduler();
-                pauseSchedulerButton.setText("Pause Scheduler");
-                pauseSchedulerButton.setBackground(orangeColor);
+                plugin.runOnSchedulerThread(plugin::resumeScheduler, () -> {
+                    pauseSchedulerButton.setText("Pause Scheduler");
+                    pauseSchedulerButton.setBackground(orangeColor);
+                    refresh();
+                });
             } else {
-                plugin.pauseScheduler();
-                pauseSchedulerButton.setText("Resume Scheduler");
-                pauseSchedulerButton.setBackground(greenColor);
+                plugin.runOnSchedulerThread(plugin::pauseScheduler, () -> {
+                    pauseSchedulerButton.setText("Resume Scheduler");
+                    pauseSchedulerButton.setBackground(greenColor);
+                    refresh();
+                });
             }
-            refresh();
         });
         pauseSchedulerButton.setToolTipText("Pause or resume the scheduler without stopping it");
         this.pauseSchedulerButton = pauseSchedulerButton;
@@ -218,15 +216,18 @@ public class SchedulerPanel extends PluginPanel {
             
             // Update button text and color based on state
             if (newPauseState) {
-                plugin.pauseRunningPlugin();
-                pauseResumePluginButton.setText("Resume Plugin");
-                pauseResumePluginButton.setBackground(greenColor); // Change to green for resume
+                plugin.runOnSchedulerThread(plugin::pauseRunningPlugin, () -> {
+                    pauseResumePluginButton.setText("Resume Plugin");
+                    pauseResumePluginButton.setBackground(greenColor); // Change to green for resume
+                    refresh();
+                });
             } else {
-                plugin.resumeRunningPlugin();
-                pauseResumePluginButton.setText("Pause Plugin");
-                pauseResumePluginButton.setBackground(cyanColor); // Change back to cyan for pause
+                plugin.runOnSchedulerThread(plugin::resumeRunningPlugin, () -> {
+                    pauseResumePluginButton.setText("Pause Plugin");
+                    pauseResumePluginButton.setBackground(cyanColor); // Change back to cyan for pause
+                    refresh();
+                });
             }
-            refresh();
         });
         pauseResumePluginButton.setToolTipText("Pause or resume the currently running plugin");
         this.pauseResumePluginButton = pauseResumePluginButton;
@@ -337,10 +338,11 @@ public class SchedulerPanel extends PluginPanel {
     }
 
     public void refresh() {
-        // Get current state information
-        SchedulerState currentState = plugin.getCurrentState();
-        PluginScheduleEntry currentPlugin = plugin.getCurrentPlugin();
-        PluginScheduleEntry nextUpComingPlugin = plugin.getUpComingPlugin();
+        // Get current state information, as published by the scheduler thread
+        SchedulerSnapshot snapshot = plugin.getSnapshot();
+        SchedulerState currentState = snapshot.getState();
+        PluginScheduleEntry currentPlugin = snapshot.getCurrentPlugin();
+        PluginScheduleEntry nextUpComingPlugin = snapshot.getUpComingPlugin();
         
         // Update current plugin info if it changed
         if (currentPlugin != lastTrackedCurrentPlugin) {
@@ -360,8 +362,8 @@ public class SchedulerPanel extends PluginPanel {
             updateNextPluginTimeDisplayOnly(nextUpComingPlugin);
         }
         
-        // Update scheduler status and buttons if state changed
-        if (currentState != lastTrackedState) {
+        // Update scheduler status and buttons if the state or pauses changed
+        if (!snapshot.hasSameStatus(lastTrackedSnapshot)) {
             updateButtonStates();
             
             // Update scheduler status with pause information
@@ -369,23 +371,16 @@ public class SchedulerPanel extends PluginPanel {
             String statusTooltip = currentState.getDescription();
             
             // Add pause indicator to status if any plugins are paused
-            if (plugin.anyPluginEntryPaused()) {
-                List<PluginScheduleEntry> pausedPlugins = plugin.getScheduledPlugins().stream()
-                    .filter(PluginScheduleEntry::isPaused)
-                    .collect(Collectors.toList());
-                    
-                if (!pausedPlugins.isEmpty()) {
-                    statusText += " (" + pausedPlugins.size() + " paused)";
-                    statusTooltip = createAllPausedPluginsTooltip();
-                }
+            if (snapshot.getPausedPluginCount() > 0) {
+                statusText += " (" + snapshot.getPausedPluginCount() + " paused)";
+                statusTooltip = createAllPausedPluginsTooltip();
             }
             
             schedulerStatusLabel.setText(statusText);
             schedulerStatusLabel.setForeground(currentState.getColor());
             schedulerStatusLabel.setToolTipText(statusTooltip);
-            
-            lastTrackedState = currentState;
         }
+        lastTrackedSnapshot = snapshot;
     }
       
     /**
@@ -607,7 +602,7 @@ public class SchedulerPanel extends PluginPanel {
     }
     
     void updateNextPluginInfo() {
-        PluginScheduleEntry nextUpComingPlugin = plugin.getUpComingPlugin();
+        PluginScheduleEntry nextUpComingPlugin = plugin.getSnapshot().getUpComingPlugin();
 
         if (nextUpComingPlugin != null) {
             // Set the plugin name
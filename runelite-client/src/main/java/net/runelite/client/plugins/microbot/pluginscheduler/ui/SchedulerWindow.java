@@ -253,10 +253,10 @@ public class SchedulerWindow extends JFrame implements ConditionUpdateCallback {
                     );
                     
                     if (result == JOptionPane.YES_OPTION) {
-                        plugin.continuePendingStart(selected);
+                        plugin.runOnSchedulerThread(() -> plugin.continuePendingStart(selected));
                     } else {
                         // User decided not to start - reset state
-                        plugin.resetPendingStart();
+                        plugin.runOnSchedulerThread(plugin::resetPendingStart);
                     }
                 }
             }
@@ -864,7 +864,7 @@ public class SchedulerWindow extends JFrame implements ConditionUpdateCallback {
             plugin.getCurrentPlugin().equals(selectedPlugin) && 
             selectedPlugin.isRunning()) {
 
-            plugin.forceStopCurrentPluginScheduleEntry(false);
+            plugin.runOnSchedulerThread(() -> plugin.forceStopCurrentPluginScheduleEntry(false));
         }
         
         // Remove from schedule
@@ -60,6 +60,20 @@ public class DebugOverlayPanel extends OverlayPanel {
 
         components.add(separator);
 
+        components.add(makeLine("Algorithm:", String.valueOf(stats.getAlgorithm())));
+
+        if (stats.isCacheHit()) {
+            components.add(makeLine("Cached:", "Yes"));
+        }
+
+        String expanded = Integer.toString(stats.getNodesExpanded());
+        components.add(makeLine("Expanded:", expanded));
+
+        if (stats.getAlgorithm() == PathfinderAlgorithm.HIERARCHICAL) {
+            String corridor = Integer.toString(stats.getCorridorRegions());
+            components.add(makeLine("Corridor:", corridor));
+        }
+
         String nodes = Integer.toString(stats.getNodesChecked());
         components.add(makeLine("Nodes:", nodes));
 
@@ -624,4 +624,31 @@ public interface ShortestPathConfig extends Config {
     default int maxSimilarTransportDistance() {
         return 0;
     }
+
+    @ConfigItem(
+            keyName = "pathfinderAlgorithm",
+            name = "Search algorithm",
+            description = "The search used to calculate paths.<br>" +
+                    "A* expands far fewer tiles on long routes by searching towards the target first, " +
+                    "while still taking teleports and transports into account.<br>" +
+                    "Hierarchical first plans a route between map regions and only searches the regions on that route.",
+            position = 6,
+            section = sectionAdvanced
+    )
+    default PathfinderAlgorithm pathfinderAlgorithm() {
+        return PathfinderAlgorithm.BREADTH_FIRST;
+    }
+
+    @ConfigItem(
+            keyName = "usePathCache",
+            name = "Cache paths",
+            description = "Whether to remember calculated paths between sessions, so routes that are walked again " +
+                    "don't have to be calculated again.<br>" +
+                    "Cached paths are only used while the same transports and teleports are available.",
+            position = 7,
+            section = sectionAdvanced
+    )
+    default boolean usePathCache() {
+        return true;
+    }
 }
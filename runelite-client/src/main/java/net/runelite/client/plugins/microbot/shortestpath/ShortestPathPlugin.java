@@ -28,12 +28,17 @@ import lombok.Setter;
 import net.runelite.api.Point;
 import net.runelite.api.*;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
+import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.events.MenuEntryAdded;
 import net.runelite.api.events.MenuOpened;
+import net.runelite.api.events.StatChanged;
+import net.runelite.api.events.VarbitChanged;
 import net.runelite.api.widgets.ComponentID;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.worldmap.WorldMap;
+import net.runelite.client.RuneLite;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
@@ -46,8 +51,10 @@ import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.CollisionMap;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathCache;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.Pathfinder;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathfinderConfig;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathfindingService;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.SplitFlagMap;
 import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 import net.runelite.client.plugins.microbot.util.tile.Rs2Tile;
@@ -66,6 +73,7 @@ import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.geom.Ellipse2D;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.util.List;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
@@ -94,6 +102,8 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
     private static final String START = ColorUtil.wrapWithColorTag("Start", JagexColors.MENU_TARGET);
     private static final String TARGET = ColorUtil.wrapWithColorTag("Target", JagexColors.MENU_TARGET);
     private static final String TEST = ColorUtil.wrapWithColorTag("Test Target", JagexColors.MENU_TARGET);
+    private static final File PATH_CACHE_FILE = new File(RuneLite.RUNELITE_DIR, "microbot-plugins/shortestpath/path-cache.dat");
+    private static final int PATH_CACHE_SIZE = 2048;
 
     public static final BufferedImage MARKER_IMAGE = ImageUtil.loadImageResource(ShortestPathPlugin.class, "marker.png");
 
@@ -189,6 +199,9 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
     public static volatile Pathfinder pathfinder;
     @Getter
     public static PathfinderConfig pathfinderConfig;
+    // Runs searches requested by scripts in parallel, separately from the search for the displayed path
+    @Getter
+    public static PathfindingService pathfindingService;
     @Getter
     @Setter
     public static boolean startPointSet = false;
@@ -209,6 +222,11 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
 
         List<Restriction> restrictions = Restriction.loadAllFromResources();
         pathfinderConfig = new PathfinderConfig(map, transports, restrictions, client, config);
+        pathfindingService = new PathfindingService(pathfinderConfig,
+                Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)), 64);
+        if (config.usePathCache()) {
+            pathfinderConfig.setPathCache(new PathCache(PATH_CACHE_FILE, PATH_CACHE_SIZE, pathfinderConfig.getCollisionChecksum()));
+        }
 
         panel = injector.getInstance(ShortestPathPanel.class);
         pohPanel = new PohPanel(config);
@@ -261,6 +279,13 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
 
     @Override
     protected void shutDown() {
+        if (pathfindingService != null) {
+            pathfindingService.shutdown();
+            pathfindingService = null;
+        }
+        if (pathfinderConfig != null && pathfinderConfig.getPathCache() != null) {
+            pathfinderConfig.getPathCache().save();
+        }
         overlayManager.remove(pathOverlay);
         overlayManager.remove(pathMinimapOverlay);
         overlayManager.remove(pathMapOverlay);
@@ -353,7 +378,7 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
         return false;
     }
 
-    private final Pattern TRANSPORT_OPTIONS_REGEX = Pattern.compile("^(avoidWilderness|use\\w+|useTeleportationItems)$");
+    private final Pattern TRANSPORT_OPTIONS_REGEX = Pattern.compile("^(avoidWilderness|use\\w+|useTeleportationItems|pathfinderAlgorithm)$");
 
     @Subscribe
     public void onConfigChanged(ConfigChanged event) {
@@ -373,6 +398,17 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
             return;
         }
 
+        if ("usePathCache".equals(event.getKey())) {
+            PathCache pathCache = pathfinderConfig.getPathCache();
+            if (config.usePathCache() && pathCache == null) {
+                pathfinderConfig.setPathCache(new PathCache(PATH_CACHE_FILE, PATH_CACHE_SIZE, pathfinderConfig.getCollisionChecksum()));
+            } else if (!config.usePathCache() && pathCache != null) {
+                pathCache.save();
+                pathfinderConfig.setPathCache(null);
+            }
+            return;
+        }
+
         if ("showETA".equals(event.getKey())) {
             if (config.showETA()) {
                 overlayManager.add(etaOverlayPanel);
@@ -513,6 +549,40 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
         }
     }
 
+    // The pathfinder config only checks the requirements of a transport again after something it depends on changed
+
+    @Subscribe
+    public void onVarbitChanged(VarbitChanged event) {
+        final PathfinderConfig config = pathfinderConfig;
+        if (config != null) {
+            config.onVarbitChanged(event);
+        }
+    }
+
+    @Subscribe
+    public void onStatChanged(StatChanged event) {
+        final PathfinderConfig config = pathfinderConfig;
+        if (config != null) {
+            config.onStatChanged(event);
+        }
+    }
+
+    @Subscribe
+    public void onItemContainerChanged(ItemContainerChanged event) {
+        final PathfinderConfig config = pathfinderConfig;
+        if (config != null) {
+            config.onItemContainerChanged(event);
+        }
+    }
+
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged event) {
+        final PathfinderConfig config = pathfinderConfig;
+        if (config != null && (event.getGameState() == GameState.LOGIN_SCREEN || event.getGameState() == GameState.HOPPING)) {
+            config.invalidateTransports();
+        }
+    }
+
     @Subscribe
     public void onMenuEntryAdded(MenuEntryAdded event) {
         if (client.isKeyPressed(KeyCode.KC_SHIFT)
@@ -633,6 +703,19 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
 		return defaultValue;
 	}
 
+	public static PathfinderAlgorithm override(String configOverrideKey, PathfinderAlgorithm defaultValue) {
+		if (!configOverride.isEmpty()) {
+			Object value = configOverride.get(configOverrideKey);
+			if (value instanceof String) {
+				PathfinderAlgorithm algorithm = PathfinderAlgorithm.fromType((String) value);
+				if (algorithm != null) {
+					return algorithm;
+				}
+			}
+		}
+		return defaultValue;
+	}
+
 	private TileCounter override(String configOverrideKey, TileCounter defaultValue) {
 		if (!configOverride.isEmpty()) {
 			Object value = configOverride.get(configOverrideKey);
@@ -2,6 +2,7 @@ package net.runelite.client.plugins.microbot.shortestpath;
 
 import lombok.Getter;
 import lombok.Setter;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Quest;
 import net.runelite.api.QuestState;
@@ -12,6 +13,7 @@ import net.runelite.client.plugins.microbot.Microbot;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.BiConsumer;
 
 /**
  * This class represents a travel point between two WorldPoints.
@@ -32,6 +34,32 @@ public class Transport {
      */
     private static final WorldPoint LOCATION_PERMUTATION = new WorldPoint(-1, -1, -1);
 
+    /**
+     * The resources transports are loaded from. These are the source of truth; the build compiles them into a
+     * {@link TransportTable} that is loaded instead while it matches them.
+     */
+    static final List<TransportResource> RESOURCES = List.of(
+            new TransportResource("transports.tsv", TransportType.TRANSPORT, 0),
+            new TransportResource("agility_shortcuts.tsv", TransportType.AGILITY_SHORTCUT, 0),
+            new TransportResource("boats.tsv", TransportType.BOAT, 0),
+            new TransportResource("canoes.tsv", TransportType.CANOE, 0),
+            new TransportResource("charter_ships.tsv", TransportType.CHARTER_SHIP, 0),
+            new TransportResource("ships.tsv", TransportType.SHIP, 0),
+            new TransportResource("fairy_rings.tsv", TransportType.FAIRY_RING, 0),
+            new TransportResource("gnome_gliders.tsv", TransportType.GNOME_GLIDER, 6),
+            new TransportResource("minecarts.tsv", TransportType.MINECART, 0),
+            new TransportResource("spirit_trees.tsv", TransportType.SPIRIT_TREE, 5),
+            new TransportResource("quetzals.tsv", TransportType.QUETZAL, 6),
+            new TransportResource("teleportation_items.tsv", TransportType.TELEPORTATION_ITEM, 0),
+            new TransportResource("teleportation_minigames.tsv", TransportType.TELEPORTATION_MINIGAME, 0),
+            new TransportResource("teleportation_levers.tsv", TransportType.TELEPORTATION_LEVER, 0),
+            new TransportResource("teleportation_portals.tsv", TransportType.TELEPORTATION_PORTAL, 0),
+            new TransportResource("teleportation_spells.tsv", TransportType.TELEPORTATION_SPELL, 0),
+            new TransportResource("wilderness_obelisks.tsv", TransportType.WILDERNESS_OBELISK, 0),
+            new TransportResource("magic_carpets.tsv", TransportType.MAGIC_CARPET, 0),
+            new TransportResource("npcs.tsv", TransportType.NPC, 0)
+    );
+
     /**
      * The starting point of this transport
      */
@@ -48,7 +76,7 @@ public class Transport {
      * The skill levels required to use this transport
      */
     @Getter
-    private final int[] skillLevels = new int[Skill.values().length];
+    private int[] skillLevels = new int[Skill.values().length];
 
     /**
      * The quests required to use this transport
@@ -100,13 +128,13 @@ public class Transport {
      * Any varbits to check for the transport to be valid. All must pass for a transport to be valid
      */
     @Getter
-    private final Set<TransportVarbit> varbits = new HashSet<>();
+    private Set<TransportVarbit> varbits = new HashSet<>();
 
     /**
      * Any varplayers to check for the transport to be valid. All must pass for a transport to be valid
      */
     @Getter
-    private final Set<TransportVarPlayer> varplayers = new HashSet<>();
+    private Set<TransportVarPlayer> varplayers = new HashSet<>();
 
     @Getter
     private String currencyName = "";
@@ -216,6 +244,34 @@ public class Transport {
         }
     }
 
+    /**
+     * Transport constructor for {@link TransportTable}, which shares equal requirements between transports
+     */
+    Transport(WorldPoint origin, WorldPoint destination, TransportType type, String displayInfo, int duration,
+              boolean isConsumable, boolean isMembers, int maxWildernessLevel,
+              String action, String name, int objectId, String currencyName, int currencyAmount,
+              int[] skillLevels, Map<Quest, QuestState> quests, Set<Set<Integer>> itemIdRequirements,
+              Set<TransportVarbit> varbits, Set<TransportVarPlayer> varplayers) {
+        this.origin = origin;
+        this.destination = destination;
+        this.type = type;
+        this.displayInfo = displayInfo;
+        this.duration = duration;
+        this.isConsumable = isConsumable;
+        this.isMembers = isMembers;
+        this.maxWildernessLevel = maxWildernessLevel;
+        this.action = action;
+        this.name = name;
+        this.objectId = objectId;
+        this.currencyName = currencyName;
+        this.currencyAmount = currencyAmount;
+        this.skillLevels = skillLevels;
+        this.quests = quests;
+        this.itemIdRequirements = itemIdRequirements;
+        this.varbits = varbits;
+        this.varplayers = varplayers;
+    }
+
     Transport(Map<String, String> fieldMap, TransportType transportType) {
         final String DELIM = " ";
         final String DELIM_MULTI = ";";
@@ -456,17 +512,21 @@ public class Transport {
 		return questStateMap;
 	}
 
-    private static void addTransports(Map<WorldPoint, Set<Transport>> transports, String path, TransportType transportType) {
-        addTransports(transports, path, transportType, 0);
-    }
-
-    private static void addTransports(Map<WorldPoint, Set<Transport>> transports, String path, TransportType transportType, int radiusThreshold) {
+    /**
+     * @param rowValidator called with the location and fields of each row before it is parsed, or null
+     */
+    private static void addTransports(Map<WorldPoint, Set<Transport>> transports, TransportResource resource,
+                                      BiConsumer<String, Map<String, String>> rowValidator) {
         final String DELIM_COLUMN = "\t";
         final String PREFIX_COMMENT = "#";
+        final String path = resource.getPath();
+        final TransportType transportType = resource.getType();
+        final int radiusThreshold = resource.getRadiusThreshold();
 
         try {
-            String s = new String(Util.readAllBytes(ShortestPathPlugin.class.getResourceAsStream(path)), StandardCharsets.UTF_8);
+            String s = new String(Util.readAllBytes(Transport.class.getResourceAsStream(path)), StandardCharsets.UTF_8);
             Scanner scanner = new Scanner(s);
+            int lineNumber = 1;
 
             // Header line is the first line in the file and will start with either '#' or '# '
             String headerLine = scanner.nextLine();
@@ -478,6 +538,7 @@ public class Transport {
 
             while (scanner.hasNextLine()) {
                 String line = scanner.nextLine();
+                lineNumber++;
 
                 if (line.startsWith(PREFIX_COMMENT) || line.isBlank()) {
                     continue;
@@ -492,7 +553,16 @@ public class Transport {
                 }
 
 
-                Transport transport = new Transport(fieldMap, transportType);
+                if (rowValidator != null) {
+                    rowValidator.accept(path + ":" + lineNumber, fieldMap);
+                }
+
+                Transport transport;
+                try {
+                    transport = new Transport(fieldMap, transportType);
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Invalid transport at " + path + ":" + lineNumber, e);
+                }
 
                 newTransports.add(transport);
 
@@ -555,30 +625,37 @@ public class Transport {
     }
 
     public static HashMap<WorldPoint, Set<Transport>> loadAllFromResources() {
-        HashMap<WorldPoint, Set<Transport>> transports = new HashMap<>();
-        addTransports(transports, "transports.tsv", TransportType.TRANSPORT);
-        addTransports(transports, "agility_shortcuts.tsv", TransportType.AGILITY_SHORTCUT);
-        addTransports(transports, "boats.tsv", TransportType.BOAT);
-        addTransports(transports, "canoes.tsv", TransportType.CANOE);
-        addTransports(transports, "charter_ships.tsv", TransportType.CHARTER_SHIP);
-        addTransports(transports, "ships.tsv", TransportType.SHIP);
-        addTransports(transports, "fairy_rings.tsv", TransportType.FAIRY_RING);
-        addTransports(transports, "gnome_gliders.tsv", TransportType.GNOME_GLIDER, 6);
-        addTransports(transports, "minecarts.tsv", TransportType.MINECART);
-        addTransports(transports, "spirit_trees.tsv", TransportType.SPIRIT_TREE, 5);
-        addTransports(transports, "quetzals.tsv", TransportType.QUETZAL, 6);
-        addTransports(transports, "teleportation_items.tsv", TransportType.TELEPORTATION_ITEM);
-        addTransports(transports, "teleportation_minigames.tsv", TransportType.TELEPORTATION_MINIGAME);
-        addTransports(transports, "teleportation_levers.tsv", TransportType.TELEPORTATION_LEVER);
-        addTransports(transports, "teleportation_portals.tsv", TransportType.TELEPORTATION_PORTAL);
-        addTransports(transports, "teleportation_spells.tsv", TransportType.TELEPORTATION_SPELL);
-        addTransports(transports, "wilderness_obelisks.tsv", TransportType.WILDERNESS_OBELISK);
-        addTransports(transports, "magic_carpets.tsv", TransportType.MAGIC_CARPET);
-        addTransports(transports, "npcs.tsv", TransportType.NPC);
+        HashMap<WorldPoint, Set<Transport>> transports = TransportTable.load();
+        if (transports == null) {
+            transports = parseResources(null);
+        }
         System.out.println("Loaded " + transports.size() + " transports");
         return transports;
     }
 
+    /**
+     * Parses the transports from the TSV resources.
+     *
+     * @param rowValidator called with the location and fields of each row before it is parsed, or null
+     */
+    static HashMap<WorldPoint, Set<Transport>> parseResources(BiConsumer<String, Map<String, String>> rowValidator) {
+        HashMap<WorldPoint, Set<Transport>> transports = new HashMap<>();
+        for (TransportResource resource : RESOURCES) {
+            addTransports(transports, resource, rowValidator);
+        }
+        return transports;
+    }
+
+    @Value
+    static class TransportResource {
+        String path;
+        TransportType type;
+        /**
+         * Permutations with an origin and destination this close together are skipped
+         */
+        int radiusThreshold;
+    }
+
     // To string method for debugging
     @Override
     public String toString() {
@@ -0,0 +1,380 @@
+package net.runelite.client.plugins.microbot.shortestpath;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Quest;
+import net.runelite.api.QuestState;
+import net.runelite.api.Skill;
+import net.runelite.api.coords.WorldPoint;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * The transports of the TSV resources compiled into a binary table, so the plugin doesn't have to parse the TSVs
+ * every time it starts.
+ * <p>
+ * The table is written by {@link #main} during the build. It holds the transports after permutations like fairy rings
+ * have been expanded, with their points packed, their strings in a string table, and their requirements stored once
+ * for each distinct set of requirements; transports with the same requirements share the same collections when
+ * loaded. The TSVs stay the source of truth: the table records a checksum of them, and {@link #load} returns null so
+ * the TSVs are parsed when the table is missing or was compiled from different TSVs.
+ */
+@Slf4j
+public class TransportTable {
+    static final String RESOURCE = "transports.bin";
+
+    private static final int MAGIC = 0x4D425454; // MBTT
+    private static final int VERSION = 1;
+
+    private static final int FLAG_CONSUMABLE = 1;
+    private static final int FLAG_MEMBERS = 2;
+
+    private static final Pattern MENU_PATTERN = Pattern.compile("^([^;]+);([^;]+);(\\d+)$");
+
+    /**
+     * Validates and compiles the TSV resources into a table.
+     *
+     * @param args the file to write the table to
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: TransportTable <output file>");
+            System.exit(1);
+        }
+
+        List<String> warnings = new ArrayList<>();
+        Map<WorldPoint, Set<Transport>> transports = Transport.parseResources((location, fields) -> validate(location, fields, warnings));
+        for (String warning : warnings) {
+            System.out.println("[WARNING] " + warning);
+        }
+
+        File out = new File(args[0]);
+        out.getParentFile().mkdirs();
+        byte[] table = write(transports, checksum());
+        Files.write(out.toPath(), table);
+        System.out.println("Compiled " + transports.values().stream().mapToInt(Set::size).sum() + " transports into "
+                + out + " (" + table.length + " bytes)");
+    }
+
+    /**
+     * Loads the compiled transports.
+     *
+     * @return the transports by origin, or null if there's no table or it doesn't match the TSV resources
+     */
+    static HashMap<WorldPoint, Set<Transport>> load() {
+        try (InputStream in = TransportTable.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                log.debug("No compiled transport table, parsing the transport resources");
+                return null;
+            }
+            return read(Util.readAllBytes(in), checksum());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to load the compiled transport table, parsing the transport resources", e);
+            return null;
+        }
+    }
+
+    /**
+     * A checksum of the TSV resources and how they are loaded.
+     */
+    static long checksum() throws IOException {
+        CRC32 crc = new CRC32();
+        for (Transport.TransportResource resource : Transport.RESOURCES) {
+            crc.update((resource.getPath() + '\0' + resource.getType().name() + '\0' + resource.getRadiusThreshold())
+                    .getBytes(StandardCharsets.UTF_8));
+            try (InputStream in = Transport.class.getResourceAsStream(resource.getPath())) {
+                if (in == null) {
+                    throw new IOException("Missing transport resource " + resource.getPath());
+                }
+                crc.update(Util.readAllBytes(in));
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Checks the names in a row, which the parser silently ignores when they don't match anything.
+     */
+    private static void validate(String location, Map<String, String> fields, List<String> warnings) {
+        String value;
+        if ((value = fields.get("Skills")) != null && !value.trim().isEmpty()) {
+            for (String requirement : value.split(";")) {
+                String[] levelAndSkill = requirement.split(" ");
+                if (levelAndSkill.length >= 2 && Arrays.stream(Skill.values()).noneMatch(skill -> skill.getName().equals(levelAndSkill[1]))) {
+                    warnings.add(location + ": unknown skill '" + levelAndSkill[1] + "'");
+                }
+            }
+        }
+        if ((value = fields.get("Quests")) != null && !value.trim().isEmpty()) {
+            for (String entry : value.split(";")) {
+                String questName = entry.split("=")[0].trim();
+                if (Arrays.stream(Quest.values()).noneMatch(quest -> quest.getName().equalsIgnoreCase(questName))) {
+                    warnings.add(location + ": unknown quest '" + questName + "'");
+                }
+            }
+        }
+        if ((value = fields.get("menuOption menuTarget objectID")) != null && !value.trim().isEmpty()
+                && !MENU_PATTERN.matcher(value.trim()).matches()) {
+            warnings.add(location + ": invalid menu option, target and object id '" + value + "'");
+        }
+    }
+
+    static byte[] write(Map<WorldPoint, Set<Transport>> transports, long checksum) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        Map<ByteBuffer, Integer> requirements = new LinkedHashMap<>();
+
+        ByteArrayOutputStream transportBytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(transportBytes);
+        int count = 0;
+        for (Set<Transport> origin : transports.values()) {
+            for (Transport transport : origin) {
+                out.writeInt(WorldPointUtil.packWorldPoint(transport.getOrigin()));
+                out.writeInt(WorldPointUtil.packWorldPoint(transport.getDestination()));
+                out.writeByte(transport.getType().ordinal());
+                out.writeByte((transport.isConsumable() ? FLAG_CONSUMABLE : 0) | (transport.isMembers() ? FLAG_MEMBERS : 0));
+                out.writeInt(transport.getDuration());
+                out.writeInt(transport.getMaxWildernessLevel());
+                out.writeInt(string(strings, transport.getDisplayInfo()));
+                out.writeInt(string(strings, transport.getAction()));
+                out.writeInt(string(strings, transport.getName()));
+                out.writeInt(transport.getObjectId());
+                out.writeInt(string(strings, transport.getCurrencyName()));
+                out.writeInt(transport.getCurrencyAmount());
+                out.writeInt(requirements.computeIfAbsent(ByteBuffer.wrap(writeRequirements(transport)), k -> requirements.size()));
+                count++;
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream table = new DataOutputStream(bytes);
+        table.writeInt(MAGIC);
+        table.writeInt(VERSION);
+        table.writeLong(checksum);
+        table.writeInt(strings.size());
+        for (String string : strings.keySet()) {
+            table.writeUTF(string);
+        }
+        table.writeInt(requirements.size());
+        for (ByteBuffer requirement : requirements.keySet()) {
+            table.write(requirement.array());
+        }
+        table.writeInt(count);
+        transportBytes.writeTo(table);
+        table.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes the requirements of the transport in a canonical order, so equal requirements are written the same.
+     */
+    private static byte[] writeRequirements(Transport transport) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        int[] skillLevels = transport.getSkillLevels();
+        out.writeByte((int) Arrays.stream(skillLevels).filter(level -> level > 0).count());
+        for (int i = 0; i < skillLevels.length; i++) {
+            if (skillLevels[i] > 0) {
+                out.writeByte(i);
+                out.writeShort(skillLevels[i]);
+            }
+        }
+
+        List<Map.Entry<Quest, QuestState>> quests = new ArrayList<>(transport.getQuests().entrySet());
+        quests.sort(Comparator.comparingInt(entry -> entry.getKey().ordinal()));
+        out.writeShort(quests.size());
+        for (Map.Entry<Quest, QuestState> entry : quests) {
+            out.writeShort(entry.getKey().ordinal());
+            out.writeByte(entry.getValue().ordinal());
+        }
+
+        List<int[]> itemIds = new ArrayList<>();
+        for (Set<Integer> alternatives : transport.getItemIdRequirements()) {
+            int[] ids = alternatives.stream().mapToInt(Integer::intValue).sorted().toArray();
+            itemIds.add(ids);
+        }
+        itemIds.sort(Arrays::compare);
+        out.writeShort(itemIds.size());
+        for (int[] ids : itemIds) {
+            out.writeShort(ids.length);
+            for (int id : ids) {
+                out.writeInt(id);
+            }
+        }
+
+        List<TransportVarbit> varbits = new ArrayList<>(transport.getVarbits());
+        varbits.sort(Comparator.comparingInt(TransportVarbit::getVarbitId)
+                .thenComparingInt(TransportVarbit::getValue)
+                .thenComparing(TransportVarbit::getOperator));
+        out.writeShort(varbits.size());
+        for (TransportVarbit varbit : varbits) {
+            out.writeInt(varbit.getVarbitId());
+            out.writeInt(varbit.getValue());
+            out.writeByte(varbit.getOperator().ordinal());
+        }
+
+        List<TransportVarPlayer> varplayers = new ArrayList<>(transport.getVarplayers());
+        varplayers.sort(Comparator.comparingInt(TransportVarPlayer::getVarplayerId)
+                .thenComparingInt(TransportVarPlayer::getValue)
+                .thenComparing(TransportVarPlayer::getOperator));
+        out.writeShort(varplayers.size());
+        for (TransportVarPlayer varplayer : varplayers) {
+            out.writeInt(varplayer.getVarplayerId());
+            out.writeInt(varplayer.getValue());
+            out.writeByte(varplayer.getOperator().ordinal());
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static int string(Map<String, Integer> strings, String string) {
+        return string == null ? -1 : strings.computeIfAbsent(string, k -> strings.size());
+    }
+
+    /**
+     * @return the transports by origin, or null if the table was compiled from different resources
+     */
+    static HashMap<WorldPoint, Set<Transport>> read(byte[] table, long checksum) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(table));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            log.debug("Compiled transport table has an unknown format");
+            return null;
+        }
+        if (in.readLong() != checksum) {
+            log.debug("Compiled transport table is out of date");
+            return null;
+        }
+
+        String[] strings = new String[in.readInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.readUTF();
+        }
+
+        Requirements[] requirements = new Requirements[in.readInt()];
+        for (int i = 0; i < requirements.length; i++) {
+            requirements[i] = readRequirements(in);
+        }
+
+        final TransportType[] types = TransportType.values();
+        final Map<Integer, WorldPoint> points = new HashMap<>();
+        final int count = in.readInt();
+        HashMap<WorldPoint, Set<Transport>> transports = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            WorldPoint origin = point(points, in.readInt());
+            WorldPoint destination = point(points, in.readInt());
+            TransportType type = types[in.readUnsignedByte()];
+            int flags = in.readUnsignedByte();
+            int duration = in.readInt();
+            int maxWildernessLevel = in.readInt();
+            String displayInfo = string(strings, in.readInt());
+            String action = string(strings, in.readInt());
+            String name = string(strings, in.readInt());
+            int objectId = in.readInt();
+            String currencyName = string(strings, in.readInt());
+            int currencyAmount = in.readInt();
+            Requirements requirement = requirements[in.readInt()];
+
+            Transport transport = new Transport(origin, destination, type, displayInfo, duration,
+                    (flags & FLAG_CONSUMABLE) != 0, (flags & FLAG_MEMBERS) != 0, maxWildernessLevel,
+                    action, name, objectId, currencyName, currencyAmount,
+                    requirement.skillLevels, requirement.quests, requirement.itemIdRequirements,
+                    requirement.varbits, requirement.varplayers);
+            transports.computeIfAbsent(origin, k -> new HashSet<>()).add(transport);
+        }
+        return transports;
+    }
+
+    private static Requirements readRequirements(DataInputStream in) throws IOException {
+        final Quest[] questValues = Quest.values();
+        final QuestState[] questStates = QuestState.values();
+        final TransportVarbit.Operator[] varbitOperators = TransportVarbit.Operator.values();
+        final TransportVarPlayer.Operator[] varplayerOperators = TransportVarPlayer.Operator.values();
+
+        int[] skillLevels = new int[Skill.values().length];
+        for (int i = in.readUnsignedByte(); i > 0; i--) {
+            int skill = in.readUnsignedByte();
+            skillLevels[skill] = in.readUnsignedShort();
+        }
+
+        Map<Quest, QuestState> quests = new HashMap<>();
+        for (int i = in.readUnsignedShort(); i > 0; i--) {
+            Quest quest = questValues[in.readUnsignedShort()];
+            quests.put(quest, questStates[in.readUnsignedByte()]);
+        }
+
+        Set<Set<Integer>> itemIdRequirements = new HashSet<>();
+        for (int i = in.readUnsignedShort(); i > 0; i--) {
+            Set<Integer> alternatives = new HashSet<>();
+            for (int j = in.readUnsignedShort(); j > 0; j--) {
+                alternatives.add(in.readInt());
+            }
+            itemIdRequirements.add(Collections.unmodifiableSet(alternatives));
+        }
+
+        Set<TransportVarbit> varbits = new HashSet<>();
+        for (int i = in.readUnsignedShort(); i > 0; i--) {
+            int varbitId = in.readInt();
+            int value = in.readInt();
+            varbits.add(new TransportVarbit(varbitId, value, varbitOperators[in.readUnsignedByte()]));
+        }
+
+        Set<TransportVarPlayer> varplayers = new HashSet<>();
+        for (int i = in.readUnsignedShort(); i > 0; i--) {
+            int varplayerId = in.readInt();
+            int value = in.readInt();
+            varplayers.add(new TransportVarPlayer(varplayerId, value, varplayerOperators[in.readUnsignedByte()]));
+        }
+
+        return new Requirements(skillLevels, Collections.unmodifiableMap(quests), Collections.unmodifiableSet(itemIdRequirements),
+                Collections.unmodifiableSet(varbits), Collections.unmodifiableSet(varplayers));
+    }
+
+    private static WorldPoint point(Map<Integer, WorldPoint> points, int packed) {
+        if (packed == WorldPointUtil.UNDEFINED) {
+            return null;
+        }
+        return points.computeIfAbsent(packed, WorldPointUtil::unpackWorldPoint);
+    }
+
+    private static String string(String[] strings, int index) {
+        return index < 0 ? null : strings[index];
+    }
+
+    private static final class Requirements {
+        private final int[] skillLevels;
+        private final Map<Quest, QuestState> quests;
+        private final Set<Set<Integer>> itemIdRequirements;
+        private final Set<TransportVarbit> varbits;
+        private final Set<TransportVarPlayer> varplayers;
+
+        private Requirements(int[] skillLevels, Map<Quest, QuestState> quests, Set<Set<Integer>> itemIdRequirements,
+                             Set<TransportVarbit> varbits, Set<TransportVarPlayer> varplayers) {
+            this.skillLevels = skillLevels;
+            this.quests = quests;
+            this.itemIdRequirements = itemIdRequirements;
+            this.varbits = varbits;
+            this.varplayers = varplayers;
+        }
+    }
+}
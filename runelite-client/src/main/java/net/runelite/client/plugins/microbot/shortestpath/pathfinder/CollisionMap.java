@@ -67,6 +67,43 @@ public class CollisionMap {
         return !n(x, y, z) && !s(x, y, z) && !e(x, y, z) && !w(x, y, z);
     }
 
+    /**
+     * Returns a bitmask of the directions that can be walked in from the tile, where bit {@code i} is set when
+     * {@code OrdinalDirection.values()[i]} is walkable. Tiles that are blocked in every direction (e.g. the tile a
+     * transport lands on) can be walked out of towards any tile that isn't blocked itself.
+     */
+    public int walkableDirections(int x, int y, int z) {
+        int walkable = 0;
+        if (isBlocked(x, y, z)) {
+            boolean westBlocked = isBlocked(x - 1, y, z);
+            boolean eastBlocked = isBlocked(x + 1, y, z);
+            boolean southBlocked = isBlocked(x, y - 1, z);
+            boolean northBlocked = isBlocked(x, y + 1, z);
+            boolean southWestBlocked = isBlocked(x - 1, y - 1, z);
+            boolean southEastBlocked = isBlocked(x + 1, y - 1, z);
+            boolean northWestBlocked = isBlocked(x - 1, y + 1, z);
+            boolean northEastBlocked = isBlocked(x + 1, y + 1, z);
+            walkable |= !westBlocked ? 1 : 0;
+            walkable |= !eastBlocked ? 1 << 1 : 0;
+            walkable |= !southBlocked ? 1 << 2 : 0;
+            walkable |= !northBlocked ? 1 << 3 : 0;
+            walkable |= !southWestBlocked && !westBlocked && !southBlocked ? 1 << 4 : 0;
+            walkable |= !southEastBlocked && !eastBlocked && !southBlocked ? 1 << 5 : 0;
+            walkable |= !northWestBlocked && !westBlocked && !northBlocked ? 1 << 6 : 0;
+            walkable |= !northEastBlocked && !eastBlocked && !northBlocked ? 1 << 7 : 0;
+        } else {
+            walkable |= w(x, y, z) ? 1 : 0;
+            walkable |= e(x, y, z) ? 1 << 1 : 0;
+            walkable |= s(x, y, z) ? 1 << 2 : 0;
+            walkable |= n(x, y, z) ? 1 << 3 : 0;
+            walkable |= sw(x, y, z) ? 1 << 4 : 0;
+            walkable |= se(x, y, z) ? 1 << 5 : 0;
+            walkable |= nw(x, y, z) ? 1 << 6 : 0;
+            walkable |= ne(x, y, z) ? 1 << 7 : 0;
+        }
+        return walkable;
+    }
+
     private static int packedPointFromOrdinal(int startPacked, OrdinalDirection direction) {
         final int x = WorldPointUtil.unpackWorldX(startPacked);
         final int y = WorldPointUtil.unpackWorldY(startPacked);
@@ -74,9 +111,11 @@ public class CollisionMap {
         return WorldPointUtil.packWorldPoint(x + direction.x, y + direction.y, plane);
     }
 
-    // This is only safe if pathfinding is single-threaded
-    private final List<Node> neighbors = new ArrayList<>(16);
-    private final boolean[] traversable = new boolean[8];
+    // Neighbours found by the last call to getNeighbors, transports first
+    // Searches don't share these, as each search has its own CollisionMap from the SearchNodes it was lent
+    private int[] neighborPositions = new int[16];
+    private int[] neighborCosts = new int[16];
+    private int transportNeighborCount;
 
     public static final List<WorldPoint> ignoreCollision = Arrays.asList(
             new WorldPoint(3142, 3457, 0),
@@ -99,67 +138,47 @@ public class CollisionMap {
             new WorldPoint(3672, 3862, 0)
     );
 
-    public List<Node> getNeighbors(Node node, VisitedTiles visited, PathfinderConfig config, Set<Integer> targets) {
-        final int x = WorldPointUtil.unpackWorldX(node.packedPosition);
-        final int y = WorldPointUtil.unpackWorldY(node.packedPosition);
-        final int z = WorldPointUtil.unpackWorldPlane(node.packedPosition);
-
-        neighbors.clear();
+    // Packed and sorted copy of ignoreCollision, so the hotpath doesn't have to create a WorldPoint per tile
+    private static final int[] IGNORE_COLLISION_PACKED = ignoreCollision.stream()
+            .mapToInt(WorldPointUtil::packWorldPoint)
+            .sorted()
+            .toArray();
 
-        Set<Transport> transports = config.getTransports().getOrDefault(WorldPointUtil.unpackWorldPoint(node.packedPosition), Collections.emptySet());
+    /**
+     * Finds the tiles that can be reached from the tile in one step, walking or by transport. The results can be read
+     * with {@link #getNeighborPosition} and {@link #getNeighborCost} until the next call.
+     *
+     * @param cost                  the cost of reaching the tile
+     * @param teleports             the teleports the search can use from the tile, or null
+     * @param avoidToaSequenceTiles whether to avoid the tiles of the sequence puzzle in the Tombs of Amascut
+     * @param targets               the sorted packed targets of the search
+     * @param ignoreTeleports       whether to leave teleports out, see {@link Pathfinder#setIgnoreTeleportAndItems}
+     * @return the number of neighbours found
+     */
+    public int getNeighbors(int packedPosition, int cost, VisitedTiles visited, PathfinderConfig config,
+                            Set<Transport> teleports, boolean avoidToaSequenceTiles, int[] targets,
+                            boolean ignoreTeleports) {
+        final int x = WorldPointUtil.unpackWorldX(packedPosition);
+        final int y = WorldPointUtil.unpackWorldY(packedPosition);
+        final int z = WorldPointUtil.unpackWorldPlane(packedPosition);
 
-        // Transports are pre-filtered by PathfinderConfig.refreshTransports
-        // Thus any transports in the list are guaranteed to be valid per the user's settings
-        for (Transport transport : transports) {
-            //START microbot variables
-            if (visited.get(transport.getDestination())) continue;
+        final Set<Transport> excluded = config.getExcludedTransports();
+        int count = addTransports(0, packedPosition, config.getTransportsPacked().get(packedPosition), cost, visited,
+                config, excluded, ignoreTeleports);
+        count = addTransports(count, packedPosition, teleports, cost, visited, config, excluded, ignoreTeleports);
+        transportNeighborCount = count;
 
-            if (TransportType.isTeleport(transport.getType())) {
-                if (config.isIgnoreTeleportAndItems()) continue;
-                neighbors.add(new TransportNode(transport.getDestination(), node, config.getDistanceBeforeUsingTeleport() + transport.getDuration()));
-            } else {
-                neighbors.add(new TransportNode(transport.getDestination(), node, transport.getDuration()));
-            }
-            //END microbot variables
-        }
+        final int walkable = walkableDirections(x, y, z);
+        final boolean ignoresCollision = Arrays.binarySearch(IGNORE_COLLISION_PACKED, packedPosition) >= 0;
 
-        if (isBlocked(x, y, z)) {
-            boolean westBlocked = isBlocked(x - 1, y, z);
-            boolean eastBlocked = isBlocked(x + 1, y, z);
-            boolean southBlocked = isBlocked(x, y - 1, z);
-            boolean northBlocked = isBlocked(x, y + 1, z);
-            boolean southWestBlocked = isBlocked(x - 1, y - 1, z);
-            boolean southEastBlocked = isBlocked(x + 1, y - 1, z);
-            boolean northWestBlocked = isBlocked(x - 1, y + 1, z);
-            boolean northEastBlocked = isBlocked(x + 1, y + 1, z);
-            traversable[0] = !westBlocked;
-            traversable[1] = !eastBlocked;
-            traversable[2] = !southBlocked;
-            traversable[3] = !northBlocked;
-            traversable[4] = !southWestBlocked && !westBlocked && !southBlocked;
-            traversable[5] = !southEastBlocked && !eastBlocked && !southBlocked;
-            traversable[6] = !northWestBlocked && !westBlocked && !northBlocked;
-            traversable[7] = !northEastBlocked && !eastBlocked && !northBlocked;
-        } else {
-            traversable[0] = w(x, y, z);
-            traversable[1] = e(x, y, z);
-            traversable[2] = s(x, y, z);
-            traversable[3] = n(x, y, z);
-            traversable[4] = sw(x, y, z);
-            traversable[5] = se(x, y, z);
-            traversable[6] = nw(x, y, z);
-            traversable[7] = ne(x, y, z);
-        }
-
-        for (int i = 0; i < traversable.length; i++) {
+        for (int i = 0; i < ORDINAL_VALUES.length; i++) {
             OrdinalDirection d = ORDINAL_VALUES[i];
-            int neighborPacked = packedPointFromOrdinal(node.packedPosition, d);
+            int neighborPacked = packedPointFromOrdinal(packedPosition, d);
             if (visited.get(neighborPacked)) continue;
-            if (config.getRestrictedPointsPacked().contains(neighborPacked)) continue;
-            if (config.getCustomRestrictions().contains(neighborPacked)) continue;
+            if (config.isRestricted(neighborPacked)) continue;
 
-            if (ignoreCollision.contains(new WorldPoint(x, y, z))) {
-                neighbors.add(new Node(neighborPacked, node));
+            if (ignoresCollision) {
+                count = addNeighbor(count, neighborPacked, cost + 1);
                 continue;
             }
 
@@ -167,8 +186,8 @@ public class CollisionMap {
              * This piece of code is designed to allow web walker to be used in toa puzzle room
              * it will dodge specific tiles in the sequence room
              */
-            if (Rs2Player.getWorldLocation().getRegionID() == 14162) { //toa puzzle room
-                if (!targets.contains(neighborPacked)) {
+            if (avoidToaSequenceTiles) { //toa puzzle room
+                if (Arrays.binarySearch(targets, neighborPacked) < 0) {
                     WorldPoint globalWorldPoint = Rs2WorldPoint.convertInstancedWorldPoint(WorldPointUtil.unpackWorldPoint(neighborPacked));
                     if (globalWorldPoint != null) {
                         TileObject go = Rs2GameObject.getGroundObject(globalWorldPoint);
@@ -179,21 +198,87 @@ public class CollisionMap {
                 }
             }
 
-            if (traversable[i]) {
-                neighbors.add(new Node(neighborPacked, node));
+            if ((walkable & (1 << i)) != 0) {
+                count = addNeighbor(count, neighborPacked, cost + 1);
             } else if (Math.abs(d.x + d.y) == 1 && isBlocked(x + d.x, y + d.y, z)) {
                 // The transport starts from a blocked adjacent tile, e.g. fairy ring
                 // Only checks non-teleport transports (includes portals and levers, but not items and spells)
-                Set<Transport> neighborTransports = config.getTransports().getOrDefault(WorldPointUtil.unpackWorldPoint(neighborPacked), Collections.emptySet());
+                Set<Transport> neighborTransports = config.getTransportsPacked().get(neighborPacked);
+                if (neighborTransports == null) {
+                    continue;
+                }
                 for (Transport transport : neighborTransports) {
-                    if (transport.getOrigin() == null || visited.get(transport.getOrigin())) {
+                    if (transport.getOrigin() == null || visited.get(transport.getOrigin()) || excluded.contains(transport)) {
                         continue;
                     }
-                    neighbors.add(new Node(transport.getOrigin(), node));
+                    final int origin = WorldPointUtil.packWorldPoint(transport.getOrigin());
+                    count = addNeighbor(count, origin, cost + WorldPointUtil.distanceBetween(packedPosition, origin));
                 }
             }
         }
 
-        return neighbors;
+        return count;
+    }
+
+    private int addTransports(int count, int packedPosition, Set<Transport> transports, int cost, VisitedTiles visited,
+                              PathfinderConfig config, Set<Transport> excluded, boolean ignoreTeleports) {
+        if (transports == null) {
+            return count;
+        }
+
+        // Transports are pre-filtered by PathfinderConfig.refreshTransports
+        // Thus any transports in the list are guaranteed to be valid per the user's settings
+        for (Transport transport : transports) {
+            //START microbot variables
+            if (visited.get(transport.getDestination())) continue;
+            if (!excluded.isEmpty() && excluded.contains(transport)) continue;
+
+            final int destination = WorldPointUtil.packWorldPoint(transport.getDestination());
+            if (TransportType.isTeleport(transport.getType())) {
+                if (ignoreTeleports) continue;
+                count = addNeighbor(count, destination, transportCost(packedPosition, destination, cost,
+                        config.getDistanceBeforeUsingTeleport() + transport.getDuration()));
+            } else {
+                count = addNeighbor(count, destination, transportCost(packedPosition, destination, cost,
+                        transport.getDuration()));
+            }
+            //END microbot variables
+        }
+        return count;
+    }
+
+    /**
+     * The cost of reaching the destination of a transport, as the pathfinder has always counted it: the cost of
+     * reaching the origin is added to the travel time, and that wait is added to the cost once more. This decides
+     * which routes win, e.g. a teleport or a walk, so it's kept as is.
+     */
+    private static int transportCost(int origin, int destination, int cost, int travelTime) {
+        final int wait = cost + travelTime;
+        return cost + (wait > 0 ? wait : WorldPointUtil.distanceBetween(origin, destination));
+    }
+
+    public int getNeighborPosition(int index) {
+        return neighborPositions[index];
+    }
+
+    /**
+     * The cost of reaching the neighbour, including the cost of the tile it was found from.
+     */
+    public int getNeighborCost(int index) {
+        return neighborCosts[index];
+    }
+
+    public boolean isTransportNeighbor(int index) {
+        return index < transportNeighborCount;
+    }
+
+    private int addNeighbor(int count, int packedPosition, int cost) {
+        if (count == neighborPositions.length) {
+            neighborPositions = Arrays.copyOf(neighborPositions, count * 2);
+            neighborCosts = Arrays.copyOf(neighborCosts, count * 2);
+        }
+        neighborPositions[count] = packedPosition;
+        neighborCosts[count] = cost;
+        return count + 1;
     }
 }
@@ -0,0 +1,182 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static net.runelite.api.Constants.REGION_SIZE;
+
+/**
+ * Collision data read straight from a memory-mapped file instead of being inflated onto the heap.
+ * <p>
+ * The file is laid out so that no parsing is needed to use it:
+ * <pre>
+ * int    magic, version
+ * long   checksum of the collision-map.zip the file was made from
+ * int    minX, minY, maxX, maxY of the region extents
+ * int[]  page of each region in the extents, row by row, or 0 if the region has no collision data
+ * byte[] plane count of each region in the extents
+ * </pre>
+ * The header is padded to a whole page, followed by one page for each region. A region with all four planes is
+ * exactly a page, and is stored in the bit order of {@link FlagMap}. Pages of the file are shared through the page
+ * cache with other clients that map the same file.
+ */
+@Slf4j
+class MappedSplitFlagMap extends SplitFlagMap {
+    private static final int MAGIC = 0x4D42434D;
+    private static final int VERSION = 1;
+    private static final int PAGE_SIZE = 4096;
+    private static final int HEADER_SIZE = 32;
+    private static final int FLAG_COUNT = 2;
+
+    private final ByteBuffer buffer;
+    private final int[] regionPages;
+    private final byte[] regionPlaneCounts;
+    private final RegionExtent extents;
+
+    private MappedSplitFlagMap(ByteBuffer buffer, int[] regionPages, byte[] regionPlaneCounts, RegionExtent extents) {
+        super(regionPlaneCounts);
+        this.buffer = buffer;
+        this.regionPages = regionPages;
+        this.regionPlaneCounts = regionPlaneCounts;
+        this.extents = extents;
+    }
+
+    @Override
+    public boolean get(int x, int y, int z, int flag) {
+        final int regionX = x / REGION_SIZE;
+        final int regionY = y / REGION_SIZE;
+        // Unlike a FlagMap, the region data doesn't know its own bounds, so tiles past the extents are checked here
+        if (x < 0 || y < 0 || regionX < extents.minX || regionX > extents.maxX || regionY < extents.minY || regionY > extents.maxY) {
+            return false;
+        }
+        final int index = getIndex(regionX, regionY);
+        if (regionPages[index] == 0 || z < 0 || z >= regionPlaneCounts[index]) {
+            return false;
+        }
+
+        final int bit = (z * REGION_SIZE * REGION_SIZE + (y % REGION_SIZE) * REGION_SIZE + (x % REGION_SIZE)) * FLAG_COUNT + flag;
+        return (buffer.get(regionPages[index] * PAGE_SIZE + (bit >>> 3)) & (1 << (bit & 7))) != 0;
+    }
+
+    /**
+     * Maps the file, if it exists and was made from collision data with the checksum.
+     *
+     * @return the collision data, or null if the file has to be written first
+     */
+    static MappedSplitFlagMap open(File file, long checksum) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        final MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                || buffer.getLong(8) != checksum) {
+            log.debug("Collision map {} is outdated", file);
+            return null;
+        }
+
+        final RegionExtent extents = new RegionExtent(buffer.getInt(16), buffer.getInt(20), buffer.getInt(24), buffer.getInt(28));
+        final int regionCount = (extents.getWidth() + 1) * (extents.getHeight() + 1);
+        if (headerPages(regionCount) * PAGE_SIZE > buffer.capacity()) {
+            log.warn("Collision map {} is truncated", file);
+            return null;
+        }
+
+        int[] regionPages = new int[regionCount];
+        byte[] regionPlaneCounts = new byte[regionCount];
+        buffer.position(HEADER_SIZE);
+        buffer.asIntBuffer().get(regionPages);
+        buffer.position(HEADER_SIZE + regionCount * Integer.BYTES);
+        buffer.get(regionPlaneCounts);
+        for (int page : regionPages) {
+            if ((long) (page + 1) * PAGE_SIZE > buffer.capacity()) {
+                log.warn("Collision map {} is truncated", file);
+                return null;
+            }
+        }
+
+        setRegionExtents(extents);
+        return new MappedSplitFlagMap(buffer, regionPages, regionPlaneCounts, extents);
+    }
+
+    /**
+     * Writes the collision data of each region, keyed by {@link SplitFlagMap#packPosition}, to the file. The file is
+     * replaced at once so clients that are mapping it at the same time never see a partial file.
+     */
+    static void write(File file, RegionExtent extents, Map<Integer, byte[]> regions, long checksum) throws IOException {
+        final int width = extents.getWidth() + 1;
+        final int regionCount = width * (extents.getHeight() + 1);
+        int[] regionPages = new int[regionCount];
+        byte[] regionPlaneCounts = new byte[regionCount];
+        byte[][] regionData = new byte[regionCount][];
+
+        int nextPage = headerPages(regionCount);
+        for (int y = extents.getMinY(); y <= extents.getMaxY(); y++) {
+            for (int x = extents.getMinX(); x <= extents.getMaxX(); x++) {
+                byte[] bytes = regions.get(packPosition(x, y));
+                if (bytes == null) {
+                    continue;
+                }
+                if (bytes.length > PAGE_SIZE) {
+                    throw new IOException("Collision data of region " + x + "_" + y + " doesn't fit in a page");
+                }
+                final int index = (x - extents.getMinX()) + (y - extents.getMinY()) * width;
+                regionPages[index] = nextPage++;
+                regionPlaneCounts[index] = new FlagMap(0, 0, bytes).getPlaneCount();
+                regionData[index] = bytes;
+            }
+        }
+
+        Files.createDirectories(file.getParentFile().toPath());
+        Path temp = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp.toFile())))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(checksum);
+                out.writeInt(extents.getMinX());
+                out.writeInt(extents.getMinY());
+                out.writeInt(extents.getMaxX());
+                out.writeInt(extents.getMaxY());
+                for (int page : regionPages) {
+                    out.writeInt(page);
+                }
+                out.write(regionPlaneCounts);
+                out.write(new byte[headerPages(regionCount) * PAGE_SIZE - out.size()]);
+
+                // Pages were handed out in index order, so the regions are written in the same order
+                for (byte[] bytes : regionData) {
+                    if (bytes != null) {
+                        out.write(bytes);
+                        out.write(new byte[PAGE_SIZE - bytes.length]);
+                    }
+                }
+            }
+            Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static int headerPages(int regionCount) {
+        final int size = HEADER_SIZE + regionCount * (Integer.BYTES + 1);
+        return (size + PAGE_SIZE - 1) / PAGE_SIZE;
+    }
+}
@@ -0,0 +1,79 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of node indices ordered by a long key, so queueing a node doesn't allocate.
+ */
+class NodeHeap {
+    private int[] nodes;
+    private long[] keys;
+    private int size;
+
+    NodeHeap(int initialCapacity) {
+        nodes = new int[initialCapacity];
+        keys = new long[initialCapacity];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void add(int node, long key) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+
+        int i = size++;
+        while (i > 0) {
+            final int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            nodes[i] = nodes[parent];
+            keys[i] = keys[parent];
+            i = parent;
+        }
+        nodes[i] = node;
+        keys[i] = key;
+    }
+
+    /**
+     * Key of the first node; the heap must not be empty.
+     */
+    long peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * Removes and returns the node with the smallest key; the heap must not be empty.
+     */
+    int poll() {
+        final int first = nodes[0];
+        final int lastNode = nodes[--size];
+        final long lastKey = keys[size];
+
+        int i = 0;
+        final int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (lastKey <= keys[child]) {
+                break;
+            }
+            nodes[i] = nodes[child];
+            keys[i] = keys[child];
+            i = child;
+        }
+        nodes[i] = lastNode;
+        keys[i] = lastKey;
+        return first;
+    }
+}
@@ -0,0 +1,53 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+/**
+ * First-in first-out ring buffer of node indices, so queueing a node doesn't allocate.
+ */
+class NodeQueue {
+    private int[] nodes;
+    private int head;
+    private int size;
+
+    NodeQueue(int initialCapacity) {
+        // The capacity is kept at a power of two so indices can wrap around with a mask
+        nodes = new int[Integer.highestOneBit(Math.max(initialCapacity - 1, 1)) << 1];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    void addLast(int node) {
+        if (size == nodes.length) {
+            int[] grown = new int[nodes.length * 2];
+            final int tail = nodes.length - head;
+            System.arraycopy(nodes, head, grown, 0, tail);
+            System.arraycopy(nodes, 0, grown, tail, head);
+            nodes = grown;
+            head = 0;
+        }
+        nodes[(head + size++) & (nodes.length - 1)] = node;
+    }
+
+    /**
+     * The first node without removing it; the queue must not be empty.
+     */
+    int peekFirst() {
+        return nodes[head];
+    }
+
+    /**
+     * Removes and returns the first node; the queue must not be empty.
+     */
+    int pollFirst() {
+        final int node = nodes[head];
+        head = (head + 1) & (nodes.length - 1);
+        size--;
+        return node;
+    }
+}
@@ -0,0 +1,448 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+import net.runelite.client.plugins.microbot.util.executor.SharedScheduler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent cache of finished paths, so routes that are walked over and over don't have to be searched again.
+ * <p>
+ * Paths are keyed by the 8x8 chunk they start in, their targets and {@link PathfinderConfig#getPathCacheFingerprint()}.
+ * The fingerprint covers the collision data, the usable transports, the restrictions and the search settings, so a
+ * path is no longer found once the collision map is updated or quest, varbit or item state changes what the pathfinder
+ * could use. Those entries are evicted like any other least recently used entry, and a file written for other
+ * collision data isn't loaded at all. A path that starts elsewhere in the chunk is joined to the cached path with a short walk.
+ * <p>
+ * New paths are written to disk in the background a while after they were added, so searches don't wait for the disk.
+ */
+@Slf4j
+public class PathCache {
+    private static final int MAGIC = 0x4D425043;
+    private static final int VERSION = 3;
+    // How far from the start the walk to the cached path may go, and how many tiles into the cached path it may join it
+    private static final int MAX_STITCH_DISTANCE = 16;
+    private static final int MAX_STITCH_INDEX = 32;
+    private static final long SAVE_DELAY_MILLIS = 60_000;
+    private static final ScheduledExecutorService SAVE_EXECUTOR = SharedScheduler.newExecutor("PathCache");
+
+    private final File file;
+    private final long collisionChecksum;
+    private final Map<Key, Entry> entries;
+    private boolean dirty;
+    private boolean saveScheduled;
+    // Serializes writes, which are made without holding the lock of the cache
+    private final Object fileLock = new Object();
+    @Getter
+    private int hits, misses;
+
+    /**
+     * @param collisionChecksum the {@link PathfinderConfig#getCollisionChecksum()} of the collision data the paths are
+     *                          searched on
+     */
+    public PathCache(File file, int maxEntries, long collisionChecksum) {
+        this.file = file;
+        this.collisionChecksum = collisionChecksum;
+        this.entries = new LinkedHashMap<>(maxEntries, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        load();
+    }
+
+    /**
+     * Looks up a path from the start to the closest of the targets.
+     *
+     * @param targets the sorted packed targets
+     * @return the cached path joined to the start, or null if there is no usable path in the cache
+     */
+    Result get(PathfinderConfig config, int start, int[] targets) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(new Key(chunk(start), targets, config.getPathCacheFingerprint()));
+            if (entry == null) {
+                misses++;
+                return null;
+            }
+        }
+
+        Result result = stitch(config, start, entry);
+        synchronized (this) {
+            if (result == null) {
+                misses++;
+            } else {
+                hits++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Stores a path that was found by a search, along with the indices of the path tiles the search added teleports to.
+     */
+    void put(PathfinderConfig config, int start, int[] targets, int reachedTarget, List<WorldPoint> path,
+             int[] teleportIndices) {
+        // Paths that start in the wilderness depend on the wilderness level they start at, which the key doesn't cover
+        if (path.size() < 2 || PathfinderConfig.isInWilderness(start)) {
+            return;
+        }
+
+        int[] packedPath = new int[path.size()];
+        for (int i = 0; i < packedPath.length; i++) {
+            packedPath[i] = WorldPointUtil.packWorldPoint(path.get(i));
+        }
+
+        synchronized (this) {
+            entries.put(new Key(chunk(start), targets, config.getPathCacheFingerprint()),
+                    new Entry(reachedTarget, packedPath, teleportIndices));
+            dirty = true;
+            scheduleSave();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        dirty = true;
+        scheduleSave();
+    }
+
+    /**
+     * Writes the cache in the background after a delay, so the paths added until then are written at once.
+     */
+    private synchronized void scheduleSave() {
+        if (saveScheduled) {
+            return;
+        }
+        saveScheduled = true;
+        SAVE_EXECUTOR.schedule(this::save, SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private Result stitch(PathfinderConfig config, int start, Entry entry) {
+        final int[] cached = entry.path;
+        if (PathfinderConfig.isInWilderness(start)) {
+            return null;
+        }
+
+        if (cached[0] == start) {
+            return result(config, entry, cached, 0, null);
+        }
+
+        // Teleports can be used from anywhere, so a path that starts with one can start with it here as well
+        if (startsWithTeleport(config, cached)) {
+            int[] prefix = {start};
+            config.addPathTeleports(WorldPointUtil.unpackWorldPoint(start), config.getUsableTeleports(0));
+            return result(config, entry, cached, 1, prefix);
+        }
+
+        // Only tiles that are walked to can be joined; the walk must reach them before the first transport is taken
+        Map<Integer, Integer> joinable = new HashMap<>();
+        for (int i = 0; i < cached.length && i <= MAX_STITCH_INDEX; i++) {
+            joinable.putIfAbsent(cached[i], i);
+            if (i + 1 < cached.length && !isStep(cached[i], cached[i + 1])) {
+                break;
+            }
+        }
+
+        // Walk from the start to the tile that skips the most of the cached path for the shortest walk
+        final CollisionMap map = config.getMap();
+        Map<Integer, Integer> parents = new HashMap<>();
+        Map<Integer, Integer> distances = new HashMap<>();
+        int[] queue = new int[(2 * MAX_STITCH_DISTANCE + 1) * (2 * MAX_STITCH_DISTANCE + 1)];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        distances.put(start, 0);
+
+        int bestTile = -1;
+        int bestScore = Integer.MAX_VALUE;
+        final int startX = WorldPointUtil.unpackWorldX(start);
+        final int startY = WorldPointUtil.unpackWorldY(start);
+        while (head < tail) {
+            final int tile = queue[head++];
+            final int distance = distances.get(tile);
+            Integer index = joinable.get(tile);
+            if (index != null && distance - index < bestScore) {
+                bestScore = distance - index;
+                bestTile = tile;
+            }
+
+            final int x = WorldPointUtil.unpackWorldX(tile);
+            final int y = WorldPointUtil.unpackWorldY(tile);
+            final int z = WorldPointUtil.unpackWorldPlane(tile);
+            final int walkable = map.walkableDirections(x, y, z);
+            for (OrdinalDirection direction : OrdinalDirection.values()) {
+                if ((walkable & (1 << direction.ordinal())) == 0) {
+                    continue;
+                }
+                final int nx = x + direction.x;
+                final int ny = y + direction.y;
+                if (Math.abs(nx - startX) > MAX_STITCH_DISTANCE || Math.abs(ny - startY) > MAX_STITCH_DISTANCE) {
+                    continue;
+                }
+                final int next = WorldPointUtil.packWorldPoint(nx, ny, z);
+                if (distances.containsKey(next) || config.isRestricted(next)) {
+                    continue;
+                }
+                distances.put(next, distance + 1);
+                parents.put(next, tile);
+                queue[tail++] = next;
+            }
+        }
+
+        if (bestTile == -1) {
+            return null;
+        }
+
+        // The walk ends on the joined tile, which the cached path then continues from
+        int[] prefix = new int[distances.get(bestTile)];
+        for (int tile = bestTile, i = prefix.length - 1; i >= 0; i--) {
+            tile = parents.get(tile);
+            prefix[i] = tile;
+        }
+        return result(config, entry, cached, joinable.get(bestTile), prefix);
+    }
+
+    private Result result(PathfinderConfig config, Entry entry, int[] cached, int from, int[] prefix) {
+        List<WorldPoint> path = new ArrayList<>((prefix == null ? 0 : prefix.length) + cached.length - from);
+        if (prefix != null) {
+            for (int tile : prefix) {
+                path.add(WorldPointUtil.unpackWorldPoint(tile));
+            }
+        }
+        for (int i = from; i < cached.length; i++) {
+            path.add(WorldPointUtil.unpackWorldPoint(cached[i]));
+        }
+
+        // The walker looks up teleports in the shared transports, which are replaced whenever the config is refreshed
+        for (int index : entry.teleportIndices) {
+            if (index > from || (index == from && prefix == null)) {
+                final int point = cached[index];
+                config.addPathTeleports(WorldPointUtil.unpackWorldPoint(point),
+                        config.getUsableTeleports(teleportWildernessLevel(config, point)));
+            }
+        }
+
+        return new Result(path, WorldPointUtil.unpackWorldPoint(entry.reachedTarget));
+    }
+
+    private static boolean startsWithTeleport(PathfinderConfig config, int[] cached) {
+        if (isStep(cached[0], cached[1])) {
+            return false;
+        }
+        for (Transport teleport : config.getUsableTeleports(0)) {
+            if (teleport.getDestination() != null && WorldPointUtil.packWorldPoint(teleport.getDestination()) == cached[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isStep(int from, int to) {
+        return WorldPointUtil.distanceBetween(from, to) <= 1;
+    }
+
+    /**
+     * The wilderness level that {@link Pathfinder} adds teleports for when it reaches the tile.
+     */
+    private static int teleportWildernessLevel(PathfinderConfig config, int packedPoint) {
+        if (!PathfinderConfig.isInWilderness(packedPoint)) {
+            return 0;
+        }
+        if (!config.isInLevel19Wilderness(packedPoint)) {
+            return 19;
+        }
+        if (!config.isInLevel29Wilderness(packedPoint)) {
+            return 29;
+        }
+        return 31;
+    }
+
+    private static int chunk(int packedPoint) {
+        return WorldPointUtil.packWorldPoint(
+                WorldPointUtil.unpackWorldX(packedPoint) & ~7,
+                WorldPointUtil.unpackWorldY(packedPoint) & ~7,
+                WorldPointUtil.unpackWorldPlane(packedPoint));
+    }
+
+    /**
+     * Hash of a transport that stays the same between client sessions, unlike the identity hash code of its type.
+     */
+    static long hash(Transport transport) {
+        long hash = Objects.hashCode(transport.getOrigin());
+        hash = hash * 31 + Objects.hashCode(transport.getDestination());
+        hash = hash * 31 + (transport.getType() == null ? 0 : transport.getType().name().hashCode());
+        hash = hash * 31 + transport.getDuration();
+        hash = hash * 31 + transport.getObjectId();
+        hash = hash * 31 + Objects.hashCode(transport.getDisplayInfo());
+        return hash;
+    }
+
+    /**
+     * Spreads the bits of a hash, so sums of hashes of similar transports don't cancel out.
+     */
+    static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private synchronized void load() {
+        if (!file.exists()) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                log.debug("Ignoring path cache {} with an unknown format", file);
+                return;
+            }
+            if (in.readLong() != collisionChecksum) {
+                log.debug("Ignoring path cache {} made for other collision data", file);
+                return;
+            }
+
+            final int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                final int startChunk = in.readInt();
+                final long fingerprint = in.readLong();
+                final int[] targets = readInts(in);
+                final int reachedTarget = in.readInt();
+                final int[] path = readInts(in);
+                final int[] teleportIndices = readInts(in);
+                entries.put(new Key(startChunk, targets, fingerprint), new Entry(reachedTarget, path, teleportIndices));
+            }
+            log.debug("Loaded {} cached paths from {}", entries.size(), file);
+        } catch (IOException e) {
+            log.warn("Unable to load the path cache from {}", file, e);
+            entries.clear();
+        }
+    }
+
+    /**
+     * Writes the cache to disk if it changed since it was last written. The entries are copied under the lock of the
+     * cache and written without it, so searches can use the cache meanwhile.
+     */
+    public void save() {
+        final Map<Key, Entry> snapshot;
+        synchronized (this) {
+            saveScheduled = false;
+            if (!dirty) {
+                return;
+            }
+            // Copying keeps the least recently used first, so loading restores the same order
+            snapshot = new LinkedHashMap<>(entries);
+            dirty = false;
+        }
+
+        synchronized (fileLock) {
+            File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+            try {
+                Files.createDirectories(file.getParentFile().toPath());
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.writeLong(collisionChecksum);
+                    out.writeInt(snapshot.size());
+                    for (Map.Entry<Key, Entry> e : snapshot.entrySet()) {
+                        out.writeInt(e.getKey().startChunk);
+                        out.writeLong(e.getKey().fingerprint);
+                        writeInts(out, e.getKey().targets);
+                        out.writeInt(e.getValue().reachedTarget);
+                        writeInts(out, e.getValue().path);
+                        writeInts(out, e.getValue().teleportIndices);
+                    }
+                }
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                log.warn("Unable to save the path cache to {}", file, e);
+                synchronized (this) {
+                    dirty = true;
+                }
+            }
+        }
+    }
+
+    private static int[] readInts(DataInputStream in) throws IOException {
+        int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Key {
+        private final int startChunk;
+        private final int[] targets;
+        private final long fingerprint;
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return startChunk == other.startChunk && fingerprint == other.fingerprint
+                    && Arrays.equals(targets, other.targets);
+        }
+
+        @Override
+        public int hashCode() {
+            return (startChunk * 31 + Long.hashCode(fingerprint)) * 31 + Arrays.hashCode(targets);
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final int reachedTarget;
+        private final int[] path;
+        private final int[] teleportIndices;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Result {
+        private final List<WorldPoint> path;
+        private final WorldPoint reachedTarget;
+    }
+}
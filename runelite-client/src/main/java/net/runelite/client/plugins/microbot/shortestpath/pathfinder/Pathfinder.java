@@ -3,13 +3,23 @@ package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PathfinderAlgorithm;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntHashMap;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
 import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Slf4j
 public class Pathfinder implements Runnable {
+    // A repair only searches from starts this close to the earlier path, for this many tiles of it
+    private static final int MAX_REPAIR_DISTANCE = 32;
+    private static final int MAX_REPAIR_TARGETS = 64;
+    // A repair doesn't search tiles further than this from its start, which is enough to reach any of its targets
+    private static final int MAX_REPAIR_RADIUS = MAX_REPAIR_DISTANCE + MAX_REPAIR_TARGETS;
+
     private PathfinderStats stats;
     @Getter
     private volatile boolean done = false;
@@ -17,20 +27,39 @@ public class Pathfinder implements Runnable {
 
     private final int start;
     private final Set<Integer> targets;
+    // Sorted copy of the targets, so they can be checked without boxing
+    private final int[] targetsPacked;
 
     private final PathfinderConfig config;
-    private final CollisionMap map;
     private final boolean targetInWilderness;
+    private final PathfinderAlgorithm algorithm;
+
+    // Taken from the config by the thread that runs the search, as neither is thread-safe
+    private CollisionMap map;
+    private SearchNodes nodes;
+    private boolean avoidToaSequenceTiles;
+
+    // Teleports this search can use by the tile they became usable at; these are kept out of the shared transports so
+    // searches running at the same time don't see each other's teleports
+    private final PrimitiveIntHashMap<Set<Transport>> teleports = new PrimitiveIntHashMap<>(8);
+    private TransportHeuristic transportHeuristic;
+    // Only used by the hierarchical search; region ids the tile search is restricted to
+    private BitSet corridor;
 
-    // Capacities should be enough to store all nodes without requiring the queue to grow
-    // They were found by checking the max queue size
-    private final Deque<Node> boundary = new ArrayDeque<>(4096);
-    private final Queue<Node> pending = new PriorityQueue<>(256);
-    private final VisitedTiles visited;
+    // Used for manual calculating paths without teleport & items in caves
+    private volatile boolean ignoreTeleportAndItems;
+
+    // Set when this search repairs the path of an earlier search, see repair
+    private final Pathfinder repairOf;
+    // Index of the first tile of the earlier path that the repair may join
+    private final int repairFrom;
 
     private volatile List<WorldPoint> path = Collections.emptyList();
-    private boolean pathNeedsUpdate = false;
-    private volatile Node bestLastNode;
+    // Teleports the path uses by the tile they're used from, so a repair can publish them again
+    private volatile Map<Integer, Set<Transport>> pathTeleports = Collections.emptyMap();
+    private int bestLastNode = SearchNodes.NONE;
+    private volatile int bestLastPosition = -1;
+    private volatile WorldPoint reachedTarget;
     /**
      * Teleportation transports are updated when this changes.
      * Can be either:
@@ -41,17 +70,24 @@ public class Pathfinder implements Runnable {
     private int wildernessLevel;
 
     public Pathfinder(PathfinderConfig config, int start, Set<Integer> targets) {
+        this(config, start, targets, null, 0);
+    }
+
+    private Pathfinder(PathfinderConfig config, int start, Set<Integer> targets, Pathfinder repairOf, int repairFrom) {
         stats = new PathfinderStats();
         this.config = config;
-        this.map = config.getMap();
         this.start = start;
         this.targets = targets;
-        visited = new VisitedTiles(map);
+        this.repairOf = repairOf;
+        this.repairFrom = repairFrom;
+        targetsPacked = targets.stream().mapToInt(Integer::intValue).sorted().toArray();
         targetInWilderness = PathfinderConfig.isInWildernessPackedPoint(targets);
+        algorithm = config.getAlgorithm();
         wildernessLevel = 31;
-        log.debug("Created Pathfinder src={} dst={} config={}",
+        log.debug("Created Pathfinder src={} dst={} algorithm={} config={}",
                 WorldPointUtil.toString(this.start),
                 WorldPointUtil.toString(this.targets),
+                algorithm,
                 config
         );
     }
@@ -68,7 +104,86 @@ public class Pathfinder implements Runnable {
         return WorldPointUtil.unpackWorldPoint(start);
     }
 
+    /**
+     * Creates a search that repairs the path of a finished search from a new start, e.g. after the player was moved
+     * off the path or a transport on it failed. Instead of searching for the targets again, it searches for the
+     * closest of the next tiles of the earlier path and joins the rest of that path. Only tiles within
+     * {@code MAX_REPAIR_RADIUS} tiles of the start are searched, so transports leading further away, such as
+     * teleports, aren't used. The earlier search's targets are kept.
+     *
+     * @param failedTransport a transport on the earlier path that failed, which is left out of searches and is not
+     *                        crossed by the repaired path, or null
+     * @return the repair search, which still has to be run, or null if the start is too far from the earlier path
+     * for a repair. {@link #isRepaired()} tells whether it found a way back to the earlier path.
+     */
+    public static Pathfinder repair(PathfinderConfig config, Pathfinder previous, WorldPoint start, Transport failedTransport) {
+        if (failedTransport != null) {
+            config.excludeTransport(failedTransport);
+        }
+        final List<WorldPoint> previousPath = previous.getPath();
+        if (previousPath.size() < 2) {
+            return null;
+        }
+
+        int from = -1;
+        int closestDistance = MAX_REPAIR_DISTANCE + 1;
+        for (int i = 0; i < previousPath.size(); i++) {
+            final WorldPoint point = previousPath.get(i);
+            final int distance = point.getPlane() == start.getPlane() ? point.distanceTo2D(start) : Integer.MAX_VALUE;
+            // Ties go to the later tile, so the repaired path doesn't lead back along the part that was walked
+            if (distance <= closestDistance) {
+                closestDistance = distance;
+                from = i;
+            }
+        }
+        if (from == -1) {
+            return null;
+        }
+
+        if (failedTransport != null) {
+            for (int i = 1; i < previousPath.size(); i++) {
+                if (previousPath.get(i).equals(failedTransport.getDestination())
+                        && (failedTransport.getOrigin() == null || previousPath.get(i - 1).equals(failedTransport.getOrigin()))) {
+                    // Only the path past the transport is joined, but it has to be reached some other way
+                    from = Math.max(from, i);
+                    if (failedTransport.getDestination().distanceTo2D(start) > MAX_REPAIR_DISTANCE) {
+                        return null;
+                    }
+                    break;
+                }
+            }
+        }
+
+        Set<Integer> targets = new HashSet<>();
+        for (int i = from; i < previousPath.size() && i < from + MAX_REPAIR_TARGETS; i++) {
+            targets.add(WorldPointUtil.packWorldPoint(previousPath.get(i)));
+        }
+        Pathfinder repair = new Pathfinder(config, WorldPointUtil.packWorldPoint(start), targets, previous, from);
+        repair.ignoreTeleportAndItems = previous.ignoreTeleportAndItems;
+        return repair;
+    }
+
+    /**
+     * Leaves teleports out of this search, without changing the shared config that other searches use. It has to be
+     * set before the search runs.
+     */
+    public void setIgnoreTeleportAndItems(boolean ignoreTeleportAndItems) {
+        this.ignoreTeleportAndItems = ignoreTeleportAndItems;
+    }
+
+    /**
+     * Whether this is a {@link #repair} that found a way back to the earlier path. If it didn't, the path only leads
+     * as close to the earlier path as the search got, and a new search for the targets is needed.
+     */
+    public boolean isRepaired() {
+        return repairOf != null && done && path.size() > 0
+                && WorldPointUtil.packWorldPoint(path.get(path.size() - 1)) == repairOf.bestLastPosition;
+    }
+
     public Set<WorldPoint> getTargets() {
+        if (repairOf != null) {
+            return repairOf.getTargets();
+        }
         return targets.stream().map(WorldPointUtil::unpackWorldPoint).collect(Collectors.toSet());
     }
 
@@ -90,98 +205,303 @@ public class Pathfinder implements Runnable {
         if (cancelled) {
             log.warn("Getting cancelled path");
         }
-        Node lastNode = bestLastNode; // For thread safety, read bestLastNode once
-        if (lastNode == null) {
-            return path;
-        }
+        // The path is built once the search ends
+        return path;
+    }
 
-        if (pathNeedsUpdate) {
-            path = lastNode.getPath();
-            pathNeedsUpdate = false;
-        }
+    /**
+     * The target the path leads to, or null if the search didn't reach any and the path only leads close to one.
+     */
+    public WorldPoint getReachedTarget() {
+        if (!done && !cancelled) throw new IllegalStateException("Pathfinder is not done");
+        return reachedTarget;
+    }
 
-        return path;
+    private boolean isTarget(int packedPosition) {
+        return Arrays.binarySearch(targetsPacked, packedPosition) >= 0;
     }
 
-    private void addNeighbors(Node node) {
-        List<Node> nodes = map.getNeighbors(node, visited, config, targets);
-        for (Node neighbor : nodes) {
-            if (config.avoidWilderness(node.packedPosition, neighbor.packedPosition, targetInWilderness)) {
+    private void addNeighbors(int node) {
+        final int position = nodes.position(node);
+        final int count = map.getNeighbors(position, nodes.cost(node), nodes.visited, config,
+                teleports.get(position), avoidToaSequenceTiles, targetsPacked, ignoreTeleportAndItems);
+        for (int i = 0; i < count; i++) {
+            final int neighborPosition = map.getNeighborPosition(i);
+            if (config.avoidWilderness(position, neighborPosition, targetInWilderness)) {
+                continue;
+            }
+
+            if (corridor != null && !corridor.get(RegionGraph.regionId(neighborPosition))) {
+                continue;
+            }
+
+            if (repairOf != null && !isWithinRepairRadius(neighborPosition)) {
                 continue;
             }
 
-            visited.set(neighbor.packedPosition);
-            if (neighbor instanceof TransportNode) {
-                pending.add(neighbor);
+            final boolean transport = map.isTransportNeighbor(i);
+            if (transport) {
                 ++stats.transportsChecked;
             } else {
-                boundary.addLast(neighbor);
                 ++stats.nodesChecked;
             }
+
+            final int cost = map.getNeighborCost(i);
+            final int neighbor = nodes.add(neighborPosition, node, cost);
+            if (transportHeuristic != null) {
+                // Tiles are marked as visited once expanded, as a cheaper route to a queued tile may still be found
+                nodes.open.add(neighbor, scoreKey(cost, transportHeuristic.estimate(neighborPosition)));
+                continue;
+            }
+
+            nodes.visited.set(neighborPosition);
+            if (transport) {
+                nodes.pending.add(neighbor, cost);
+            } else {
+                nodes.boundary.addLast(neighbor);
+            }
         }
     }
 
-    @Override
-    public void run() {
-        stats.start();
-        boundary.addFirst(new Node(start, null));
+    private boolean isWithinRepairRadius(int packedPosition) {
+        return Math.abs(WorldPointUtil.unpackWorldX(packedPosition) - WorldPointUtil.unpackWorldX(start)) <= MAX_REPAIR_RADIUS
+                && Math.abs(WorldPointUtil.unpackWorldY(packedPosition) - WorldPointUtil.unpackWorldY(start)) <= MAX_REPAIR_RADIUS;
+    }
 
-        int bestDistance = Integer.MAX_VALUE;
-        long bestHeuristic = Integer.MAX_VALUE;
-        long cutoffDurationMillis = config.getCalculationCutoffMillis();
-        long cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
+    private int nextNode() {
+        if (transportHeuristic != null) {
+            while (!nodes.open.isEmpty()) {
+                final int node = nodes.open.poll();
+                // The same tile can be queued through several parents; only the first (cheapest) one is expanded
+                if (nodes.visited.set(nodes.position(node)) || nodes.parent(node) == SearchNodes.NONE) {
+                    return node;
+                }
+            }
+            return SearchNodes.NONE;
+        }
 
-        config.refreshTeleports(start, 31);
-        while (!cancelled && (!boundary.isEmpty() || !pending.isEmpty())) {
-            Node node = boundary.peekFirst();
-            Node p = pending.peek();
-            
-            if (p != null && (node == null || p.cost < node.cost)) {
-                node = pending.poll();
-            } else {
-                node = boundary.removeFirst();
+        if (nodes.boundary.isEmpty() && nodes.pending.isEmpty()) {
+            return SearchNodes.NONE;
+        }
+
+        if (!nodes.pending.isEmpty()
+                && (nodes.boundary.isEmpty() || nodes.pending.peekKey() < nodes.cost(nodes.boundary.peekFirst()))) {
+            return nodes.pending.poll();
+        }
+        return nodes.boundary.pollFirst();
+    }
+
+    /**
+     * Orders A* nodes by their cost plus the estimated cost to the closest target, preferring the node closest to the
+     * target on ties, which avoids expanding equally good alternatives.
+     */
+    private static long scoreKey(int cost, int estimate) {
+        return ((long) cost + estimate) << 32 | estimate;
+    }
+
+    private void updateWildernessLevel(int packedPosition) {
+        if (wildernessLevel > 0) {
+            // We don't need to remove teleports when going from 20 to 21 or higher,
+            // because the teleport is either used at the very start of the
+            // path or when going from 31 or higher to 30, or from 21 or higher to 20.
+
+            boolean update = false;
+
+            // These are overlapping boundaries, so if the node isn't in level 30, it's in 0-29
+            // likewise, if the node isn't in level 20, it's in 0-19
+            if (wildernessLevel > 29 && !config.isInLevel29Wilderness(packedPosition)) {
+                wildernessLevel = 29;
+                update = true;
+            }
+            if (wildernessLevel > 19 && !config.isInLevel19Wilderness(packedPosition)) {
+                wildernessLevel = 19;
+                update = true;
+            }
+            if (wildernessLevel > 0 && !PathfinderConfig.isInWilderness(packedPosition)) {
+                wildernessLevel = 0;
+                update = true;
             }
+            if (update) {
+                addTeleports(packedPosition, wildernessLevel);
+            }
+        }
+    }
+
+    private void addTeleports(int packedPosition, int wildernessLevel) {
+        if (ignoreTeleportAndItems) {
+            return;
+        }
+        Set<Transport> usableTeleports = config.getUsableTeleports(wildernessLevel);
+        if (!usableTeleports.isEmpty()) {
+            teleports.put(packedPosition, usableTeleports);
+        }
+    }
 
-            if (wildernessLevel > 0) {
-                // We don't need to remove teleports when going from 20 to 21 or higher,
-                // because the teleport is either used at the very start of the
-                // path or when going from 31 or higher to 30, or from 21 or higher to 20.
+    @Override
+    public void run() {
+        stats.start(algorithm);
 
-                boolean update = false;
+        // The cache key doesn't cover searches without teleports, and its paths may start with one
+        final PathCache pathCache = repairOf != null || ignoreTeleportAndItems ? null : config.getPathCache();
+        if (pathCache != null && useCachedPath(pathCache)) {
+            return;
+        }
 
-                // These are overlapping boundaries, so if the node isn't in level 30, it's in 0-29
-                // likewise, if the node isn't in level 20, it's in 0-19
-                if (wildernessLevel > 29 && !config.isInLevel29Wilderness(node.packedPosition)) {
-                    wildernessLevel = 29;
-                    update = true;
-                }
-                if (wildernessLevel > 19 && !config.isInLevel19Wilderness(node.packedPosition)) {
-                    wildernessLevel = 19;
-                    update = true;
+        nodes = config.acquireSearchNodes();
+        map = nodes.map;
+        try {
+            nodes.clear();
+            WorldPoint playerLocation = Rs2Player.getWorldLocation();
+            avoidToaSequenceTiles = playerLocation != null && playerLocation.getRegionID() == 14162; // toa puzzle room
+
+            // Repairs only search around the start, so they don't need a corridor
+            boolean exhausted = search(algorithm == PathfinderAlgorithm.HIERARCHICAL && repairOf == null);
+            if (exhausted && corridor != null && !cancelled) {
+                // The abstract graph doesn't know about restrictions on tiles, so the corridor can be a dead end
+                log.debug("No path found within {} regions, searching without a corridor", corridor.cardinality());
+                reset();
+                search(false);
+            }
+
+            if (bestLastNode != SearchNodes.NONE) {
+                bestLastPosition = nodes.position(bestLastNode);
+                List<WorldPoint> foundPath = nodes.getPath(bestLastNode);
+                Map<Integer, Set<Transport>> foundTeleports = new HashMap<>();
+                int[] teleportIndices = new int[0];
+                for (int i = 0; i < foundPath.size(); i++) {
+                    final int point = WorldPointUtil.packWorldPoint(foundPath.get(i));
+                    Set<Transport> pointTeleports = teleports.get(point);
+                    if (pointTeleports != null) {
+                        foundTeleports.put(point, pointTeleports);
+                        teleportIndices = Arrays.copyOf(teleportIndices, teleportIndices.length + 1);
+                        teleportIndices[teleportIndices.length - 1] = i;
+                    }
                 }
-                if (wildernessLevel > 0 && !PathfinderConfig.isInWilderness(node.packedPosition)) {
-                    wildernessLevel = 0;
-                    update = true;
+
+                final boolean targetReached = isTarget(bestLastPosition);
+                if (repairOf != null && targetReached) {
+                    joinRepairedPath(foundPath, foundTeleports);
+                } else if (targetReached) {
+                    reachedTarget = WorldPointUtil.unpackWorldPoint(bestLastPosition);
                 }
-                if (update) {
-                    config.refreshTeleports(node.packedPosition, wildernessLevel);
+                foundTeleports.forEach((point, pointTeleports) ->
+                        config.addPathTeleports(WorldPointUtil.unpackWorldPoint(point), pointTeleports));
+                pathTeleports = foundTeleports;
+                path = foundPath;
+
+                if (pathCache != null && !cancelled && targetReached) {
+                    pathCache.put(config, start, targetsPacked, bestLastPosition, foundPath, teleportIndices);
                 }
             }
+            done = !cancelled;
+        } finally {
+            reset();
+            config.releaseSearchNodes(nodes);
+            map = null;
+            nodes = null;
+        }
+
+        stats.end(); // Include cleanup in stats to get the total cost of pathfinding
+
+        log.debug("Pathfinding completed DstNode={} src={} dst={} Stats={}",
+                bestLastPosition == -1 ? "null" : WorldPointUtil.toString(bestLastPosition),
+                WorldPointUtil.toString(start),
+                WorldPointUtil.toString(targets),
+                getStats().toString());
+    }
+
+    /**
+     * Appends the rest of the earlier path to a repair path, which ends on a tile of the earlier path.
+     */
+    private void joinRepairedPath(List<WorldPoint> foundPath, Map<Integer, Set<Transport>> foundTeleports) {
+        final List<WorldPoint> previousPath = repairOf.path;
+        final WorldPoint joined = foundPath.get(foundPath.size() - 1);
+        int index = repairFrom;
+        while (!previousPath.get(index).equals(joined)) {
+            index++;
+        }
+
+        for (int i = index + 1; i < previousPath.size(); i++) {
+            foundPath.add(previousPath.get(i));
+        }
+        // The earlier path's teleports may have been replaced since, when the transports were refreshed
+        repairOf.pathTeleports.forEach((point, pointTeleports) -> foundTeleports.putIfAbsent(point, pointTeleports));
+        bestLastPosition = repairOf.bestLastPosition;
+        reachedTarget = repairOf.reachedTarget;
+    }
 
-            if (targets.contains(node.packedPosition)) {
+    /**
+     * Takes the path from the cache instead of searching, if the cache has a path from near the start to the targets.
+     */
+    private boolean useCachedPath(PathCache pathCache) {
+        PathCache.Result cached = pathCache.get(config, start, targetsPacked);
+        if (cached == null) {
+            return false;
+        }
+
+        path = cached.getPath();
+        bestLastPosition = WorldPointUtil.packWorldPoint(cached.getReachedTarget());
+        reachedTarget = cached.getReachedTarget();
+        done = !cancelled;
+        stats.cacheHit = true;
+        stats.end();
+
+        log.debug("Pathfinding completed from cache DstNode={} src={} dst={} Stats={}",
+                WorldPointUtil.toString(bestLastPosition),
+                WorldPointUtil.toString(start),
+                WorldPointUtil.toString(targets),
+                stats);
+        return true;
+    }
+
+    /**
+     * @param useCorridor whether to restrict the search to the regions on the route through the {@link RegionGraph}
+     * @return true if every reachable node was expanded without reaching a target
+     */
+    private boolean search(boolean useCorridor) {
+        int bestDistance = Integer.MAX_VALUE;
+        long bestHeuristic = Integer.MAX_VALUE;
+        long cutoffDurationMillis = config.getCalculationCutoffMillis();
+        long cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
+
+        bestLastNode = SearchNodes.NONE;
+        wildernessLevel = 31;
+        teleports.clear();
+        addTeleports(start, 31);
+        updateWildernessLevel(start);
+        if (useCorridor) {
+            corridor = config.getRegionGraph().findCorridor(config, start, targets, teleports.get(start),
+                    ignoreTeleportAndItems);
+            stats.corridorRegions = corridor == null ? 0 : corridor.cardinality();
+        }
+        final int root = nodes.add(start, SearchNodes.NONE, 0);
+        if (algorithm == PathfinderAlgorithm.BREADTH_FIRST) {
+            nodes.boundary.addLast(root);
+        } else {
+            // Teleports are refreshed again whenever the wilderness level drops, so they may show up later in the search
+            transportHeuristic = new TransportHeuristic(config, targets, wildernessLevel > 0, ignoreTeleportAndItems);
+            nodes.open.add(root, scoreKey(0, transportHeuristic.estimate(start)));
+        }
+
+        int node;
+        while (!cancelled && (node = nextNode()) != SearchNodes.NONE) {
+            ++stats.nodesExpanded;
+
+            final int position = nodes.position(node);
+            updateWildernessLevel(position);
+
+            if (isTarget(position)) {
                 bestLastNode = node;
-                pathNeedsUpdate = true;
-                break;
+                return false;
             }
 
-            for (int target : targets) {
-                int distance = WorldPointUtil.distanceBetween(node.packedPosition, target);
-                long heuristic = distance + (long) WorldPointUtil.distanceBetween(node.packedPosition, target, 2);
+            for (int target : targetsPacked) {
+                int distance = WorldPointUtil.distanceBetween(position, target);
+                long heuristic = distance + (long) WorldPointUtil.distanceBetween(position, target, 2);
 
                 if (heuristic < bestHeuristic || (heuristic <= bestHeuristic && distance < bestDistance)) {
 
                     bestLastNode = node;
-                    pathNeedsUpdate = true;
                     bestDistance = distance;
                     bestHeuristic = heuristic;
                     cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
@@ -189,31 +509,29 @@ public class Pathfinder implements Runnable {
             }
 
             if (System.currentTimeMillis() > cutoffTimeMillis) {
-                break;
+                return false;
             }
             
             addNeighbors(node);
         }
+        return !cancelled;
+    }
 
-        done = !cancelled;
-
-        boundary.clear();
-        visited.clear();
-        pending.clear();
-
-        stats.end(); // Include cleanup in stats to get the total cost of pathfinding
-
-        log.debug("Pathfinding completed DstNode={} src={} dst={} Stats={}",
-                bestLastNode == null ? "null" : WorldPointUtil.toString(bestLastNode.packedPosition),
-                WorldPointUtil.toString(start),
-                WorldPointUtil.toString(targets),
-                getStats().toString());
+    private void reset() {
+        nodes.clear();
+        transportHeuristic = null;
+        corridor = null;
     }
 
     public static class PathfinderStats {
         @Getter
-        private int nodesChecked = 0, transportsChecked = 0;
+        private int nodesChecked = 0, transportsChecked = 0, nodesExpanded = 0, corridorRegions = 0;
+        @Getter
+        private PathfinderAlgorithm algorithm;
         private long startNanos, endNanos;
+        // Whether the path was taken from the PathCache rather than searched for
+        @Getter
+        private boolean cacheHit = false;
         private volatile boolean started = false, ended = false;
 
         public int getTotalNodesChecked() {
@@ -224,10 +542,14 @@ public class Pathfinder implements Runnable {
             return endNanos - startNanos;
         }
 
-        private void start() {
+        private void start(PathfinderAlgorithm algorithm) {
             started = true;
+            this.algorithm = algorithm;
             nodesChecked = 0;
             transportsChecked = 0;
+            nodesExpanded = 0;
+            corridorRegions = 0;
+            cacheHit = false;
             startNanos = System.nanoTime();
         }
 
@@ -238,7 +560,9 @@ public class Pathfinder implements Runnable {
 
         @Override
         public String toString() {
-            return String.format("PathfinderStats(nodes=%d,transports=%d,time=%dms)", nodesChecked, transportsChecked, getElapsedTimeNanos() / 1_000_000);
+            return String.format("PathfinderStats(algorithm=%s,cached=%s,nodes=%d,transports=%d,expanded=%d,corridor=%d,time=%dms)",
+                    algorithm, cacheHit, nodesChecked, transportsChecked, nodesExpanded, corridorRegions,
+                    getElapsedTimeNanos() / 1_000_000);
         }
     }
 }
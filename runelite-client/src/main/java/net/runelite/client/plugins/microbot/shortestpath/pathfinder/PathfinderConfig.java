@@ -1,11 +1,16 @@
 package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.*;
 import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.StatChanged;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.api.gameval.InventoryID;
 import net.runelite.api.gameval.ItemID;
 import net.runelite.api.gameval.VarbitID;
 import net.runelite.client.plugins.itemcharges.ItemChargeConfig;
@@ -25,6 +30,8 @@ import net.runelite.client.plugins.microbot.util.tabs.Rs2Tab;
 import net.runelite.client.plugins.microbot.util.walker.Rs2Walker;
 import net.runelite.client.plugins.microbot.util.cache.Rs2SkillCache;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
@@ -51,23 +58,35 @@ public class PathfinderConfig {
     private static final WorldArea NOT_WILDERNESS_2 = new WorldArea(3005, 3534, 21, 10, 0);
     private static final WorldArea NOT_WILDERNESS_3 = new WorldArea(3000, 3534, 5, 5, 0);
     private static final WorldArea NOT_WILDERNESS_4 = new WorldArea(3031, 3525, 2, 2, 0);
+    // Search state kept between searches is bounded by this rather than by the number of threads that searched
+    private static final int MAX_IDLE_SEARCH_NODES = Math.max(2, Runtime.getRuntime().availableProcessors());
 
     private final SplitFlagMap mapData;
-    private final ThreadLocal<CollisionMap> map;
+    // Only used for collision checks, which don't change it; searches use the map of their SearchNodes
+    private final CollisionMap map;
+    // Search state left by finished searches, lent to the next search on whichever thread it runs. Scripts search
+    // from short-lived threads, so state kept per thread would be rebuilt for nearly every search.
+    private final BlockingQueue<SearchNodes> idleSearchNodes = new ArrayBlockingQueue<>(MAX_IDLE_SEARCH_NODES);
+    @Getter
+    private final RegionGraph regionGraph;
     /**
      * All transports by origin {@link WorldPoint}. The null key is used for transports centered on the player.
      */
     @Getter
     private final Map<WorldPoint, Set<Transport>> allTransports;
+    @Getter
     @Setter
     private volatile Set<Transport> usableTeleports;
     private final List<WorldPoint> filteredTargets = new CopyOnWriteArrayList<>();
 
+    // The transport maps are replaced rather than cleared on refresh, so searches that are still running keep a
+    // consistent view of the transports they started with
     @Getter
-    private final ConcurrentHashMap<WorldPoint, Set<Transport>> transports;
+    private volatile ConcurrentHashMap<WorldPoint, Set<Transport>> transports;
     // Copy of transports with packed positions for the hotpath; lists are not copied and are the same reference in both maps
+    // Teleports added by addPathTeleports are only in transports, as this map is not safe to modify during a search
     @Getter
-    private final PrimitiveIntHashMap<Set<Transport>> transportsPacked;
+    private volatile PrimitiveIntHashMap<Set<Transport>> transportsPacked;
 
     private final Client client;
     private final ShortestPathConfig config;
@@ -82,6 +101,8 @@ public class PathfinderConfig {
     private volatile long calculationCutoffMillis;
     @Getter
     private volatile boolean avoidWilderness;
+    @Getter
+    private volatile PathfinderAlgorithm algorithm = PathfinderAlgorithm.BREADTH_FIRST;
     private volatile boolean useAgilityShortcuts,
             useGrappleShortcuts,
             useBoats,
@@ -110,15 +131,29 @@ public class PathfinderConfig {
     @Getter
     private final Set<Integer> restrictedPointsPacked;
     private final Set<Integer> internalRestrictedPointsPacked;
+    // Sorted copy of the restricted points, so the pathfinder can check them without boxing
+    private volatile int[] restrictedPointsSorted = new int[0];
+    // Hashes of the usable transports and the restricted points; these change whenever quest, varbit or item state
+    // changes what the pathfinder can use
+    private volatile long transportFingerprint;
+    private volatile long restrictionFingerprint;
+    @Getter
+    @Setter
+    private volatile PathCache pathCache;
+    // Transports that failed while walking, which searches leave out until they're cleared; replaced rather than
+    // modified so running searches can read it without locking
+    @Getter(AccessLevel.PACKAGE)
+    private volatile Set<Transport> excludedTransports = Collections.emptySet();
     private volatile boolean useNpcs;
+    // Whether each transport of allTransports met its requirements when it was last checked, guarded by itself
+    private final Map<Transport, CheckedRequirements> checkedRequirements = new IdentityHashMap<>();
+    // What changed since the last refresh, guarded by changesLock
+    private final Object changesLock = new Object();
+    private TransportDependencies.Changes changes = TransportDependencies.Changes.everything();
+    private boolean lastUseBankItems;
     //END microbot variables
     private volatile TeleportationItem useTeleportationItems;
 
-    @Getter
-    @Setter
-    // Used for manual calculating paths without teleport & items in caves
-    private volatile boolean ignoreTeleportAndItems = false;
-
     @Getter
     @Setter
     // Used to include bank items when searching for item requirements
@@ -128,7 +163,8 @@ public class PathfinderConfig {
                             List<Restriction> restrictions,
                             Client client, ShortestPathConfig config) {
         this.mapData = mapData;
-        this.map = ThreadLocal.withInitial(() -> new CollisionMap(this.mapData));
+        this.map = new CollisionMap(mapData);
+        this.regionGraph = new RegionGraph(mapData);
         this.allTransports = transports;
         this.usableTeleports = ConcurrentHashMap.newKeySet(allTransports.size() / 20);
         this.transports = new ConcurrentHashMap<>(allTransports.size() / 2);
@@ -144,11 +180,26 @@ public class PathfinderConfig {
     }
 
     public CollisionMap getMap() {
-        return map.get();
+        return map;
+    }
+
+    /**
+     * Takes search state left by an earlier search, or creates it if there is none.
+     * It must be given back with {@link #releaseSearchNodes} once the search is done.
+     */
+    SearchNodes acquireSearchNodes() {
+        SearchNodes nodes = idleSearchNodes.poll();
+        return nodes != null ? nodes : new SearchNodes(new CollisionMap(mapData));
+    }
+
+    void releaseSearchNodes(SearchNodes nodes) {
+        // Dropped if enough state is already waiting for a search
+        idleSearchNodes.offer(nodes);
     }
 
     public void refresh(WorldPoint target) {
         calculationCutoffMillis = (long) config.calculationCutoff() * Constants.GAME_TICK_LENGTH;
+        algorithm = ShortestPathPlugin.override("pathfinderAlgorithm", config.pathfinderAlgorithm());
         avoidWilderness = ShortestPathPlugin.override("avoidWilderness", config.avoidWilderness());
         useAgilityShortcuts = ShortestPathPlugin.override("useAgilityShortcuts", config.useAgilityShortcuts());
         useGrappleShortcuts = ShortestPathPlugin.override("useGrappleShortcuts", config.useGrappleShortcuts());
@@ -190,33 +241,45 @@ public class PathfinderConfig {
     }
 
     /**
-     * Specialized method for adding usableTeleports to `transports`
+     * Usable teleports that can be used at the given wilderness level. Each search keeps these to itself rather than
+     * adding them to `transports`, so searches running at the same time don't see each other's teleports.
      */
-    public void refreshTeleports(int packedLocation, int wildernessLevel) {
+    public Set<Transport> getUsableTeleports(int wildernessLevel) {
         Set<Transport> usableWildyTeleports = new HashSet<>(usableTeleports.size());
-        if (ignoreTeleportAndItems) return;
-
         for (Transport teleport : usableTeleports) {
             if (wildernessLevel <= teleport.getMaxWildernessLevel()) {
                 usableWildyTeleports.add(teleport);
             }
         }
+        return usableWildyTeleports;
+    }
 
-        if (!usableWildyTeleports.isEmpty()) {
-            // Added extra code to check if the key already exists
-            // if the key already exists we append instead of overwriting
-            // The issue was that the transport list would contain a transport object on the same
-            // tile as the player, this would then be overwritten by the usableWildyTeleports
-            // therefor losing the original transport object
-            WorldPoint key = WorldPointUtil.unpackWorldPoint(packedLocation);
-            Set<Transport> existingTeleports = transports.get(key);
-            if (existingTeleports != null) {
-                existingTeleports.addAll(usableWildyTeleports);
-            } else {
-                transports.put(key, usableWildyTeleports);
-            }
-            transportsPacked.put(packedLocation, usableWildyTeleports);
-        }
+    /**
+     * Adds the teleports that a found path can use at a tile to `transports`, which is where the walker looks up how
+     * to get from one tile of the path to the next.
+     */
+    public void addPathTeleports(WorldPoint point, Set<Transport> teleports) {
+        // The existing set is also referenced by transportsPacked and may be read by a running search, so it's replaced
+        // instead of modified. Appending keeps any transport object on the same tile as the player
+        transports.merge(point, teleports, (existing, added) -> {
+            Set<Transport> merged = new HashSet<>(existing);
+            merged.addAll(added);
+            return merged;
+        });
+    }
+
+    /**
+     * Leaves the transport out of searches, e.g. after a door turned out to be locked or a teleport failed, until
+     * {@link #clearExcludedTransports} is called.
+     */
+    public synchronized void excludeTransport(Transport transport) {
+        Set<Transport> excluded = new HashSet<>(excludedTransports);
+        excluded.add(transport);
+        excludedTransports = excluded;
+    }
+
+    public synchronized void clearExcludedTransports() {
+        excludedTransports = Collections.emptySet();
     }
 
     public void filterLocations(Set<WorldPoint> locations, boolean canReviveFiltered) {
@@ -255,69 +318,161 @@ public class PathfinderConfig {
         useSpiritTrees &= QuestState.FINISHED.equals(Rs2Player.getQuestState(Quest.TREE_GNOME_VILLAGE));
         useQuetzals &= QuestState.FINISHED.equals(Rs2Player.getQuestState(Quest.TWILIGHTS_PROMISE));
 
-        transports.clear();
-        transportsPacked.clear();
-        usableTeleports.clear();
+        ConcurrentHashMap<WorldPoint, Set<Transport>> refreshedTransports = new ConcurrentHashMap<>(allTransports.size() / 2);
+        PrimitiveIntHashMap<Set<Transport>> refreshedTransportsPacked = new PrimitiveIntHashMap<>(allTransports.size() / 2);
+        Set<Transport> refreshedTeleports = ConcurrentHashMap.newKeySet(allTransports.size() / 20);
 
         // Check spirit tree farming states for farmable spirit trees
         Rs2SpiritTreeCache.getInstance().update();
         //Rs2SpiritTreeCache.logAllTreeStates();
 
-        for (Map.Entry<WorldPoint, Set<Transport>> entry : createMergedList().entrySet()) {
+        Map<WorldPoint, Set<Transport>> usableByOrigin = new HashMap<>(allTransports.size() / 2);
+        synchronized (checkedRequirements) {
+            TransportDependencies.Changes changes = takeChanges();
+            collectUsableTransports(allTransports, changes, usableByOrigin, refreshedTeleports);
+
+            if (usePoh) {
+                // The PoH transports are created for each refresh, so their requirements are always checked
+                Map<WorldPoint, Set<Transport>> pohTransports = PohPanel.getAvailableTransports(allTransports);
+                if (pohTransports != allTransports) {
+                    collectUsableTransports(pohTransports, null, usableByOrigin, refreshedTeleports);
+                }
+                // If we're already in Poh there's no reason to add teleports to Poh
+                if (!PohTeleports.isInHouse()) {
+                    collectUsableTransports(PohPanel.getTransportsToPoh(), null, usableByOrigin, refreshedTeleports);
+                }
+            }
+        }
+
+        for (Map.Entry<WorldPoint, Set<Transport>> entry : usableByOrigin.entrySet()) {
+            refreshedTransports.put(entry.getKey(), entry.getValue());
+            refreshedTransportsPacked.put(WorldPointUtil.packWorldPoint(entry.getKey()), entry.getValue());
+        }
+
+        transports = refreshedTransports;
+        transportsPacked = refreshedTransportsPacked;
+        usableTeleports = refreshedTeleports;
+
+        // Filter similar transports based on distance when walk with banked transports is enabled
+        if (useBankItems && config.maxSimilarTransportDistance() > 0) {
+            filterSimilarTransports(target);
+        }
+
+        // The sum doesn't depend on iteration order, and the transport hashes are stable between client sessions
+        long fingerprint = 0;
+        for (Set<Transport> usableTransports : transports.values()) {
+            for (Transport transport : usableTransports) {
+                fingerprint += PathCache.mix(PathCache.hash(transport));
+            }
+        }
+        for (Transport teleport : usableTeleports) {
+            fingerprint += PathCache.mix(PathCache.hash(teleport) * 31 + 1);
+        }
+        transportFingerprint = fingerprint;
+    }
+
+    /**
+     * The checksum of the collision data, which changes whenever the bundled collision map is updated.
+     */
+    public long getCollisionChecksum() {
+        return mapData.getChecksum();
+    }
+
+    /**
+     * Identifies everything a search depends on besides its start and targets, so a cached path is only reused while
+     * the same collision data, transports, restrictions and settings apply.
+     */
+    public long getPathCacheFingerprint() {
+        long fingerprint = mapData.getChecksum();
+        fingerprint = fingerprint * 31 + transportFingerprint;
+        fingerprint = fingerprint * 31 + restrictionFingerprint;
+        fingerprint = fingerprint * 31 + distanceBeforeUsingTeleport;
+        fingerprint = fingerprint * 31 + (avoidWilderness ? 1 : 0);
+        fingerprint = fingerprint * 31 + algorithm.ordinal();
+        for (Transport transport : excludedTransports) {
+            fingerprint += PathCache.mix(PathCache.hash(transport) * 31 + 2);
+        }
+        return PathCache.mix(fingerprint);
+    }
+
+
+    /**
+     * Adds the usable transports of the source to the usable transports by origin, or to the teleports for
+     * transports without an origin.
+     *
+     * @param changes what changed since the last refresh, or null to check the requirements of every transport
+     *                without remembering the result
+     */
+    private void collectUsableTransports(Map<WorldPoint, Set<Transport>> source, TransportDependencies.Changes changes,
+                                         Map<WorldPoint, Set<Transport>> usableByOrigin, Set<Transport> teleports) {
+        for (Map.Entry<WorldPoint, Set<Transport>> entry : source.entrySet()) {
             WorldPoint point = entry.getKey();
-            Set<Transport> usableTransports = new HashSet<>(entry.getValue().size());
+            Set<Transport> usable = null;
             for (Transport transport : entry.getValue()) {
                 // Mutate action
                 updateActionBasedOnQuestState(transport);
 
-                if (!useTransport(transport)) continue;
+                if (!useTransport(transport, changes)) continue;
                 if (point == null) {
-                    usableTeleports.add(transport);
+                    teleports.add(transport);
                 } else {
-                    usableTransports.add(transport);
+                    if (usable == null) {
+                        usable = usableByOrigin.computeIfAbsent(point, k -> new HashSet<>());
+                    }
+                    usable.add(transport);
                 }
             }
+        }
+    }
 
-            if (point != null && !usableTransports.isEmpty()) {
-                transports.put(point, usableTransports);
-                transportsPacked.put(WorldPointUtil.packWorldPoint(point), usableTransports);
+    /**
+     * Takes what changed since the last refresh, including the bank starting or stopping to count for item
+     * requirements.
+     */
+    private TransportDependencies.Changes takeChanges() {
+        synchronized (changesLock) {
+            TransportDependencies.Changes taken = changes;
+            changes = new TransportDependencies.Changes();
+            if (useBankItems != lastUseBankItems) {
+                lastUseBankItems = useBankItems;
+                taken.items();
             }
+            return taken;
         }
+    }
 
-        // Filter similar transports based on distance when walk with banked transports is enabled
-        if (useBankItems && config.maxSimilarTransportDistance() > 0) {
-            filterSimilarTransports(target);
+    public void onVarbitChanged(VarbitChanged event) {
+        synchronized (changesLock) {
+            if (event.getVarbitId() != -1) {
+                changes.varbit(event.getVarbitId());
+            } else {
+                changes.varplayer(event.getVarpId());
+            }
         }
     }
 
-
-    private Map<WorldPoint, Set<Transport>> createMergedList() {
-        if (!usePoh) return allTransports;
-        Map<WorldPoint, Set<Transport>> mergedTransports = new HashMap<>();
-
-        // Start with putting all the TSV imported persistent transports
-        for (var entry : allTransports.entrySet()) {
-            mergedTransports.put(entry.getKey(), new HashSet<>(entry.getValue()));
+    public void onStatChanged(StatChanged event) {
+        synchronized (changesLock) {
+            changes.skill(event.getSkill().ordinal());
         }
+    }
 
-        // Add transports from PoH to somewhere in the world
-        for (var entry : PohPanel.getAvailableTransports(allTransports).entrySet()) {
-            mergedTransports
-                    .computeIfAbsent(entry.getKey(), k -> new HashSet<>())
-                    .addAll(entry.getValue());
+    public void onItemContainerChanged(ItemContainerChanged event) {
+        final int containerId = event.getContainerId();
+        if (containerId == InventoryID.INV || containerId == InventoryID.WORN || containerId == InventoryID.BANK) {
+            synchronized (changesLock) {
+                changes.items();
+            }
         }
+    }
 
-        // If we're already in Poh there's no reason to add teleports to Poh
-        if (PohTeleports.isInHouse()) {
-            return mergedTransports;
-        }
-        // Add transports from the world to PoH
-        for (var entry : PohPanel.getTransportsToPoh().entrySet()) {
-            mergedTransports
-                    .computeIfAbsent(entry.getKey(), k -> new HashSet<>())
-                    .addAll(entry.getValue());
+    /**
+     * Checks the requirements of every transport again on the next refresh, e.g. after logging in to another account.
+     */
+    public void invalidateTransports() {
+        synchronized (changesLock) {
+            changes = TransportDependencies.Changes.everything();
         }
-        return mergedTransports;
     }
 
     public void refresh() {
@@ -369,6 +524,15 @@ public class PathfinderConfig {
                     return false;
                 })
                 .forEach(entry -> internalRestrictedPointsPacked.add(entry.getPackedWorldPoint()));
+
+        int[] sorted = internalRestrictedPointsPacked.stream().mapToInt(Integer::intValue).toArray();
+        Arrays.sort(sorted);
+        restrictedPointsSorted = sorted;
+        restrictionFingerprint = Arrays.hashCode(sorted);
+    }
+
+    public boolean isRestricted(int packedPoint) {
+        return Arrays.binarySearch(restrictedPointsSorted, packedPoint) >= 0;
     }
 
     public static boolean isInWilderness(WorldPoint p) {
@@ -456,7 +620,41 @@ public class PathfinderConfig {
                         .allMatch(varplayerCheck -> varplayerCheck.matches(Microbot.getVarbitPlayerValue(varplayerCheck.getVarplayerId())));
     }
 
-    private boolean useTransport(Transport transport) {
+    /**
+     * @param changes what changed since the last refresh, or null to check the requirements without remembering
+     *                the result
+     */
+    private boolean useTransport(Transport transport, TransportDependencies.Changes changes) {
+        CheckedRequirements checked = null;
+        if (changes != null) {
+            checked = checkedRequirements.get(transport);
+            if (checked == null) {
+                checked = new CheckedRequirements(TransportDependencies.of(transport));
+                checkedRequirements.put(transport, checked);
+            } else if (checked.valid && checked.dependencies.isAffectedBy(changes)) {
+                // Invalidated even if the transport isn't allowed now, as these changes won't be seen again
+                checked.valid = false;
+            }
+        }
+
+        if (!isTransportAllowed(transport)) {
+            return false;
+        }
+
+        if (checked == null) {
+            return meetsRequirements(transport);
+        }
+        if (!checked.valid) {
+            checked.met = meetsRequirements(transport);
+            checked.valid = true;
+        }
+        return checked.met;
+    }
+
+    /**
+     * Checks the settings that enable or disable the transport, which don't depend on the player.
+     */
+    private boolean isTransportAllowed(Transport transport) {
         // Check if the feature flag is disabled
         if (!isFeatureEnabled(transport)) {
             log.debug("Transport Type {} is disabled by feature flag", transport.getType());
@@ -467,6 +665,31 @@ public class PathfinderConfig {
             log.debug("Transport ( O: {} D: {} ) requires members world", transport.getOrigin(), transport.getDestination());
             return false;
         }
+        // Spirit trees aren't affected by the settings of teleports
+        if (transport.getType() == TransportType.SPIRIT_TREE) {
+            return true;
+        }
+        // Check if Teleports are globally disabled
+        if (TransportType.isTeleport(transport.getType()) && Rs2Walker.disableTeleports) {
+            log.debug("Transport ( O: {} D: {} ) is a teleport but teleports are globally disabled", transport.getOrigin(), transport.getDestination());
+            return false;
+        }
+        // Check Teleport Item Settings
+        if (transport.getType() == TELEPORTATION_ITEM) {
+            if (useTeleportationItems == TeleportationItem.NONE
+                    || useTeleportationItems == TeleportationItem.INVENTORY_NON_CONSUMABLE && transport.isConsumable()) {
+                log.debug("Transport ( O: {} D: {} ) is a teleport item but is not usable", transport.getOrigin(), transport.getDestination());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks the requirements of the transport that depend on the player, which are described by
+     * {@link TransportDependencies}.
+     */
+    private boolean meetsRequirements(Transport transport) {
         // If you don't meet level requirements
         if (!hasRequiredLevels(transport)) {
             log.debug("Transport ( O: {} D: {} ) requires skill levels {}", transport.getOrigin(), transport.getDestination(), Arrays.toString(transport.getSkillLevels()));
@@ -500,15 +723,9 @@ public class PathfinderConfig {
             return false;
         }
 
-        // Check if Teleports are globally disabled
-        if (TransportType.isTeleport(transport.getType()) && Rs2Walker.disableTeleports) {
-            log.debug("Transport ( O: {} D: {} ) is a teleport but teleports are globally disabled", transport.getOrigin(), transport.getDestination());
-            return false;
-        }
-
         // Check Teleport Item Settings
         if (transport.getType() == TELEPORTATION_ITEM) {
-            boolean isUsable = isTeleportationItemUsable(transport);
+            boolean isUsable = hasRequiredItems(transport);
             if (!isUsable) {
                 log.debug("Transport ( O: {} D: {} ) is a teleport item but is not usable", transport.getOrigin(), transport.getDestination());
             }
@@ -649,18 +866,6 @@ public class PathfinderConfig {
         }
     }
 
-    /**
-     * Checks if a teleportation item is usable
-     */
-    private boolean isTeleportationItemUsable(Transport transport) {
-        if (useTeleportationItems == TeleportationItem.NONE) return false;
-        // Check consumable items configuration
-        if (useTeleportationItems == TeleportationItem.INVENTORY_NON_CONSUMABLE && transport.isConsumable())
-            return false;
-
-        return hasRequiredItems(transport);
-    }
-
     /**
      * Checks if the player has any of the required equipment and inventory items for the transport
      */
@@ -1021,6 +1226,16 @@ public class PathfinderConfig {
         }
     }
 
+    private static final class CheckedRequirements {
+        private final TransportDependencies dependencies;
+        private boolean valid;
+        private boolean met;
+
+        private CheckedRequirements(TransportDependencies dependencies) {
+            this.dependencies = dependencies;
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("PathfinderConfig(useAgilityShortcuts=%b, useGrappleShortcuts=%b, useBoats=%b, useCanoes=%b, " +
@@ -0,0 +1,113 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Runs independent path searches in parallel on a bounded pool of worker threads.
+ * <p>
+ * {@link PathfinderConfig} lends every running search its own collision map and search nodes, while the collision
+ * data and the region graph are shared as they are never modified. Requests for the same start and targets that
+ * arrive while an identical search is queued or running share its result instead of searching again.
+ * <p>
+ * The config should be refreshed before submitting requests, as it is for a single {@link Pathfinder}.
+ */
+@Slf4j
+public class PathfindingService {
+    private final PathfinderConfig config;
+    private final ThreadPoolExecutor executor;
+    private final Map<Request, CompletableFuture<Pathfinder>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param threads       the number of searches that can run at the same time
+     * @param queueCapacity the number of searches that can wait for a worker before requests are rejected
+     */
+    public PathfindingService(PathfinderConfig config, int threads, int queueCapacity) {
+        this.config = config;
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                new ThreadFactoryBuilder().setNameFormat("pathfinding-service-%d").setDaemon(true).build());
+        // Workers are let go when the service is idle
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Searches for the shortest path from the start to the closest of the targets.
+     *
+     * @return a future completed with the finished pathfinder, or completed exceptionally with a
+     * {@link RejectedExecutionException} if too many searches are waiting. Cancelling the future doesn't affect
+     * other requests for the same search.
+     */
+    public CompletableFuture<Pathfinder> submit(WorldPoint start, Set<WorldPoint> targets) {
+        final Request request = new Request(WorldPointUtil.packWorldPoint(start),
+                targets.stream().map(WorldPointUtil::packWorldPoint).collect(Collectors.toSet()),
+                config.getPathCacheFingerprint());
+
+        CompletableFuture<Pathfinder> created = new CompletableFuture<>();
+        CompletableFuture<Pathfinder> search = inFlight.putIfAbsent(request, created);
+        if (search == null) {
+            search = created;
+            final Pathfinder pathfinder = new Pathfinder(config, request.start, request.targets);
+            try {
+                executor.execute(() -> {
+                    try {
+                        pathfinder.run();
+                        created.complete(pathfinder);
+                    } catch (Throwable t) {
+                        log.warn("Search from {} to {} failed", start, targets, t);
+                        created.completeExceptionally(t);
+                    } finally {
+                        inFlight.remove(request, created);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(request, created);
+                created.completeExceptionally(e);
+            }
+        } else {
+            log.debug("Joining search already in progress from {} to {}", start, targets);
+        }
+
+        // Each caller gets its own future so cancelling one request doesn't cancel the shared search
+        return search.copy();
+    }
+
+    public CompletableFuture<Pathfinder> submit(WorldPoint start, WorldPoint target) {
+        return submit(start, Set.of(target));
+    }
+
+    public int getActiveSearches() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueuedSearches() {
+        return executor.getQueue().size();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+        inFlight.values().forEach(search -> search.cancel(false));
+        inFlight.clear();
+    }
+
+    @Value
+    private static class Request {
+        int start;
+        Set<Integer> targets;
+        // Searches are only shared while the transports, restrictions and settings they depend on are the same
+        long configFingerprint;
+    }
+}
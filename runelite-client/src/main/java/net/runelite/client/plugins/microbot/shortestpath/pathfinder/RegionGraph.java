@@ -0,0 +1,332 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static net.runelite.api.Constants.REGION_SIZE;
+
+/**
+ * Abstract graph over the collision map used by the hierarchical search in {@link Pathfinder}.
+ * <p>
+ * Every plane of a region is a cluster. Wherever a cluster can be walked out of, an entrance is placed on both sides of
+ * the border, and the walking distances between the entrances of a cluster are calculated the first time it is needed.
+ * Routing over entrances and transports gives the corridor of regions a path passes through, so the tile search only
+ * has to explore those regions. The graph only depends on the collision data, which means it's shared by all searches
+ * and stays valid when transports or restrictions change.
+ */
+@Slf4j
+public class RegionGraph {
+    private static final OrdinalDirection[] ORDINAL_VALUES = OrdinalDirection.values();
+    private static final int REGION_TILES = REGION_SIZE * REGION_SIZE;
+    private static final short UNREACHABLE = -1;
+    // Openings in a border longer than this get an entrance at either end rather than one in the middle
+    private static final int MAX_SINGLE_ENTRANCE_WIDTH = 6;
+
+    private final CollisionMap map;
+    private final Map<Integer, Cluster> clusters = new ConcurrentHashMap<>();
+
+    public RegionGraph(SplitFlagMap collisionData) {
+        this.map = new CollisionMap(collisionData);
+    }
+
+    /**
+     * Routes from the start to the closest target on the abstract graph.
+     *
+     * @param startTeleports  the teleports that can be used from the start, or null
+     * @param ignoreTeleports whether the search leaves teleports out, see {@link Pathfinder#setIgnoreTeleportAndItems}
+     * @return the region ids the abstract route passes through, or null if no target can be reached
+     */
+    public BitSet findCorridor(PathfinderConfig config, int start, Set<Integer> targets, Set<Transport> startTeleports,
+                               boolean ignoreTeleports) {
+        return new Query(config, targets, start, startTeleports, ignoreTeleports).run();
+    }
+
+    public int getClusterCount() {
+        return clusters.size();
+    }
+
+    static int regionId(int packedPoint) {
+        return (WorldPointUtil.unpackWorldX(packedPoint) >> 6) << 8 | (WorldPointUtil.unpackWorldY(packedPoint) >> 6);
+    }
+
+    private static int clusterKey(int packedPoint) {
+        return WorldPointUtil.packWorldPoint(
+                WorldPointUtil.unpackWorldX(packedPoint) & -REGION_SIZE,
+                WorldPointUtil.unpackWorldY(packedPoint) & -REGION_SIZE,
+                WorldPointUtil.unpackWorldPlane(packedPoint));
+    }
+
+    private static int localIndex(int packedPoint) {
+        return (WorldPointUtil.unpackWorldY(packedPoint) & (REGION_SIZE - 1)) * REGION_SIZE
+                + (WorldPointUtil.unpackWorldX(packedPoint) & (REGION_SIZE - 1));
+    }
+
+    private Cluster getCluster(int key) {
+        return clusters.computeIfAbsent(key, this::buildCluster);
+    }
+
+    private Cluster buildCluster(int key) {
+        final int baseX = WorldPointUtil.unpackWorldX(key);
+        final int baseY = WorldPointUtil.unpackWorldY(key);
+        final int plane = WorldPointUtil.unpackWorldPlane(key);
+
+        Cluster cluster = new Cluster(4 * REGION_SIZE);
+        addEntrances(cluster, baseX, baseY, plane, 0, 1, OrdinalDirection.WEST);
+        addEntrances(cluster, baseX + REGION_SIZE - 1, baseY, plane, 0, 1, OrdinalDirection.EAST);
+        addEntrances(cluster, baseX, baseY, plane, 1, 0, OrdinalDirection.SOUTH);
+        addEntrances(cluster, baseX, baseY + REGION_SIZE - 1, plane, 1, 0, OrdinalDirection.NORTH);
+
+        final int count = cluster.count;
+        cluster.distances = new int[count * count];
+        for (int i = 0; i < count; i++) {
+            short[] field = distanceField(cluster.entrances[i]);
+            for (int j = 0; j < count; j++) {
+                cluster.distances[i * count + j] = field[localIndex(cluster.entrances[j])];
+            }
+        }
+        return cluster;
+    }
+
+    /**
+     * Scans one border of a cluster and adds an entrance for every opening into the neighbouring cluster.
+     */
+    private void addEntrances(Cluster cluster, int x, int y, int plane, int dx, int dy, OrdinalDirection direction) {
+        final int bit = 1 << direction.ordinal();
+        int openingStart = -1;
+        for (int i = 0; i <= REGION_SIZE; i++) {
+            boolean open = i < REGION_SIZE
+                    && (map.walkableDirections(x + dx * i, y + dy * i, plane) & bit) != 0;
+            if (open && openingStart == -1) {
+                openingStart = i;
+            } else if (!open && openingStart != -1) {
+                final int end = i - 1;
+                if (end - openingStart + 1 <= MAX_SINGLE_ENTRANCE_WIDTH) {
+                    cluster.add(x, y, plane, dx, dy, (openingStart + end) / 2, direction);
+                } else {
+                    cluster.add(x, y, plane, dx, dy, openingStart, direction);
+                    cluster.add(x, y, plane, dx, dy, end, direction);
+                }
+                openingStart = -1;
+            }
+        }
+    }
+
+    /**
+     * Walking distance from the tile to every other tile in its cluster, without leaving the cluster.
+     */
+    private short[] distanceField(int packedPoint) {
+        final int baseX = WorldPointUtil.unpackWorldX(packedPoint) & -REGION_SIZE;
+        final int baseY = WorldPointUtil.unpackWorldY(packedPoint) & -REGION_SIZE;
+        final int plane = WorldPointUtil.unpackWorldPlane(packedPoint);
+
+        short[] field = new short[REGION_TILES];
+        Arrays.fill(field, UNREACHABLE);
+        int[] queue = new int[REGION_TILES];
+        int head = 0;
+        int tail = 0;
+
+        final int from = localIndex(packedPoint);
+        field[from] = 0;
+        queue[tail++] = from;
+        while (head < tail) {
+            final int current = queue[head++];
+            final int x = current % REGION_SIZE;
+            final int y = current / REGION_SIZE;
+            final int walkable = map.walkableDirections(baseX + x, baseY + y, plane);
+            for (int i = 0; i < ORDINAL_VALUES.length; i++) {
+                if ((walkable & (1 << i)) == 0) {
+                    continue;
+                }
+                final int nx = x + ORDINAL_VALUES[i].x;
+                final int ny = y + ORDINAL_VALUES[i].y;
+                if (nx < 0 || ny < 0 || nx >= REGION_SIZE || ny >= REGION_SIZE) {
+                    continue;
+                }
+                final int next = ny * REGION_SIZE + nx;
+                if (field[next] == UNREACHABLE) {
+                    field[next] = (short) (field[current] + 1);
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return field;
+    }
+
+    private static class Cluster {
+        // Tiles inside the cluster next to an opening; a corner tile can appear twice with different exits
+        private int[] entrances;
+        // The tile on the other side of the border for each entrance
+        private int[] exits;
+        // Walking distance between each pair of entrances, or UNREACHABLE
+        private int[] distances;
+        private int count;
+
+        private Cluster(int capacity) {
+            entrances = new int[capacity];
+            exits = new int[capacity];
+        }
+
+        private void add(int x, int y, int plane, int dx, int dy, int offset, OrdinalDirection direction) {
+            final int entranceX = x + dx * offset;
+            final int entranceY = y + dy * offset;
+            entrances[count] = WorldPointUtil.packWorldPoint(entranceX, entranceY, plane);
+            exits[count] = WorldPointUtil.packWorldPoint(entranceX + direction.x, entranceY + direction.y, plane);
+            count++;
+        }
+
+        private int indexOf(int packedPoint) {
+            for (int i = 0; i < count; i++) {
+                if (entrances[i] == packedPoint) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Dijkstra over cluster entrances, usable transports and the targets. Tiles that aren't entrances (the start,
+     * transport origins, transport destinations and targets) are connected to their cluster on demand.
+     */
+    private class Query {
+        private final PathfinderConfig config;
+        private final Set<Integer> targets;
+        private final int start;
+        private final Set<Transport> startTeleports;
+        private final boolean ignoreTeleports;
+        private final Map<Integer, List<Integer>> originsByCluster = new HashMap<>();
+        private final Map<Integer, List<Integer>> targetsByCluster = new HashMap<>();
+        private final Map<Integer, short[]> fields = new HashMap<>();
+        private final Map<Integer, Integer> costs = new HashMap<>();
+        private final Map<Integer, Integer> parents = new HashMap<>();
+        private final PriorityQueue<Long> queue = new PriorityQueue<>();
+
+        private Query(PathfinderConfig config, Set<Integer> targets, int start, Set<Transport> startTeleports,
+                      boolean ignoreTeleports) {
+            this.config = config;
+            this.targets = targets;
+            this.start = start;
+            this.startTeleports = startTeleports;
+            this.ignoreTeleports = ignoreTeleports;
+            for (WorldPoint origin : config.getTransports().keySet()) {
+                final int packedOrigin = WorldPointUtil.packWorldPoint(origin);
+                originsByCluster.computeIfAbsent(clusterKey(packedOrigin), k -> new ArrayList<>()).add(packedOrigin);
+            }
+            for (int target : targets) {
+                targetsByCluster.computeIfAbsent(clusterKey(target), k -> new ArrayList<>()).add(target);
+            }
+        }
+
+        private BitSet run() {
+            push(start, 0, start);
+            while (!queue.isEmpty()) {
+                final long entry = queue.poll();
+                final int cost = (int) (entry >>> 32);
+                final int node = (int) entry;
+                if (cost > costs.get(node)) {
+                    continue;
+                }
+
+                if (targets.contains(node)) {
+                    BitSet corridor = new BitSet();
+                    for (int n = node; ; n = parents.get(n)) {
+                        corridor.set(regionId(n));
+                        if (n == start) {
+                            break;
+                        }
+                    }
+                    log.debug("Abstract route to {} crosses {} regions ({} nodes reached)",
+                            WorldPointUtil.toString(node), corridor.cardinality(), costs.size());
+                    return corridor;
+                }
+
+                expand(node, cost);
+            }
+            return null;
+        }
+
+        private void expand(int node, int cost) {
+            final int key = clusterKey(node);
+            final Cluster cluster = getCluster(key);
+            final int entrance = cluster.indexOf(node);
+
+            for (int i = 0; i < cluster.count; i++) {
+                if (cluster.entrances[i] == node) {
+                    push(cluster.exits[i], cost + 1, node);
+                } else {
+                    pushWalk(cluster, node, entrance, cluster.entrances[i], i, cost);
+                }
+            }
+            for (int origin : originsByCluster.getOrDefault(key, Collections.emptyList())) {
+                pushWalk(cluster, node, entrance, origin, cluster.indexOf(origin), cost);
+            }
+            for (int target : targetsByCluster.getOrDefault(key, Collections.emptyList())) {
+                pushWalk(cluster, node, entrance, target, cluster.indexOf(target), cost);
+            }
+
+            pushTransports(config.getTransportsPacked().get(node), node, cost);
+            if (node == start) {
+                pushTransports(startTeleports, node, cost);
+            }
+        }
+
+        private void pushTransports(Set<Transport> transports, int node, int cost) {
+            if (transports == null) {
+                return;
+            }
+            for (Transport transport : transports) {
+                final int travelTime = TransportHeuristic.transportCost(config, transport, ignoreTeleports);
+                if (travelTime >= 0) {
+                    push(WorldPointUtil.packWorldPoint(transport.getDestination()), cost + travelTime, node);
+                }
+            }
+        }
+
+        private void pushWalk(Cluster cluster, int from, int fromEntrance, int to, int toEntrance, int cost) {
+            if (from == to) {
+                return;
+            }
+
+            final int distance;
+            if (fromEntrance >= 0 && toEntrance >= 0) {
+                distance = cluster.distances[fromEntrance * cluster.count + toEntrance];
+            } else if (fromEntrance >= 0) {
+                // Walking is symmetric, so the field of the other tile gives the same distance
+                distance = field(to)[localIndex(from)];
+            } else {
+                distance = field(from)[localIndex(to)];
+            }
+
+            if (distance != UNREACHABLE) {
+                push(to, cost + distance, from);
+            }
+        }
+
+        private short[] field(int packedPoint) {
+            return fields.computeIfAbsent(packedPoint, RegionGraph.this::distanceField);
+        }
+
+        private void push(int node, int cost, int parent) {
+            Integer previous = costs.get(node);
+            if (previous != null && previous <= cost) {
+                return;
+            }
+            costs.put(node, cost);
+            parents.put(node, parent);
+            queue.add(((long) cost << 32) | (node & 0xFFFFFFFFL));
+        }
+    }
+}
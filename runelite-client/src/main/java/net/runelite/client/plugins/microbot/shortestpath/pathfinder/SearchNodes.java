@@ -0,0 +1,83 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Storage for the nodes of a search. A node is referred to by its index, and its packed position, parent index and
+ * cost are kept in flat arrays rather than in an object per node. Together with the queues and visited tiles this is
+ * reused from one search to the next, so a search allocates close to nothing once the arrays have grown to fit.
+ * <p>
+ * This is not thread-safe; {@link PathfinderConfig} lends one to each running search. It comes with its own
+ * {@link CollisionMap}, as the map keeps the neighbours it finds for the search.
+ */
+class SearchNodes {
+    static final int NONE = -1;
+
+    // Capacities should be enough to store all nodes of most searches without requiring the arrays to grow
+    final NodeQueue boundary = new NodeQueue(4096);
+    final NodeHeap pending = new NodeHeap(256);
+    // Only used by A*; nodes are ordered by their cost plus the estimated cost to the closest target
+    final NodeHeap open = new NodeHeap(4096);
+    final VisitedTiles visited;
+    final CollisionMap map;
+
+    private int[] positions = new int[1 << 16];
+    private int[] parents = new int[1 << 16];
+    private int[] costs = new int[1 << 16];
+    private int size;
+
+    SearchNodes(CollisionMap map) {
+        this.map = map;
+        visited = new VisitedTiles(map);
+    }
+
+    int add(int packedPosition, int parent, int cost) {
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+            parents = Arrays.copyOf(parents, size * 2);
+            costs = Arrays.copyOf(costs, size * 2);
+        }
+        positions[size] = packedPosition;
+        parents[size] = parent;
+        costs[size] = cost;
+        return size++;
+    }
+
+    int position(int node) {
+        return positions[node];
+    }
+
+    int parent(int node) {
+        return parents[node];
+    }
+
+    int cost(int node) {
+        return costs[node];
+    }
+
+    List<WorldPoint> getPath(int node) {
+        int length = 0;
+        for (int n = node; n != NONE; n = parents[n]) {
+            length++;
+        }
+
+        WorldPoint[] path = new WorldPoint[length];
+        for (int n = node; n != NONE; n = parents[n]) {
+            path[--length] = WorldPointUtil.unpackWorldPoint(positions[n]);
+        }
+        return new ArrayList<>(Arrays.asList(path));
+    }
+
+    void clear() {
+        size = 0;
+        boundary.clear();
+        pending.clear();
+        open.clear();
+        visited.clear();
+    }
+}
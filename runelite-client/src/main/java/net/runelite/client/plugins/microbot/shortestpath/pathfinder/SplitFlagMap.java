@@ -1,21 +1,34 @@
 package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
 import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
 import net.runelite.client.plugins.microbot.shortestpath.Util;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 import static net.runelite.api.Constants.REGION_SIZE;
 
+@Slf4j
 public class SplitFlagMap {
+    // Unpacked copy of collision-map.zip, written on the first start after the collision data changes
+    private static final File MAPPED_FILE = new File(RuneLite.RUNELITE_DIR, "microbot-plugins/shortestpath/collision-map.dat");
+
     @Getter
+    @Setter(AccessLevel.PACKAGE)
     private static RegionExtent regionExtents;
 
     @Getter
@@ -23,6 +36,9 @@ public class SplitFlagMap {
     // Size is automatically chosen based on the max extents of the collision data
     private final FlagMap[] regionMaps;
     private final int widthInclusive;
+    // CRC32 of the collision-map.zip the data was loaded from
+    @Getter
+    private long checksum;
 
     public SplitFlagMap(Map<Integer, byte[]> compressedRegions) {
         widthInclusive = regionExtents.getWidth() + 1;
@@ -41,6 +57,15 @@ public class SplitFlagMap {
         }
     }
 
+    /**
+     * For subclasses that store the collision data of the regions themselves.
+     */
+    SplitFlagMap(byte[] regionMapPlaneCounts) {
+        widthInclusive = regionExtents.getWidth() + 1;
+        regionMaps = null;
+        this.regionMapPlaneCounts = regionMapPlaneCounts;
+    }
+
     public boolean get(int x, int y, int z, int flag) {
         final int index = getIndex(x / REGION_SIZE, y / REGION_SIZE);
         if (index < 0 || index >= regionMaps.length || regionMaps[index] == null) {
@@ -69,7 +94,7 @@ public class SplitFlagMap {
         return regionMaps[index].get(x, y, z, flag);
     }
 
-    private int getIndex(int regionX, int regionY) {
+    int getIndex(int regionX, int regionY) {
         return (regionX - regionExtents.getMinX()) + (regionY - regionExtents.getMinY()) * widthInclusive;
     }
 
@@ -85,9 +110,38 @@ public class SplitFlagMap {
         return (x & 0xFFFF) | ((y & 0xFFFF) << 16);
     }
 
+    /**
+     * Loads the bundled collision data. The data is unpacked to a file once and memory-mapped from then on, which
+     * keeps it off the heap; it's only inflated onto the heap if the file can't be used.
+     */
     public static SplitFlagMap fromResources() {
+        final byte[] archive;
+        try (InputStream in = ShortestPathPlugin.class.getResourceAsStream("collision-map.zip")) {
+            archive = Util.readAllBytes(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(archive);
+        final long checksum = crc.getValue();
+
+        SplitFlagMap map = load(archive, checksum);
+        map.checksum = checksum;
+        return map;
+    }
+
+    private static SplitFlagMap load(byte[] archive, long checksum) {
+        try {
+            SplitFlagMap mapped = MappedSplitFlagMap.open(MAPPED_FILE, checksum);
+            if (mapped != null) {
+                return mapped;
+            }
+        } catch (IOException e) {
+            log.warn("Unable to map the collision map {}", MAPPED_FILE, e);
+        }
+
         Map<Integer, byte[]> compressedRegions = new HashMap<>();
-        try (ZipInputStream in = new ZipInputStream(ShortestPathPlugin.class.getResourceAsStream("collision-map.zip"))) {
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(archive))) {
             int minX = Integer.MAX_VALUE;
             int minY = Integer.MAX_VALUE;
             int maxX = 0;
@@ -111,6 +165,16 @@ public class SplitFlagMap {
             throw new UncheckedIOException(e);
         }
 
+        try {
+            MappedSplitFlagMap.write(MAPPED_FILE, regionExtents, compressedRegions, checksum);
+            SplitFlagMap mapped = MappedSplitFlagMap.open(MAPPED_FILE, checksum);
+            if (mapped != null) {
+                return mapped;
+            }
+        } catch (IOException e) {
+            log.warn("Unable to write the collision map {}, keeping it on the heap", MAPPED_FILE, e);
+        }
+
         return new SplitFlagMap(compressedRegions);
     }
 
@@ -0,0 +1,158 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.gameval.ItemID;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.TransportType;
+import net.runelite.client.plugins.microbot.shortestpath.TransportVarPlayer;
+import net.runelite.client.plugins.microbot.shortestpath.TransportVarbit;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The game state that the requirements of a transport depend on, so {@link PathfinderConfig} only checks the
+ * requirements of a transport again after something it depends on changed.
+ * <p>
+ * This only covers the requirements of the player: skill levels, quests, varbits, varplayers and items. Settings
+ * such as the enabled transport types are cheap to check and are checked on every refresh.
+ */
+final class TransportDependencies {
+    private static final int[] NONE = new int[0];
+
+    /**
+     * Checked on every refresh, for requirements that aren't tracked by events, like the farming state of spirit
+     * trees and the charges of the Chronicle.
+     */
+    private final boolean always;
+    private final boolean items;
+    /**
+     * Quest states and spellbooks are derived from vars without the transport knowing which, so any var change counts.
+     */
+    private final boolean anyVar;
+    /**
+     * A bit for the ordinal of each skill with a level requirement.
+     */
+    private final long skills;
+    private final int[] varbits;
+    private final int[] varplayers;
+
+    private TransportDependencies(boolean always, boolean items, boolean anyVar, long skills, int[] varbits, int[] varplayers) {
+        this.always = always;
+        this.items = items;
+        this.anyVar = anyVar;
+        this.skills = skills;
+        this.varbits = varbits;
+        this.varplayers = varplayers;
+    }
+
+    static TransportDependencies of(Transport transport) {
+        final TransportType type = transport.getType();
+        boolean always = type == TransportType.SPIRIT_TREE;
+        boolean items = transport.getCurrencyAmount() > 0 || !transport.getItemIdRequirements().isEmpty();
+        boolean anyVar = transport.isQuestLocked();
+
+        long skills = 0;
+        int[] levels = transport.getSkillLevels();
+        for (int i = 0; i < levels.length; i++) {
+            if (levels[i] > 0) {
+                skills |= 1L << i;
+            }
+        }
+
+        if (type == TransportType.TELEPORTATION_SPELL) {
+            // Runes, the spellbook and the magic level
+            items = true;
+            anyVar = true;
+            skills = -1L;
+        }
+
+        for (Set<Integer> itemIds : transport.getItemIdRequirements()) {
+            if (itemIds.contains(ItemID.CHRONICLE)) {
+                always = true;
+                break;
+            }
+        }
+
+        int[] varbits = NONE;
+        if (!transport.getVarbits().isEmpty()) {
+            varbits = transport.getVarbits().stream().mapToInt(TransportVarbit::getVarbitId).toArray();
+        }
+        int[] varplayers = NONE;
+        if (!transport.getVarplayers().isEmpty()) {
+            varplayers = transport.getVarplayers().stream().mapToInt(TransportVarPlayer::getVarplayerId).toArray();
+        }
+
+        return new TransportDependencies(always, items, anyVar, skills, varbits, varplayers);
+    }
+
+    boolean isAffectedBy(Changes changes) {
+        if (always || changes.all) {
+            return true;
+        }
+        if (items && changes.items) {
+            return true;
+        }
+        if ((skills & changes.skills) != 0) {
+            return true;
+        }
+        if (anyVar && changes.anyVar) {
+            return true;
+        }
+        for (int varbit : varbits) {
+            if (changes.varbits.contains(varbit)) {
+                return true;
+            }
+        }
+        for (int varplayer : varplayers) {
+            if (changes.varplayers.contains(varplayer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The game state that changed since the last refresh. Not thread safe; {@link PathfinderConfig} records changes
+     * under a lock and swaps in a new instance on each refresh.
+     */
+    static final class Changes {
+        private boolean all;
+        private boolean items;
+        private boolean anyVar;
+        private long skills;
+        private final Set<Integer> varbits = new HashSet<>();
+        private final Set<Integer> varplayers = new HashSet<>();
+
+        static Changes everything() {
+            Changes changes = new Changes();
+            changes.all = true;
+            return changes;
+        }
+
+        void items() {
+            items = true;
+        }
+
+        void skill(int ordinal) {
+            skills |= 1L << ordinal;
+        }
+
+        void varbit(int varbitId) {
+            anyVar = true;
+            if (!all && varbits.size() < 4096) {
+                varbits.add(varbitId);
+            } else {
+                all = true;
+            }
+        }
+
+        void varplayer(int varplayerId) {
+            anyVar = true;
+            if (!all && varplayers.size() < 4096) {
+                varplayers.add(varplayerId);
+            } else {
+                all = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.TransportType;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Distance estimate for the A* search in {@link Pathfinder}.
+ * <p>
+ * The plain distance to the target would overestimate routes that take a teleport, fairy ring, ship etc. and make
+ * A* miss them. Instead this estimates the cost in a relaxed world where walking costs the 2D distance between two
+ * tiles (ignoring collision and planes) and every transport that covers more ground than its duration may be taken.
+ * That relaxed cost never exceeds the real cost and changes by at most 1 per step, so the estimate is both admissible
+ * and consistent and A* still finds the same shortest paths as the breadth-first search.
+ */
+class TransportHeuristic {
+    private final int[] targetX;
+    private final int[] targetY;
+
+    // Transport origins that beat walking to the target, sorted by the relaxed cost from the origin to the target
+    private final int[] originX;
+    private final int[] originY;
+    private final int[] originCost;
+
+    // Upper limit on the estimate when teleports may become usable again later in the search
+    private final int teleportCost;
+
+    /**
+     * @param teleportsAnywhere whether usable teleports can be added to tiles other than the start during the search,
+     *                          which happens when the search starts in the wilderness
+     * @param ignoreTeleports   whether the search leaves teleports out, see {@link Pathfinder#setIgnoreTeleportAndItems}
+     */
+    TransportHeuristic(PathfinderConfig config, Set<Integer> targets, boolean teleportsAnywhere, boolean ignoreTeleports) {
+        targetX = new int[targets.size()];
+        targetY = new int[targets.size()];
+        int t = 0;
+        for (int target : targets) {
+            targetX[t] = WorldPointUtil.unpackWorldX(target);
+            targetY[t] = WorldPointUtil.unpackWorldY(target);
+            t++;
+        }
+
+        // Flatten the usable transports into edges between packed origins and destinations
+        Map<Integer, Integer> originIndices = new HashMap<>();
+        int[] origins = new int[256];
+        int[] edgeOrigin = new int[256];
+        int[] edgeDestination = new int[256];
+        int[] edgeCost = new int[256];
+        int edgeCount = 0;
+
+        for (Map.Entry<WorldPoint, Set<Transport>> entry : config.getTransports().entrySet()) {
+            final int origin = WorldPointUtil.packWorldPoint(entry.getKey());
+            for (Transport transport : entry.getValue()) {
+                int cost = transportCost(config, transport, ignoreTeleports);
+                if (cost < 0) {
+                    continue;
+                }
+
+                final int destination = WorldPointUtil.packWorldPoint(transport.getDestination());
+                // Transports that don't cover more ground than walking are already accounted for by the walking cost
+                if (cost >= WorldPointUtil.distanceBetween2D(origin, destination)) {
+                    continue;
+                }
+
+                Integer index = originIndices.get(origin);
+                if (index == null) {
+                    index = originIndices.size();
+                    originIndices.put(origin, index);
+                    if (index == origins.length) {
+                        origins = Arrays.copyOf(origins, index * 2);
+                    }
+                    origins[index] = origin;
+                }
+
+                if (edgeCount == edgeOrigin.length) {
+                    edgeOrigin = Arrays.copyOf(edgeOrigin, edgeCount * 2);
+                    edgeDestination = Arrays.copyOf(edgeDestination, edgeCount * 2);
+                    edgeCost = Arrays.copyOf(edgeCost, edgeCount * 2);
+                }
+                edgeOrigin[edgeCount] = index;
+                edgeDestination[edgeCount] = destination;
+                edgeCost[edgeCount] = cost;
+                edgeCount++;
+            }
+        }
+
+        // Dijkstra over the origins, where the cost of an origin is the cheapest relaxed route to a target from it
+        final int originCount = originIndices.size();
+        int[] remaining = new int[originCount];
+        int[] destinationCost = new int[edgeCount];
+        boolean[] settled = new boolean[originCount];
+        Arrays.fill(remaining, Integer.MAX_VALUE);
+        for (int e = 0; e < edgeCount; e++) {
+            destinationCost[e] = walkingCost(edgeDestination[e]);
+            remaining[edgeOrigin[e]] = Math.min(remaining[edgeOrigin[e]], add(edgeCost[e], destinationCost[e]));
+        }
+
+        for (int n = 0; n < originCount; n++) {
+            int next = -1;
+            for (int i = 0; i < originCount; i++) {
+                if (!settled[i] && (next == -1 || remaining[i] < remaining[next])) {
+                    next = i;
+                }
+            }
+            if (next == -1 || remaining[next] == Integer.MAX_VALUE) {
+                break;
+            }
+            settled[next] = true;
+
+            for (int e = 0; e < edgeCount; e++) {
+                if (settled[edgeOrigin[e]]) {
+                    continue;
+                }
+                int candidate = add(WorldPointUtil.distanceBetween2D(edgeDestination[e], origins[next]), remaining[next]);
+                if (candidate < destinationCost[e]) {
+                    destinationCost[e] = candidate;
+                    remaining[edgeOrigin[e]] = Math.min(remaining[edgeOrigin[e]], add(edgeCost[e], candidate));
+                }
+            }
+        }
+
+        // Only keep the origins that are cheaper than walking, ordered so the estimate can stop early
+        long[] useful = new long[originCount];
+        int usefulCount = 0;
+        for (int i = 0; i < originCount; i++) {
+            if (remaining[i] < walkingCost(origins[i])) {
+                useful[usefulCount++] = ((long) remaining[i] << 32) | i;
+            }
+        }
+        Arrays.sort(useful, 0, usefulCount);
+
+        originX = new int[usefulCount];
+        originY = new int[usefulCount];
+        originCost = new int[usefulCount];
+        for (int i = 0; i < usefulCount; i++) {
+            final int index = (int) useful[i];
+            originX[i] = WorldPointUtil.unpackWorldX(origins[index]);
+            originY[i] = WorldPointUtil.unpackWorldY(origins[index]);
+            originCost[i] = (int) (useful[i] >>> 32);
+        }
+
+        // A path that teleports part-way has to pay for the last teleport and the relaxed cost from its destination
+        int cheapestTeleport = Integer.MAX_VALUE;
+        if (teleportsAnywhere) {
+            for (Transport teleport : config.getUsableTeleports()) {
+                int cost = transportCost(config, teleport, ignoreTeleports);
+                if (cost >= 0) {
+                    cheapestTeleport = Math.min(cheapestTeleport,
+                            add(cost, uncappedEstimate(WorldPointUtil.packWorldPoint(teleport.getDestination()))));
+                }
+            }
+        }
+        teleportCost = cheapestTeleport;
+    }
+
+    /**
+     * Lower bound on the cost of travelling from the packed position to the closest target.
+     */
+    int estimate(int packedPosition) {
+        return Math.min(uncappedEstimate(packedPosition), teleportCost);
+    }
+
+    private int uncappedEstimate(int packedPosition) {
+        final int x = WorldPointUtil.unpackWorldX(packedPosition);
+        final int y = WorldPointUtil.unpackWorldY(packedPosition);
+        int best = walkingCost(x, y);
+        for (int i = 0; i < originCost.length; i++) {
+            final int cost = originCost[i];
+            if (cost >= best) {
+                break;
+            }
+            best = Math.min(best, cost + Math.max(Math.abs(x - originX[i]), Math.abs(y - originY[i])));
+        }
+        return best;
+    }
+
+    private int walkingCost(int packedPosition) {
+        return walkingCost(WorldPointUtil.unpackWorldX(packedPosition), WorldPointUtil.unpackWorldY(packedPosition));
+    }
+
+    private int walkingCost(int x, int y) {
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i < targetX.length; i++) {
+            best = Math.min(best, Math.max(Math.abs(x - targetX[i]), Math.abs(y - targetY[i])));
+        }
+        return best;
+    }
+
+    /**
+     * Matches the travel time given to transports by {@link CollisionMap#getNeighbors}, or -1 if it can't be used.
+     */
+    static int transportCost(PathfinderConfig config, Transport transport, boolean ignoreTeleports) {
+        if (transport.getDestination() == null) {
+            return -1;
+        }
+        if (TransportType.isTeleport(transport.getType())) {
+            if (ignoreTeleports) {
+                return -1;
+            }
+            return config.getDistanceBeforeUsingTeleport() + transport.getDuration();
+        }
+        return transport.getDuration();
+    }
+
+    private static int add(int a, int b) {
+        return (int) Math.min((long) a + b, Integer.MAX_VALUE);
+    }
+}
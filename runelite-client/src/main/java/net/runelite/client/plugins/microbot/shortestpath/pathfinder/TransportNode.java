@@ -1,18 +0,0 @@
-package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
-
-import net.runelite.api.coords.WorldPoint;
-
-public class TransportNode extends Node implements Comparable<TransportNode> {
-    public TransportNode(WorldPoint point, Node previous, int travelTime) {
-        super(point, previous, cost(previous, travelTime));
-    }
-
-    private static int cost(Node previous, int travelTime) {
-        return (previous != null ? previous.cost : 0) + travelTime;
-    }
-
-    @Override
-    public int compareTo(TransportNode other) {
-        return Integer.compare(cost, other.cost);
-    }
-}
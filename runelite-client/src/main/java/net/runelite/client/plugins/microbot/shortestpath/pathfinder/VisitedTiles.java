@@ -3,6 +3,8 @@ package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
 
+import java.util.Arrays;
+
 import static net.runelite.api.Constants.REGION_SIZE;
 
 public class VisitedTiles {
@@ -69,9 +71,10 @@ public class VisitedTiles {
     }
 
     public void clear() {
+        // Regions are kept so a reused instance doesn't have to allocate them again
         for (int i = 0; i < visitedRegions.length; ++i) {
             if (visitedRegions[i] != null) {
-                visitedRegions[i] = null;
+                visitedRegions[i].clear();
             }
         }
     }
@@ -103,6 +106,10 @@ public class VisitedTiles {
             return unique;
         }
 
+        public void clear() {
+            Arrays.fill(planes, 0L);
+        }
+
         public boolean get(int x, int y, int plane) {
             if (plane >= planeCount) {
                 // This check is necessary since we check visited tiles before checking the collision map, e.g. the node
@@ -0,0 +1,231 @@
+package net.runelite.client.plugins.microbot.util;
+
+import net.runelite.api.events.AnimationChanged;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.HitsplatApplied;
+import net.runelite.api.events.InteractingChanged;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.ItemDespawned;
+import net.runelite.api.events.ItemSpawned;
+import net.runelite.api.events.MenuOptionClicked;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.api.events.StatChanged;
+import net.runelite.api.events.VarClientIntChanged;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.api.events.WidgetClosed;
+import net.runelite.api.events.WidgetLoaded;
+import net.runelite.client.eventbus.Subscribe;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Wakes script threads that wait for a condition when game state changes, instead of having them check the
+ * condition on a fixed interval.
+ * <p>
+ * Game state only changes when the client processes a tick or an event, so a waiting thread is parked and only
+ * checks its condition again once one of the events it waits for is posted on the event bus. It reacts within the
+ * same tick as the change rather than up to a polling interval later, and doesn't use any CPU while nothing happens.
+ * This has to be registered on the event bus, which the Microbot plugin does on start up.
+ */
+public class GameEventSignal {
+    private static final GameEventSignal INSTANCE = new GameEventSignal();
+    /**
+     * What a condition is checked again on when no events are given: the tick and the changes scripts usually wait
+     * for. Spawns, chat messages, hitsplats and clicks are posted many times a tick, so waking on all of them would
+     * check the condition more often than polling.
+     */
+    private static final Class<?>[] DEFAULT_EVENTS = {
+            GameTick.class,
+            GameStateChanged.class,
+            ItemContainerChanged.class,
+            WidgetLoaded.class,
+            WidgetClosed.class,
+    };
+
+    private final List<Waiter> waiters = new CopyOnWriteArrayList<>();
+
+    public static GameEventSignal getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Waits until the condition is true, checking it whenever one of the events is posted. Without any events, the
+     * condition is checked on each game tick, game state change, item container change and widget load or close.
+     *
+     * @param timeoutMillis  how long to wait for the condition
+     * @param maxCheckMillis the longest time between two checks of the condition, for state that can change without
+     *                       one of the events being posted
+     * @return whether the condition became true before the timeout
+     */
+    public boolean await(BooleanSupplier condition, long timeoutMillis, long maxCheckMillis, Class<?>... events) {
+        final Waiter waiter = new Waiter(Thread.currentThread(), events.length == 0 ? DEFAULT_EVENTS : events);
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        final long maxCheckNanos = TimeUnit.MILLISECONDS.toNanos(maxCheckMillis);
+        waiters.add(waiter);
+        try {
+            while (true) {
+                // Cleared before the check, so an event posted while the condition is checked still wakes the thread
+                waiter.signalled = false;
+                if (condition.getAsBoolean()) {
+                    return true;
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                final long checkAt = System.nanoTime() + Math.min(remaining, maxCheckNanos);
+                long park;
+                while (!waiter.signalled && (park = checkAt - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(this, park);
+                    // Like Global.sleep, an interrupt only ends the current wait early
+                    if (Thread.interrupted()) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            waiters.remove(waiter);
+        }
+    }
+
+    /**
+     * The number of threads waiting for a condition.
+     */
+    public int getWaiting() {
+        return waiters.size();
+    }
+
+    private void signal(Object event) {
+        for (Waiter waiter : waiters) {
+            if (waiter.wakesOn(event)) {
+                waiter.signalled = true;
+                LockSupport.unpark(waiter.thread);
+            }
+        }
+    }
+
+    @Subscribe
+    public void onGameTick(GameTick event) {
+        signal(event);
+    }
+
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged event) {
+        signal(event);
+    }
+
+    @Subscribe
+    public void onVarbitChanged(VarbitChanged event) {
+        signal(event);
+    }
+
+    @Subscribe
+    public void onVarClientIntChanged(VarClientIntChanged event) {
+        signal(event);
+    }
+
+    @Subscribe
+    public void onItemContainerChanged(ItemContainerChanged event) {
+        signal(event);
+    }
+
+    @Subscribe
+    public void onAnimationChanged(AnimationChanged event) {
+        signal(event);
+    }
+
+    @Subscribe
+    public void onInteractingChanged(InteractingChanged event) {
+        signal(event);
+    }
+
+    @Subscribe
+    public void onStatChanged(StatChanged event) {
+        signal(event);
+    }
+
+    @Subscribe
+    public void onHitsplatApplied(HitsplatApplied event) {
+        signal(event);
+    }
+
+    @Subscribe
+    public void onChatMessage(ChatMessage event) {
+        signal(event);
+    }
+
+    @Subscribe
+    public void onMenuOptionClicked(MenuOptionClicked event) {
+        signal(event);
+    }
+
+    @Subscribe
+    public void onWidgetLoaded(WidgetLoaded event) {
+        signal(event);
+    }
+
+    @Subscribe
+    public void onWidgetClosed(WidgetClosed event) {
+        signal(event);
+    }
+
+    @Subscribe
+    public void onNpcSpawned(NpcSpawned event) {
+        signal(event);
+    }
+
+    @Subscribe
+    public void onNpcDespawned(NpcDespawned event) {
+        signal(event);
+    }
+
+    @Subscribe
+    public void onGameObjectSpawned(GameObjectSpawned event) {
+        signal(event);
+    }
+
+    @Subscribe
+    public void onGameObjectDespawned(GameObjectDespawned event) {
+        signal(event);
+    }
+
+    @Subscribe
+    public void onItemSpawned(ItemSpawned event) {
+        signal(event);
+    }
+
+    @Subscribe
+    public void onItemDespawned(ItemDespawned event) {
+        signal(event);
+    }
+
+    private static class Waiter {
+        private final Thread thread;
+        private final Class<?>[] events;
+        private volatile boolean signalled;
+
+        private Waiter(Thread thread, Class<?>[] events) {
+            this.thread = thread;
+            this.events = events;
+        }
+
+        private boolean wakesOn(Object event) {
+            for (Class<?> type : events) {
+                if (type.isInstance(event)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
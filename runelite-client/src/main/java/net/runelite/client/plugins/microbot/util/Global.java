@@ -1,14 +1,16 @@
 package net.runelite.client.plugins.microbot.util;
 
 import lombok.SneakyThrows;
+import net.runelite.api.events.GameTick;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.executor.SharedScheduler;
 import net.runelite.client.plugins.microbot.util.math.Rs2Random;
 
 import java.util.concurrent.*;
 import java.util.function.BooleanSupplier;
 
 public class Global {
-    static ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(10);
+    static ScheduledExecutorService scheduledExecutorService = SharedScheduler.newExecutor("Global");
     static ScheduledFuture<?> scheduledFuture;
 
     public static ScheduledFuture<?> awaitExecutionUntil(Runnable callback, BooleanSupplier awaitedCondition, int time) {
@@ -63,19 +65,41 @@ public class Global {
         return sleepUntil(awaitedCondition, 5000);
     }
 
+    /**
+     * Waits until the condition is true, checking it again on each game tick and as soon as the game state, an item
+     * container or a widget changes. When none of those events is posted, e.g. while logged out, the condition is
+     * still checked every 600ms, the length of a tick.
+     * <p>
+     * Like the polling loop this replaced, it sleeps 100ms after the condition is seen to be true, even when it
+     * already was, so callers still give the game the same time to catch up before their next action.
+     */
     public static boolean sleepUntil(BooleanSupplier awaitedCondition, int time) {
         if (Microbot.getClient().isClientThread()) return false;
-        boolean done = false;
-        long startTime = System.currentTimeMillis();
         try {
-            do {
-                done = awaitedCondition.getAsBoolean();
+            final boolean done = GameEventSignal.getInstance().await(awaitedCondition, time, 600);
+            if (done) {
                 sleep(100);
-            } while (!done && System.currentTimeMillis() - startTime < time);
+            }
+            return done;
         } catch (Exception e) {
             Microbot.logStackTrace("Global Sleep: ", e);
         }
-        return done;
+        return false;
+    }
+
+    /**
+     * Waits until the condition is true, only checking it again when one of the events is posted, e.g.
+     * {@code sleepUntil(() -> Rs2Inventory.contains("Logs"), 5000, ItemContainerChanged.class)}. The condition is
+     * still checked every tick in case the event isn't posted.
+     */
+    public static boolean sleepUntil(BooleanSupplier awaitedCondition, int time, Class<?>... events) {
+        if (Microbot.getClient().isClientThread()) return false;
+        try {
+            return GameEventSignal.getInstance().await(awaitedCondition, time, 600, events);
+        } catch (Exception e) {
+            Microbot.logStackTrace("Global Sleep: ", e);
+        }
+        return false;
     }
 
     public static boolean sleepUntil(BooleanSupplier awaitedCondition, Runnable action, long timeoutMillis, int sleepMillis) {
@@ -166,6 +190,6 @@ public class Global {
 
     public boolean sleepUntilTick(int ticksToWait) {
         int startTick = Microbot.getClient().getTickCount();
-        return Global.sleepUntil(() -> Microbot.getClient().getTickCount() >= startTick + ticksToWait, ticksToWait * 600 + 2000);
+        return Global.sleepUntil(() -> Microbot.getClient().getTickCount() >= startTick + ticksToWait, ticksToWait * 600 + 2000, GameTick.class);
     }
 }
\ No newline at end of file
@@ -1970,8 +1970,7 @@ public class Rs2Bank {
         }
 
         long originalStart = System.nanoTime();
-        Pathfinder pf = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), worldPoint, targets);
-        pf.run();
+        Pathfinder pf = Rs2Walker.findPath(worldPoint, targets);
         List<WorldPoint> path = pf.getPath();
         long originalTime = System.nanoTime() - originalStart;
 
@@ -1979,15 +1978,19 @@ public class Rs2Bank {
             Microbot.log("Unable to find path to nearest bank");
             return null;
         }
-        // Create a WorldArea around the final tile to be more generous
+        // Prefer the bank the search reached, and otherwise create a WorldArea around the final tile to be more generous
+        WorldPoint reachedBank = pf.getReachedTarget();
         WorldPoint nearestTile = path.get(path.size() - 1);
         WorldArea nearestTileArea = new WorldArea(nearestTile, 2, 2);
         Optional<BankLocation> byPath = accessibleBanks.stream()
-                .filter(b -> {
-                    WorldArea accessibleBankArea = new WorldArea(b.getWorldPoint(), 2, 2);
-                    return accessibleBankArea.intersectsWith2D(nearestTileArea);
-                })
-                .findFirst();
+                .filter(b -> b.getWorldPoint().equals(reachedBank))
+                .findFirst()
+                .or(() -> accessibleBanks.stream()
+                        .filter(b -> {
+                            WorldArea accessibleBankArea = new WorldArea(b.getWorldPoint(), 2, 2);
+                            return accessibleBankArea.intersectsWith2D(nearestTileArea);
+                        })
+                        .findFirst());
         BankLocation returnBankLocation = null;
         if (byPath.isPresent()) {
             Microbot.log("Found nearest bank (shortest path): " + byPath.get());
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.util.cache.strategy.*;
+import net.runelite.client.plugins.microbot.util.executor.SharedScheduler;
 import net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject;
 import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 
@@ -16,7 +17,6 @@ import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -363,11 +363,7 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
         
         // Initialize cleanup system
         this.cleanupIntervalMs = Math.min(ttlMillis / 4, 30000); // Quarter of TTL or max 30 seconds
-        this.cleanupExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread thread = new Thread(r, "Rs2Cache-Cleanup-" + cacheName);
-            thread.setDaemon(true);
-            return thread;
-        });
+        this.cleanupExecutor = SharedScheduler.newExecutor("Rs2Cache-Cleanup-" + cacheName);
         
         this.cache = new ConcurrentHashMap<>();
         this.cacheTimestamps = new ConcurrentHashMap<>();
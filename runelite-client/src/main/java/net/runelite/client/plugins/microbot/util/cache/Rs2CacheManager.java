@@ -9,6 +9,7 @@ import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.util.bank.Rs2Bank;
 import net.runelite.client.plugins.microbot.util.cache.serialization.CacheSerializationManager;
 import net.runelite.client.plugins.microbot.util.cache.util.LogOutputMode;
+import net.runelite.client.plugins.microbot.util.executor.SharedScheduler;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
@@ -122,11 +123,7 @@ public class Rs2CacheManager implements AutoCloseable {
      * Private constructor for singleton pattern.
      */
     private Rs2CacheManager() {
-        this.cleanupExecutor = Executors.newScheduledThreadPool(1, r -> {
-            Thread thread = new Thread(r, "Rs2CacheCleanup");
-            thread.setDaemon(true);
-            return thread;
-        });
+        this.cleanupExecutor = SharedScheduler.newExecutor("Rs2CacheCleanup");
         this.cacheManagerExecutor = Executors.newFixedThreadPool(2, runnable -> {
             Thread cacheThread = new Thread(runnable, "Rs2Cache-Persistence");
             cacheThread.setDaemon(true);
@@ -482,8 +482,7 @@ public class Rs2DepositBox {
             ShortestPathPlugin.getPathfinderConfig().refresh();
         }
 
-        Pathfinder pf = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), worldPoint, targets);
-        pf.run();
+        Pathfinder pf = Rs2Walker.findPath(worldPoint, targets);
 
         List<WorldPoint> path = pf.getPath();
         if (path.isEmpty()) {
@@ -0,0 +1,273 @@
+package net.runelite.client.plugins.microbot.util.executor;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The tasks of a single owner on the {@link SharedScheduler}.
+ * <p>
+ * It behaves like a {@link java.util.concurrent.ScheduledThreadPoolExecutor} that has as many threads as it has
+ * running tasks, but doesn't own any threads itself, so an idle script costs nothing. A periodic task never runs
+ * concurrently with itself, and cancelling a task with interruption interrupts the thread running it.
+ */
+public class ScriptExecutorService extends AbstractExecutorService implements ScheduledExecutorService {
+    @Getter
+    private final String name;
+    private final Set<Task<?>> tasks = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong runCount = new AtomicLong();
+    private final AtomicLong totalRunNanos = new AtomicLong();
+    private final AtomicLong maxStartDelayNanos = new AtomicLong();
+    private volatile long lastRunNanos;
+    private volatile boolean shutdown;
+
+    ScriptExecutorService(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return enqueue(new Task<>(Executors.callable(command, null), triggerTime(delay, unit), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return enqueue(new Task<>(callable, triggerTime(delay, unit), 0));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        return enqueue(new Task<>(Executors.callable(command, null), triggerTime(initialDelay, unit), unit.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("delay must be positive");
+        }
+        return enqueue(new Task<>(Executors.callable(command, null), triggerTime(initialDelay, unit), -unit.toNanos(delay)));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        schedule(command, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Cancels every task of this executor, interrupting the ones that are running, while still accepting new tasks.
+     * This is what stopping a script should do, as the script can be started again on the same executor.
+     */
+    public void cancelAll() {
+        for (Task<?> task : tasks) {
+            task.cancel(true);
+        }
+    }
+
+    /**
+     * Stops accepting tasks. Like a {@link java.util.concurrent.ScheduledThreadPoolExecutor}, periodic tasks are
+     * cancelled while delayed tasks still run.
+     */
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        for (Task<?> task : tasks) {
+            if (task.isPeriodic()) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        List<Runnable> notStarted = new ArrayList<>();
+        for (Task<?> task : tasks) {
+            if (task.cancel(true) && !task.started) {
+                notStarted.add(task);
+            }
+        }
+        return notStarted;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && tasks.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isTerminated()) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    /**
+     * The number of tasks that are waiting to run, including periodic tasks between two runs.
+     */
+    public int getQueuedTasks() {
+        return Math.max(0, tasks.size() - running.get());
+    }
+
+    public int getRunningTasks() {
+        return running.get();
+    }
+
+    public long getRunCount() {
+        return runCount.get();
+    }
+
+    public double getAverageRunTimeMillis() {
+        final long runs = runCount.get();
+        return runs == 0 ? 0 : totalRunNanos.get() / (runs * 1_000_000.0);
+    }
+
+    public double getLastRunTimeMillis() {
+        return lastRunNanos / 1_000_000.0;
+    }
+
+    /**
+     * The longest time a task has waited for a thread after it was due.
+     */
+    public double getMaxStartDelayMillis() {
+        return maxStartDelayNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[queued=%d, running=%d, runs=%d, avg=%.1fms]",
+                name, getQueuedTasks(), getRunningTasks(), getRunCount(), getAverageRunTimeMillis());
+    }
+
+    private static long triggerTime(long delay, TimeUnit unit) {
+        return System.nanoTime() + Math.max(0, unit.toNanos(delay));
+    }
+
+    private <V> Task<V> enqueue(Task<V> task) {
+        if (shutdown) {
+            throw new RejectedExecutionException(name + " has been shut down");
+        }
+        tasks.add(task);
+        task.submit();
+        return task;
+    }
+
+    private class Task<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+        /**
+         * Positive for a fixed rate, negative for a fixed delay and 0 for a task that only runs once.
+         */
+        private final long period;
+        private volatile long time;
+        private volatile ScheduledFuture<?> timerFuture;
+        private volatile boolean started;
+        private volatile boolean inRun;
+
+        private Task(Callable<V> callable, long time, long period) {
+            super(callable);
+            this.time = time;
+            this.period = period;
+        }
+
+        private void submit() {
+            timerFuture = SharedScheduler.schedule(() -> SharedScheduler.dispatch(this), time - System.nanoTime());
+            // The task may have been cancelled before the timer future was known
+            if (isCancelled()) {
+                timerFuture.cancel(false);
+            }
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return period != 0;
+        }
+
+        @Override
+        public void run() {
+            SharedScheduler.started();
+            started = true;
+            inRun = true;
+            running.incrementAndGet();
+            final Thread thread = Thread.currentThread();
+            final String threadName = thread.getName();
+            thread.setName(name);
+            final long start = System.nanoTime();
+            maxStartDelayNanos.accumulateAndGet(start - time, Math::max);
+            try {
+                if (!isPeriodic()) {
+                    super.run();
+                } else if (runAndReset()) {
+                    if (shutdown) {
+                        cancel(false);
+                    } else {
+                        time = period > 0 ? time + period : System.nanoTime() - period;
+                        submit();
+                    }
+                }
+            } finally {
+                final long runNanos = System.nanoTime() - start;
+                lastRunNanos = runNanos;
+                runCount.incrementAndGet();
+                totalRunNanos.addAndGet(runNanos);
+                running.decrementAndGet();
+                inRun = false;
+                if (isDone()) {
+                    tasks.remove(this);
+                }
+                thread.setName(threadName);
+                SharedScheduler.finished(runNanos);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            final boolean cancelled = super.cancel(mayInterruptIfRunning);
+            final ScheduledFuture<?> future = timerFuture;
+            if (future != null) {
+                future.cancel(false);
+            }
+            // Running tasks are removed once they finish, so termination waits for them
+            if (!inRun) {
+                tasks.remove(this);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(time - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
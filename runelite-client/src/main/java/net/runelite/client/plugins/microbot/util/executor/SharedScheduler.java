@@ -0,0 +1,133 @@
+package net.runelite.client.plugins.microbot.util.executor;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The threads that every script, cache cleanup and other background task of Microbot runs on.
+ * <p>
+ * A single timer thread keeps track of when tasks are due and hands them to the workers, so a script only holds on
+ * to a thread while one of its tasks is actually running. The workers are virtual threads when the JVM supports them,
+ * and otherwise a pool of platform threads that grows with the number of running tasks and shrinks again when they
+ * are idle. Virtual threads can be turned off with {@code -Dmicrobot.virtualThreads=false}.
+ * <p>
+ * Each owner gets its own {@link ScriptExecutorService} from {@link #newExecutor(String)}, so its tasks can be
+ * cancelled and measured separately from everyone else's.
+ */
+@Slf4j
+public final class SharedScheduler {
+    private static final ScheduledThreadPoolExecutor TIMER;
+    private static final Executor WORKERS;
+    private static final boolean VIRTUAL_THREADS;
+
+    private static final AtomicInteger pendingTasks = new AtomicInteger();
+    private static final AtomicInteger runningTasks = new AtomicInteger();
+    private static final LongAdder completedRuns = new LongAdder();
+    private static final LongAdder totalRunNanos = new LongAdder();
+
+    static {
+        TIMER = new ScheduledThreadPoolExecutor(1,
+                new ThreadFactoryBuilder().setNameFormat("microbot-scheduler").setDaemon(true).build());
+        TIMER.setRemoveOnCancelPolicy(true);
+
+        Executor virtualThreads = Boolean.parseBoolean(System.getProperty("microbot.virtualThreads", "true"))
+                ? createVirtualThreadExecutor() : null;
+        VIRTUAL_THREADS = virtualThreads != null;
+        if (virtualThreads != null) {
+            WORKERS = virtualThreads;
+        } else {
+            WORKERS = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                    new ThreadFactoryBuilder().setNameFormat("microbot-worker-%d").setDaemon(true).build());
+        }
+        log.debug("Running scripts on {} threads", VIRTUAL_THREADS ? "virtual" : "platform");
+    }
+
+    private SharedScheduler() {
+    }
+
+    /**
+     * Creates an executor for the tasks of one owner, e.g. a script. The name is given to the thread while one of its
+     * tasks is running.
+     */
+    public static ScriptExecutorService newExecutor(String name) {
+        return new ScriptExecutorService(name);
+    }
+
+    public static boolean isVirtualThreads() {
+        return VIRTUAL_THREADS;
+    }
+
+    /**
+     * The number of tasks waiting for their delay to pass.
+     */
+    public static int getScheduledTasks() {
+        return TIMER.getQueue().size();
+    }
+
+    /**
+     * The number of tasks that are due, but haven't started running yet.
+     */
+    public static int getPendingTasks() {
+        return pendingTasks.get();
+    }
+
+    public static int getRunningTasks() {
+        return runningTasks.get();
+    }
+
+    public static long getCompletedRuns() {
+        return completedRuns.sum();
+    }
+
+    public static double getAverageRunTimeMillis() {
+        final long runs = completedRuns.sum();
+        return runs == 0 ? 0 : totalRunNanos.sum() / (runs * 1_000_000.0);
+    }
+
+    static ScheduledFuture<?> schedule(Runnable dispatch, long delayNanos) {
+        return TIMER.schedule(dispatch, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    static void dispatch(Runnable task) {
+        pendingTasks.incrementAndGet();
+        WORKERS.execute(task);
+    }
+
+    static void started() {
+        pendingTasks.decrementAndGet();
+        runningTasks.incrementAndGet();
+    }
+
+    static void finished(long runNanos) {
+        runningTasks.decrementAndGet();
+        completedRuns.increment();
+        totalRunNanos.add(runNanos);
+    }
+
+    /**
+     * Looks up Thread.ofVirtual() reflectively, as the client still has to run on JVMs without virtual threads.
+     */
+    private static Executor createVirtualThreadExecutor() {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = ofVirtual.invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "microbot-worker-", 0L);
+            final ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return task -> factory.newThread(task).start();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
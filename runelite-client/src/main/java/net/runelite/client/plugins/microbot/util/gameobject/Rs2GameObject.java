@@ -229,12 +229,21 @@ public class Rs2GameObject {
 
 	@Deprecated
     public static TileObject findObjectById(int id) {
-        var list = getAll(o -> o.getId() == id);
+        var list = getAll(idMatches(id));
         return list.stream().filter(x -> x.getId() == id).findFirst().orElse(null);
     }
 
     @Deprecated
     public static TileObject findObjectByLocation(WorldPoint worldPoint) {
+        Rs2ObjectIndex index = Rs2ObjectIndex.getInstance();
+        if (index.isReady() && !Rs2Sailing.isOnBoat()) {
+            int plane = Microbot.getClient().getTopLevelWorldView().getPlane();
+            // Ordered like getAll, game objects first
+            return index.getAt(worldPoint).stream()
+                    .filter(o -> o.getPlane() <= plane)
+                    .min(Comparator.comparing(o -> !(o instanceof GameObject)))
+                    .orElse(null);
+        }
         return getAll(o -> o.getWorldLocation().equals(worldPoint)).stream().findFirst().orElse(null);
     }
 
@@ -259,7 +268,7 @@ public class Rs2GameObject {
         Player player = Microbot.getClient().getLocalPlayer();
         if (player == null) return null;
         LocalPoint anchor = player.getLocalLocation();
-        return getAll(o -> o.getId() == id).stream().filter(withinTilesPredicate(Rs2LocalPoint.worldToLocalDistance(distance), anchor)).findFirst().orElse(null);
+        return getAll(idMatches(id)).stream().filter(withinTilesPredicate(Rs2LocalPoint.worldToLocalDistance(distance), anchor)).findFirst().orElse(null);
     }
 
     @Deprecated
@@ -377,7 +386,7 @@ public class Rs2GameObject {
 
     @Deprecated
     public static GameObject findObjectByImposter(int id, String optionName, boolean exact) {
-        return getGameObjects(o -> o.getId() == id)
+        return getGameObjects(idMatches(id))
                 .stream()
                 .filter(o -> {
                     ObjectComposition comp = convertToObjectComposition(o);
@@ -419,7 +428,7 @@ public class Rs2GameObject {
             return hasAction(comp, "Bank", false) || hasAction(comp, "Collect", false);
         };
 
-        return getGameObjects(o -> Arrays.stream(Rs2BankID.bankIds).anyMatch(bid -> o.getId() == bid), maxSearchRadius).stream()
+        return getGameObjects(idMatches(Rs2BankID.bankIds), maxSearchRadius).stream()
                 .filter(bankableFilter)
                 .findFirst()
                 .orElse(null);
@@ -444,7 +453,7 @@ public class Rs2GameObject {
             if (comp == null) return false;
             return hasAction(comp, "Deposit", false);
         };
-        return getGameObjects(o -> Arrays.stream(Rs2BankID.bankIds).anyMatch(bid -> o.getId() == bid), maxSearchRadius).stream()
+        return getGameObjects(idMatches(Rs2BankID.bankIds), maxSearchRadius).stream()
                 .filter(depositableFilter)
                 .findFirst()
                 .orElse(null);
@@ -551,7 +560,7 @@ public class Rs2GameObject {
     }
 
     public static TileObject getTileObject(int id) {
-        return getTileObject(o -> o.getId() == id);
+        return getTileObject(idMatches(id));
     }
 
     public static TileObject getTileObject(int id, int distance) {
@@ -567,17 +576,17 @@ public class Rs2GameObject {
     }
 
     public static TileObject getTileObject(int id, WorldPoint anchor, int distance) {
-        return getTileObject(o -> o.getId() == id, anchor, distance);
+        return getTileObject(idMatches(id), anchor, distance);
     }
 
     public static TileObject getTileObject(Integer[] ids) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getTileObject(o -> idSet.contains(o.getId()));
+        return getTileObject(idMatches(idSet));
     }
 
     public static TileObject getTileObject(Integer[] ids, int distance) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getTileObject(o -> idSet.contains(o.getId()), distance);
+        return getTileObject(idMatches(idSet), distance);
     }
 
     public static TileObject getTileObject(String objectName, boolean exact) {
@@ -753,23 +762,23 @@ public class Rs2GameObject {
     }
 
     public static GameObject getGameObject(int id, WorldPoint anchor, int distance) {
-        return getGameObject(o -> o.getId() == id, anchor, distance);
+        return getGameObject(idMatches(id), anchor, distance);
     }
 
     public static GameObject getGameObject(Integer[] ids) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGameObject(o -> idSet.contains(o.getId()));
+        return getGameObject(idMatches(idSet));
     }
 
     @Deprecated
     public static GameObject findObject(Integer[] ids) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGameObject(o -> idSet.contains(o.getId()));
+        return getGameObject(idMatches(idSet));
     }
 
     public static GameObject getGameObject(Integer[] ids, int distance) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGameObject(o -> idSet.contains(o.getId()), distance);
+        return getGameObject(idMatches(idSet), distance);
     }
 
     public static GameObject getGameObject(String objectName, boolean exact, int distance) {
@@ -945,17 +954,17 @@ public class Rs2GameObject {
     }
 
     public static GroundObject getGroundObject(int id, WorldPoint anchor, int distance) {
-        return getGroundObject(o -> o.getId() == id, anchor, distance);
+        return getGroundObject(idMatches(id), anchor, distance);
     }
 
     public static GroundObject getGroundObject(Integer[] ids) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGroundObject(o -> idSet.contains(o.getId()));
+        return getGroundObject(idMatches(idSet));
     }
 
     public static GroundObject getGroundObject(Integer[] ids, int distance) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGroundObject(o -> idSet.contains(o.getId()), distance);
+        return getGroundObject(idMatches(idSet), distance);
     }
 
     public static GroundObject getGroundObject(String objectName, boolean exact, int distance) {
@@ -1131,17 +1140,17 @@ public class Rs2GameObject {
     }
 
     public static WallObject getWallObject(int id, WorldPoint anchor, int distance) {
-        return getWallObject(o -> o.getId() == id, anchor, distance);
+        return getWallObject(idMatches(id), anchor, distance);
     }
 
     public static WallObject getWallObject(Integer[] ids) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getWallObject(o -> idSet.contains(o.getId()));
+        return getWallObject(idMatches(idSet));
     }
 
     public static WallObject getWallObject(Integer[] ids, int distance) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getWallObject(o -> idSet.contains(o.getId()), distance);
+        return getWallObject(idMatches(idSet), distance);
     }
 
     public static WallObject getWallObject(String objectName, boolean exact, int distance) {
@@ -1321,17 +1330,17 @@ public class Rs2GameObject {
     }
 
     public static DecorativeObject getDecorativeObject(int id, WorldPoint anchor, int distance) {
-        return getDecorativeObject(o -> o.getId() == id, anchor, distance);
+        return getDecorativeObject(idMatches(id), anchor, distance);
     }
 
     public static DecorativeObject getDecorativeObject(Integer[] ids) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getDecorativeObject(o -> idSet.contains(o.getId()));
+        return getDecorativeObject(idMatches(idSet));
     }
 
     public static DecorativeObject getDecorativeObject(Integer[] ids, int distance) {
         Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getDecorativeObject(o -> idSet.contains(o.getId()), distance);
+        return getDecorativeObject(idMatches(idSet), distance);
     }
 
     public static DecorativeObject getDecorativeObject(String objectName, boolean exact, int distance) {
@@ -1593,13 +1602,55 @@ public class Rs2GameObject {
                     .collect(Collectors.toList());
         }
 
-        return getSceneObjects(extractor)
+        Rs2ObjectIndex index = Rs2ObjectIndex.getInstance();
+        Stream<T> objects = index.isReady()
+                ? getIndexedObjects(index, extractor, predicate, anchorLocal, distance)
+                : getSceneObjects(extractor);
+        return objects
                 .filter(withinTilesPredicate(distance, anchorLocal))
                 .filter(predicate)
                 .sorted(Comparator.comparingInt(o -> o.getLocalLocation().distanceTo(anchorLocal)))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Gets the objects that the extractor would find while walking the scene from the index, starting from the
+     * objects with the ids or name of the predicate if it has them, or else from the objects near the anchor.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends TileObject> Stream<T> getIndexedObjects(Rs2ObjectIndex index, Function<Tile, Collection<? extends T>> extractor,
+                                                                      Predicate<T> predicate, LocalPoint anchorLocal, int distance) {
+        final List<TileObject> candidates;
+        if (predicate instanceof Rs2ObjectIndex.IdFilter) {
+            candidates = index.getById(((Rs2ObjectIndex.IdFilter<T>) predicate).ids);
+        } else if (predicate instanceof Rs2ObjectIndex.NameFilter) {
+            Rs2ObjectIndex.NameFilter<T> filter = (Rs2ObjectIndex.NameFilter<T>) predicate;
+            candidates = index.getByName(filter.name, filter.exact);
+        } else {
+            candidates = index.getWithin(anchorLocal, distance);
+        }
+
+        final Object kind = extractor;
+        final Predicate<TileObject> type;
+        if (kind == GAMEOBJECT_EXTRACTOR) {
+            type = o -> o instanceof GameObject;
+        } else if (kind == GROUNDOBJECT_EXTRACTOR) {
+            type = o -> o instanceof GroundObject;
+        } else if (kind == WALLOBJECT_EXTRACTOR) {
+            type = o -> o instanceof WallObject;
+        } else if (kind == DECORATIVEOBJECT_EXTRACTOR) {
+            type = o -> o instanceof DecorativeObject;
+        } else {
+            type = o -> !(o instanceof GameObject);
+        }
+        // Walking the scene covers the planes up to the one of the player
+        final int plane = Microbot.getClient().getTopLevelWorldView().getPlane();
+        return candidates.stream()
+                .filter(type)
+                .filter(o -> o.getPlane() <= plane)
+                .map(o -> (T) o);
+    }
+
     private static <T extends TileObject> T getSceneObject(Function<Tile, Collection<? extends T>> extractor, Predicate<T> predicate, LocalPoint anchorLocal, int distance) {
         return getSceneObjects(extractor, predicate, anchorLocal, distance)
                 .stream()
@@ -1652,17 +1703,45 @@ public class Rs2GameObject {
 
         String lower = objectName.toLowerCase();
 
-        return obj -> {
+        return new Rs2ObjectIndex.NameFilter<>(objectName, exact, obj -> {
             if (!ids.isEmpty() && !ids.contains(obj.getId())) {
                 return false;
             }
 
-            return getCompositionName(obj)
+            // Indexed names save a trip to the client thread for every object
+            String indexedName = Rs2ObjectIndex.getInstance().getName(obj);
+            Optional<String> name = indexedName != null
+                    ? Optional.of(indexedName).filter(n -> !n.isEmpty())
+                    : getCompositionName(obj);
+            return name
                     .map(compName -> exact ? compName.equalsIgnoreCase(objectName) : compName.toLowerCase().contains(lower))
                     .orElse(false);
-        };
+        });
     }
 
+	/**
+	 * Creates a predicate that matches TileObjects by id. Lookups with this predicate only look at the objects with
+	 * those ids instead of every object in the scene.
+	 *
+	 * @param ids The object ids to match.
+	 * @param <T> A type that extends TileObject.
+	 * @return A predicate that returns true if the object has one of the ids.
+	 */
+	public static <T extends TileObject> Predicate<T> idMatches(Collection<Integer> ids)
+	{
+		return new Rs2ObjectIndex.IdFilter<>(new HashSet<>(ids));
+	}
+
+	public static <T extends TileObject> Predicate<T> idMatches(Integer... ids)
+	{
+		return idMatches(Arrays.asList(ids));
+	}
+
+	public static <T extends TileObject> Predicate<T> idMatches(int id)
+	{
+		return new Rs2ObjectIndex.IdFilter<>(Collections.singleton(id));
+	}
+
 	/**
 	 * Creates a predicate that matches TileObjects whose name contains the given name (case-insensitive).
 	 *
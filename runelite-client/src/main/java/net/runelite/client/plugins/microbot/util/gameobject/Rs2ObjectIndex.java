@@ -0,0 +1,381 @@
+package net.runelite.client.plugins.microbot.util.gameobject;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Constants;
+import net.runelite.api.GameObject;
+import net.runelite.api.ObjectComposition;
+import net.runelite.api.Perspective;
+import net.runelite.api.Scene;
+import net.runelite.api.Tile;
+import net.runelite.api.TileObject;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.DecorativeObjectDespawned;
+import net.runelite.api.events.DecorativeObjectSpawned;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.GroundObjectDespawned;
+import net.runelite.api.events.GroundObjectSpawned;
+import net.runelite.api.events.WallObjectDespawned;
+import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.misc.Rs2UiHelper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * An index of the tile objects in the scene, kept up to date from their spawn events so {@link Rs2GameObject} doesn't
+ * have to walk every tile of the scene for each lookup.
+ * <p>
+ * Objects are indexed by id, by name, by world point and by an 8x8 tile grid of the scene for radius queries. The
+ * index is cleared when a scene starts loading, as the client sends a spawn event for every object of the new scene.
+ * If it's registered after the scene loaded, the scene is walked once on the next tick. Lookups can be made from any
+ * thread; {@link #isReady()} is false until the index has caught up with the scene, and callers should walk the scene
+ * themselves until then.
+ */
+@Slf4j
+public class Rs2ObjectIndex {
+    private static final Rs2ObjectIndex INSTANCE = new Rs2ObjectIndex();
+    private static final int CELL_SHIFT = 3;
+    private static final int CELLS = (Constants.SCENE_SIZE >> CELL_SHIFT) + 1;
+    /**
+     * The name of objects whose name depends on a varbit, so it can't be indexed.
+     */
+    private static final String IMPOSTOR = "\0impostor";
+
+    private final Map<TileObject, Entry> objects = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<TileObject>> byId = new ConcurrentHashMap<>();
+    private final Map<String, Set<TileObject>> byName = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<TileObject>> byPoint = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<TileObject>> byCell = new ConcurrentHashMap<>();
+    /**
+     * The name of each object id, which never changes, so it's kept between scenes.
+     */
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    public static Rs2ObjectIndex getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return objects.size();
+    }
+
+    /**
+     * Forgets the indexed scene, which has to be done when this is unregistered from the event bus as the spawn events
+     * are missed from then on.
+     */
+    public void reset() {
+        ready = false;
+    }
+
+    public List<TileObject> getById(Collection<Integer> ids) {
+        List<TileObject> result = new ArrayList<>();
+        for (int id : ids) {
+            Set<TileObject> matches = byId.get(id);
+            if (matches != null) {
+                result.addAll(matches);
+            }
+        }
+        return result;
+    }
+
+    public List<TileObject> getAt(WorldPoint point) {
+        Set<TileObject> matches = byPoint.get(pack(point));
+        return matches == null ? Collections.emptyList() : new ArrayList<>(matches);
+    }
+
+    /**
+     * Gets the objects whose name matches, ignoring case. Objects whose name depends on a varbit are always included,
+     * so the result still has to be filtered by name.
+     */
+    public List<TileObject> getByName(String name, boolean exact) {
+        final String lower = name.toLowerCase();
+        List<TileObject> result = new ArrayList<>();
+        if (exact) {
+            Set<TileObject> matches = byName.get(lower);
+            if (matches != null) {
+                result.addAll(matches);
+            }
+        } else {
+            byName.forEach((key, matches) -> {
+                if (key.contains(lower) && !key.equals(IMPOSTOR)) {
+                    result.addAll(matches);
+                }
+            });
+        }
+        Set<TileObject> impostors = byName.get(IMPOSTOR);
+        if (impostors != null) {
+            result.addAll(impostors);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the objects in the grid cells that are within the distance, in local units, of the anchor. This includes
+     * some objects that are further away, so the result still has to be filtered by distance.
+     */
+    public List<TileObject> getWithin(LocalPoint anchor, int distance) {
+        final int tiles = Math.max(1, distance / Perspective.LOCAL_TILE_SIZE + 1);
+        final int minX = cellCoordinate(anchor.getSceneX() - tiles);
+        final int minY = cellCoordinate(anchor.getSceneY() - tiles);
+        final int maxX = cellCoordinate(anchor.getSceneX() + tiles);
+        final int maxY = cellCoordinate(anchor.getSceneY() + tiles);
+        List<TileObject> result = new ArrayList<>();
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                Set<TileObject> matches = byCell.get(x * CELLS + y);
+                if (matches != null) {
+                    result.addAll(matches);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the name of an object without going to the client thread.
+     *
+     * @return the name without color tags, an empty string if the object has no name, or null if it isn't known or
+     * depends on a varbit
+     */
+    public String getName(TileObject object) {
+        final String name = names.get(object.getId());
+        return name == null || name.equals(IMPOSTOR) ? null : name;
+    }
+
+    @Subscribe
+    public void onGameTick(GameTick event) {
+        if (!ready) {
+            WorldView worldView = Microbot.getClient().getTopLevelWorldView();
+            if (worldView != null) {
+                scan(worldView.getScene());
+            }
+        }
+    }
+
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged event) {
+        switch (event.getGameState()) {
+            case LOADING:
+                clear();
+                // Every object of the new scene gets a spawn event
+                ready = true;
+                break;
+            case LOGIN_SCREEN:
+            case HOPPING:
+            case CONNECTION_LOST:
+                clear();
+                ready = false;
+                break;
+        }
+    }
+
+    @Subscribe
+    public void onGameObjectSpawned(GameObjectSpawned event) {
+        add(event.getGameObject());
+    }
+
+    @Subscribe
+    public void onGameObjectDespawned(GameObjectDespawned event) {
+        remove(event.getGameObject());
+    }
+
+    @Subscribe
+    public void onWallObjectSpawned(WallObjectSpawned event) {
+        add(event.getWallObject());
+    }
+
+    @Subscribe
+    public void onWallObjectDespawned(WallObjectDespawned event) {
+        remove(event.getWallObject());
+    }
+
+    @Subscribe
+    public void onDecorativeObjectSpawned(DecorativeObjectSpawned event) {
+        add(event.getDecorativeObject());
+    }
+
+    @Subscribe
+    public void onDecorativeObjectDespawned(DecorativeObjectDespawned event) {
+        remove(event.getDecorativeObject());
+    }
+
+    @Subscribe
+    public void onGroundObjectSpawned(GroundObjectSpawned event) {
+        add(event.getGroundObject());
+    }
+
+    @Subscribe
+    public void onGroundObjectDespawned(GroundObjectDespawned event) {
+        remove(event.getGroundObject());
+    }
+
+    private void scan(Scene scene) {
+        clear();
+        Tile[][][] tiles = scene.getTiles();
+        for (Tile[][] plane : tiles) {
+            for (Tile[] column : plane) {
+                for (Tile tile : column) {
+                    if (tile == null) {
+                        continue;
+                    }
+                    for (GameObject object : tile.getGameObjects()) {
+                        add(object);
+                    }
+                    add(tile.getWallObject());
+                    add(tile.getDecorativeObject());
+                    add(tile.getGroundObject());
+                }
+            }
+        }
+        ready = true;
+        log.debug("Indexed {} objects in the scene", objects.size());
+    }
+
+    private void clear() {
+        objects.clear();
+        byId.clear();
+        byName.clear();
+        byPoint.clear();
+        byCell.clear();
+    }
+
+    /**
+     * Must be called on the client thread, as the name of a new object id is looked up.
+     */
+    private void add(TileObject object) {
+        if (object == null) {
+            return;
+        }
+        // Objects of boats move with the boat, and are still found by walking their scene
+        final WorldView worldView = object.getWorldView();
+        if (worldView != null && !worldView.isTopLevel()) {
+            return;
+        }
+        final LocalPoint local = object.getLocalLocation();
+        final Entry entry = new Entry(object.getId(), names.computeIfAbsent(object.getId(), Rs2ObjectIndex::loadName),
+                pack(object.getWorldLocation()), cell(local.getSceneX(), local.getSceneY()));
+        if (objects.putIfAbsent(object, entry) != null) {
+            // Objects bigger than a tile are on each of their tiles
+            return;
+        }
+        add(byId, entry.id, object);
+        add(byName, entry.name.toLowerCase(), object);
+        add(byPoint, entry.point, object);
+        add(byCell, entry.cell, object);
+    }
+
+    private void remove(TileObject object) {
+        final Entry entry = object == null ? null : objects.remove(object);
+        if (entry == null) {
+            return;
+        }
+        remove(byId, entry.id, object);
+        remove(byName, entry.name.toLowerCase(), object);
+        remove(byPoint, entry.point, object);
+        remove(byCell, entry.cell, object);
+    }
+
+    private static <K> void add(Map<K, Set<TileObject>> index, K key, TileObject object) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(object);
+    }
+
+    private static <K> void remove(Map<K, Set<TileObject>> index, K key, TileObject object) {
+        index.computeIfPresent(key, (k, matches) -> {
+            matches.remove(object);
+            return matches.isEmpty() ? null : matches;
+        });
+    }
+
+    private static String loadName(int id) {
+        ObjectComposition composition = Microbot.getClient().getObjectDefinition(id);
+        if (composition == null) {
+            return "";
+        }
+        if (composition.getImpostorIds() != null) {
+            return IMPOSTOR;
+        }
+        final String name = composition.getName();
+        return name == null || name.equals("null") ? "" : Rs2UiHelper.stripColTags(name);
+    }
+
+    private static int cellCoordinate(int sceneCoordinate) {
+        return Math.max(0, Math.min(CELLS - 1, sceneCoordinate >> CELL_SHIFT));
+    }
+
+    private static int cell(int sceneX, int sceneY) {
+        return cellCoordinate(sceneX) * CELLS + cellCoordinate(sceneY);
+    }
+
+    private static int pack(WorldPoint point) {
+        return (point.getPlane() << 30) | ((point.getY() & 0x7FFF) << 15) | (point.getX() & 0x7FFF);
+    }
+
+    private static final class Entry {
+        private final int id;
+        private final String name;
+        private final int point;
+        private final int cell;
+
+        private Entry(int id, String name, int point, int cell) {
+            this.id = id;
+            this.name = name;
+            this.point = point;
+            this.cell = cell;
+        }
+    }
+
+    /**
+     * A predicate matching objects by id, which lets lookups start from the objects with those ids.
+     */
+    static final class IdFilter<T extends TileObject> implements Predicate<T> {
+        final Set<Integer> ids;
+
+        IdFilter(Set<Integer> ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        public boolean test(T object) {
+            return ids.contains(object.getId());
+        }
+    }
+
+    /**
+     * A predicate matching objects by name, which lets lookups start from the objects with that name.
+     */
+    static final class NameFilter<T extends TileObject> implements Predicate<T> {
+        final String name;
+        final boolean exact;
+        private final Predicate<T> predicate;
+
+        NameFilter(String name, boolean exact, Predicate<T> predicate) {
+            this.name = name;
+            this.exact = exact;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean test(T object) {
+            return predicate.test(object);
+        }
+    }
+}
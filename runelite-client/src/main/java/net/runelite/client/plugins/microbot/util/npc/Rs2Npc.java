@@ -15,6 +15,8 @@ import net.runelite.client.plugins.microbot.util.math.Rs2Random;
 import net.runelite.client.plugins.microbot.util.menu.NewMenuEntry;
 import net.runelite.client.plugins.microbot.util.misc.Rs2UiHelper;
 import net.runelite.client.plugins.microbot.util.player.Rs2Player;
+import net.runelite.client.plugins.microbot.util.snapshot.Rs2WorldSnapshot;
+import net.runelite.client.plugins.microbot.util.snapshot.WorldSnapshot;
 import net.runelite.client.plugins.microbot.util.tile.Rs2Tile;
 import net.runelite.client.plugins.microbot.util.walker.Rs2Walker;
 import org.jetbrains.annotations.Nullable;
@@ -207,6 +209,19 @@ public class Rs2Npc {
 
     private static final Rs2NpcModel[] EMPTY_ARRAY = new Rs2NpcModel[0];
 
+    /**
+     * Starts a query for NPCs, which filters NPCs before wrapping them and doesn't sort its results unless asked to.
+     *
+     * <pre>
+     * Rs2NpcModel cow = Rs2Npc.query().withName("cow").attackable().reachable().nearest();
+     * </pre>
+     *
+     * @return a new {@link Rs2NpcQuery}
+     */
+    public static Rs2NpcQuery query() {
+        return new Rs2NpcQuery();
+    }
+
     /**
      * Retrieves a stream of NPCs filtered by a given condition.
      *
@@ -334,6 +349,13 @@ public class Rs2Npc {
      */
     public static Stream<Rs2NpcModel> getNpcs(String name, boolean exact) {
         if (name == null || name.isEmpty()) return Stream.empty();
+        WorldSnapshot snapshot = Rs2WorldSnapshot.current();
+        if (snapshot != null) {
+            String lowerName = name.toLowerCase();
+            return snapshot.getNpcs().stream()
+                    .filter(npc -> exact ? npc.getName().equalsIgnoreCase(name) : npc.getName().toLowerCase().contains(lowerName))
+                    .map(WorldSnapshot.NpcState::toModel);
+        }
         return getNpcs(npc -> {
             String npcName = npc.getName();
             if (npcName == null || npcName.isEmpty()) return false;
@@ -360,6 +382,12 @@ public class Rs2Npc {
      * @return A {@link Stream} of {@link Rs2NpcModel} objects that match the given NPC ID.
      */
     public static Stream<Rs2NpcModel> getNpcs(int id) {
+        WorldSnapshot snapshot = Rs2WorldSnapshot.current();
+        if (snapshot != null) {
+            return snapshot.getNpcs().stream()
+                    .filter(npc -> npc.getId() == id)
+                    .map(WorldSnapshot.NpcState::toModel);
+        }
         return getNpcs().filter(x -> x.getId() == id);
     }
 
@@ -488,9 +516,8 @@ public class Rs2Npc {
      * @return The first {@link Rs2NpcModel} that matches the given criteria, or {@code null} if no match is found.
      */
     public static Rs2NpcModel getNpc(String name, boolean exact) {
-        return getNpcs(name, exact)
-                .findFirst()
-                .orElse(null);
+        if (name == null || name.isEmpty()) return null;
+        return query().withName(name, exact).nearest();
     }
 
     /**
@@ -502,9 +529,7 @@ public class Rs2Npc {
      * @return The first {@link Rs2NpcModel} that matches the given ID, or {@code null} if no match is found.
      */
     public static Rs2NpcModel getNpc(int id) {
-        return getNpcs(x -> x.getId() == id)
-                .findFirst()
-                .orElse(null);
+        return query().withIds(id).nearest();
     }
 
     /**
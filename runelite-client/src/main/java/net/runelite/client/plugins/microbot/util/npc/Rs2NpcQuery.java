@@ -0,0 +1,379 @@
+package net.runelite.client.plugins.microbot.util.npc;
+
+import net.runelite.api.Actor;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.snapshot.Rs2WorldSnapshot;
+import net.runelite.client.plugins.microbot.util.snapshot.WorldSnapshot;
+import net.runelite.client.plugins.microbot.util.tile.Rs2Tile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A query for NPCs that checks the cheap properties of each NPC before wrapping it in an {@link Rs2NpcModel}, and
+ * stops as soon as it has its result.
+ * <pre>
+ * Rs2NpcModel cow = Rs2Npc.query().withName("Cow").attackable().within(10).nearest();
+ * boolean banker = Rs2Npc.query().withIds(NpcID.BANKER_1, NpcID.BANKER_2).exists();
+ * </pre>
+ * Unlike {@link Rs2Npc#getNpcs(Predicate)}, results aren't sorted unless asked for with {@link #nearest()} or
+ * {@link #nearest(int)}. The query is answered from the {@link WorldSnapshot} of the current tick when there is one,
+ * and otherwise with a single trip to the client thread.
+ */
+public class Rs2NpcQuery {
+    /**
+     * How far {@link #reachable()} walks when the query has no radius.
+     */
+    private static final int DEFAULT_REACH = 30;
+
+    private Set<Integer> ids;
+    private String name;
+    private boolean exactName;
+    private boolean alive;
+    private boolean attackable;
+    private boolean interactingWithPlayer;
+    private boolean reachable;
+    private WorldPoint anchor;
+    private int radius = -1;
+    private Predicate<Rs2NpcModel> predicate;
+
+    Rs2NpcQuery() {
+    }
+
+    public Rs2NpcQuery withIds(int... ids) {
+        this.ids = new HashSet<>();
+        for (int id : ids) {
+            this.ids.add(id);
+        }
+        return this;
+    }
+
+    /**
+     * Matches NPCs whose name contains the name, ignoring case.
+     *
+     * @throws IllegalArgumentException if the name is null or empty, which would match every NPC
+     */
+    public Rs2NpcQuery withName(String name) {
+        return withName(name, false);
+    }
+
+    /**
+     * Matches NPCs whose name equals the name, or contains it if not exact, ignoring case.
+     *
+     * @throws IllegalArgumentException if the name is null or empty, which would match every NPC
+     */
+    public Rs2NpcQuery withName(String name, boolean exact) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("NPC name must not be null or empty");
+        }
+        this.name = exact ? name : name.toLowerCase();
+        this.exactName = exact;
+        return this;
+    }
+
+    /**
+     * Matches NPCs that aren't dead or dying.
+     */
+    public Rs2NpcQuery alive() {
+        this.alive = true;
+        return this;
+    }
+
+    /**
+     * Matches NPCs with a combat level that are alive and either not fighting or fighting the local player.
+     */
+    public Rs2NpcQuery attackable() {
+        this.attackable = true;
+        return this;
+    }
+
+    public Rs2NpcQuery interactingWithPlayer() {
+        this.interactingWithPlayer = true;
+        return this;
+    }
+
+    /**
+     * Matches NPCs that the local player can walk up to, within the radius of the query or 30 tiles without one.
+     */
+    public Rs2NpcQuery reachable() {
+        this.reachable = true;
+        return this;
+    }
+
+    /**
+     * Matches NPCs within a number of tiles of the local player.
+     */
+    public Rs2NpcQuery within(int tiles) {
+        this.anchor = null;
+        this.radius = tiles;
+        return this;
+    }
+
+    public Rs2NpcQuery within(WorldPoint anchor, int tiles) {
+        this.anchor = anchor;
+        this.radius = tiles;
+        return this;
+    }
+
+    /**
+     * Adds a condition on the NPC model, which is checked after all other conditions.
+     */
+    public Rs2NpcQuery where(Predicate<Rs2NpcModel> predicate) {
+        this.predicate = this.predicate == null ? predicate : this.predicate.and(predicate);
+        return this;
+    }
+
+    /**
+     * @return any matching NPC, or null
+     */
+    public Rs2NpcModel first() {
+        List<Match> matches = run(1, false);
+        return matches.isEmpty() ? null : matches.get(0).model;
+    }
+
+    public boolean exists() {
+        return first() != null;
+    }
+
+    /**
+     * @return the matching NPC closest to the local player, or null
+     */
+    public Rs2NpcModel nearest() {
+        List<Rs2NpcModel> nearest = nearest(1);
+        return nearest.isEmpty() ? null : nearest.get(0);
+    }
+
+    /**
+     * @return up to {@code count} matching NPCs, closest to the local player first
+     */
+    public List<Rs2NpcModel> nearest(int count) {
+        List<Match> matches = run(count, true);
+        matches.sort(Comparator.comparingInt(match -> match.distance));
+        List<Rs2NpcModel> result = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            result.add(match.model);
+        }
+        return result;
+    }
+
+    /**
+     * @return every matching NPC, in no particular order
+     */
+    public List<Rs2NpcModel> list() {
+        List<Match> matches = run(Integer.MAX_VALUE, false);
+        List<Rs2NpcModel> result = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            result.add(match.model);
+        }
+        return result;
+    }
+
+    public int count() {
+        return run(Integer.MAX_VALUE, false).size();
+    }
+
+    /**
+     * Finds up to {@code limit} matches. When {@code nearest} is set, the closest matches are kept in a heap of the
+     * limit's size, otherwise the search stops once it has found enough.
+     */
+    private List<Match> run(int limit, boolean nearest) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        final WorldSnapshot snapshot = Rs2WorldSnapshot.current();
+        if (snapshot != null) {
+            return search(snapshot, limit, nearest);
+        }
+        return Microbot.getClientThread().runOnClientThreadOptional(() -> search(limit, nearest))
+                .orElse(Collections.emptyList());
+    }
+
+    private List<Match> search(WorldSnapshot snapshot, int limit, boolean nearest) {
+        final WorldSnapshot.PlayerState player = snapshot.getLocalPlayer();
+        if (player == null) {
+            return Collections.emptyList();
+        }
+        final WorldPoint origin = anchor != null ? anchor : player.getWorldLocation();
+        final Map<WorldPoint, Integer> reachableTiles = reachable ? reachableTiles(player.getWorldLocation()) : null;
+
+        Collector collector = new Collector(limit, nearest);
+        for (WorldSnapshot.NpcState npc : snapshot.getNpcs()) {
+            if (ids != null && !ids.contains(npc.getId())) {
+                continue;
+            }
+            if (radius >= 0 && !isWithin(npc.getWorldLocation(), origin)) {
+                continue;
+            }
+            if (name != null && !nameMatches(npc.getName())) {
+                continue;
+            }
+            if ((alive || attackable) && npc.isDead()) {
+                continue;
+            }
+            if (attackable && (npc.getCombatLevel() <= 0
+                    || (npc.getInteracting() != null && !npc.isInteractingWithLocalPlayer()))) {
+                continue;
+            }
+            if (interactingWithPlayer && !npc.isInteractingWithLocalPlayer()) {
+                continue;
+            }
+            if (reachableTiles != null && !isReachable(npc.getWorldLocation(), reachableTiles)) {
+                continue;
+            }
+            Rs2NpcModel model = npc.toModel();
+            if (predicate != null && !predicate.test(model)) {
+                continue;
+            }
+            collector.add(model, npc.getDistance());
+            // Snapshot NPCs are in order of distance, so the first matches are also the nearest
+            if (collector.isFull()) {
+                break;
+            }
+        }
+        return collector.result();
+    }
+
+    /**
+     * Runs on the client thread.
+     */
+    private List<Match> search(int limit, boolean nearest) {
+        final WorldView worldView = Microbot.getClient().getTopLevelWorldView();
+        final Player player = Microbot.getClient().getLocalPlayer();
+        if (worldView == null || player == null || player.getLocalLocation() == null) {
+            return Collections.emptyList();
+        }
+        final WorldPoint origin = anchor != null ? anchor : player.getWorldLocation();
+        final Map<WorldPoint, Integer> reachableTiles = reachable ? reachableTiles(player.getWorldLocation()) : null;
+
+        Collector collector = new Collector(limit, nearest);
+        for (NPC npc : worldView.npcs()) {
+            if (npc == null || ids != null && !ids.contains(npc.getId())) {
+                continue;
+            }
+            final WorldPoint location = npc.getWorldLocation();
+            if (radius >= 0 && !isWithin(location, origin)) {
+                continue;
+            }
+            if (name != null && !nameMatches(npc.getName())) {
+                continue;
+            }
+            if ((alive || attackable) && npc.isDead()) {
+                continue;
+            }
+            final Actor interacting = attackable || interactingWithPlayer ? npc.getInteracting() : null;
+            if (attackable && (npc.getCombatLevel() <= 0 || interacting != null && interacting != player)) {
+                continue;
+            }
+            if (interactingWithPlayer && interacting != player) {
+                continue;
+            }
+            if (reachableTiles != null && !isReachable(location, reachableTiles)) {
+                continue;
+            }
+            if (npc.getLocalLocation() == null) {
+                continue;
+            }
+            Rs2NpcModel model = new Rs2NpcModel(npc);
+            if (predicate != null && !predicate.test(model)) {
+                continue;
+            }
+            collector.add(model, npc.getLocalLocation().distanceTo(player.getLocalLocation()));
+            if (!nearest && collector.isFull()) {
+                break;
+            }
+        }
+        return collector.result();
+    }
+
+    private boolean nameMatches(String npcName) {
+        if (npcName == null || npcName.isEmpty()) {
+            return false;
+        }
+        return exactName ? npcName.equalsIgnoreCase(name) : npcName.toLowerCase().contains(name);
+    }
+
+    private boolean isWithin(WorldPoint location, WorldPoint origin) {
+        return location != null && origin != null && location.getPlane() == origin.getPlane()
+                && location.distanceTo2D(origin) <= radius;
+    }
+
+    private Map<WorldPoint, Integer> reachableTiles(WorldPoint from) {
+        return Rs2Tile.getReachableTilesFromTile(from, radius >= 0 ? radius : DEFAULT_REACH);
+    }
+
+    /**
+     * Like {@link Rs2Npc#canWalkTo}, an NPC on a tile that can't be walked on is reachable from a tile next to it.
+     */
+    private static boolean isReachable(WorldPoint location, Map<WorldPoint, Integer> reachableTiles) {
+        if (location == null) {
+            return false;
+        }
+        if (reachableTiles.containsKey(location)) {
+            return true;
+        }
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                if (reachableTiles.containsKey(location.dx(dx).dy(dy))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static final class Match {
+        private final Rs2NpcModel model;
+        private final int distance;
+
+        private Match(Rs2NpcModel model, int distance) {
+            this.model = model;
+            this.distance = distance;
+        }
+    }
+
+    /**
+     * Keeps the first matches, or the nearest ones in a max-heap so the furthest match is replaced first.
+     */
+    private static final class Collector {
+        private final int limit;
+        private final boolean nearest;
+        private final List<Match> matches = new ArrayList<>();
+        private final PriorityQueue<Match> heap;
+
+        private Collector(int limit, boolean nearest) {
+            this.limit = limit;
+            this.nearest = nearest;
+            this.heap = nearest ? new PriorityQueue<>(Math.min(limit, 64), (a, b) -> Integer.compare(b.distance, a.distance)) : null;
+        }
+
+        private void add(Rs2NpcModel model, int distance) {
+            if (!nearest) {
+                matches.add(new Match(model, distance));
+            } else if (heap.size() < limit) {
+                heap.add(new Match(model, distance));
+            } else if (distance < heap.peek().distance) {
+                heap.poll();
+                heap.add(new Match(model, distance));
+            }
+        }
+
+        private boolean isFull() {
+            return (nearest ? heap.size() : matches.size()) >= limit;
+        }
+
+        private List<Match> result() {
+            return nearest ? new ArrayList<>(heap) : matches;
+        }
+    }
+}
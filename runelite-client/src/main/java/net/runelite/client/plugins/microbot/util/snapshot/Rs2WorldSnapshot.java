@@ -0,0 +1,139 @@
+package net.runelite.client.plugins.microbot.util.snapshot;
+
+import net.runelite.api.Actor;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.snapshot.WorldSnapshot.NpcState;
+import net.runelite.client.plugins.microbot.util.snapshot.WorldSnapshot.PlayerState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Takes a {@link WorldSnapshot} at the start of every game tick, so scripts can query the world without a round
+ * trip to the client thread for each call.
+ * <p>
+ * Only the NPCs and players are copied, which is cheap as there are at most a few hundred of them. Tile objects are
+ * tracked by {@link net.runelite.client.plugins.microbot.util.gameobject.Rs2ObjectIndex} instead, which can be read
+ * from any thread. This has to be registered on the event bus, which the Microbot plugin does on start up.
+ */
+public class Rs2WorldSnapshot {
+    private static final Rs2WorldSnapshot INSTANCE = new Rs2WorldSnapshot();
+    private static final Comparator<NpcState> NPC_DISTANCE = Comparator.comparingInt(NpcState::getDistance);
+    private static final Comparator<PlayerState> PLAYER_DISTANCE = Comparator.comparingInt(PlayerState::getDistance);
+
+    private volatile WorldSnapshot snapshot;
+
+    public static Rs2WorldSnapshot getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the snapshot of the current tick.
+     *
+     * @return the snapshot, or null if there is none for the current tick, e.g. when logged out or before the first
+     * tick after this was registered. Callers should then query the client as before.
+     */
+    public static WorldSnapshot current() {
+        final WorldSnapshot current = INSTANCE.snapshot;
+        final Client client = Microbot.getClient();
+        if (current == null || client == null || client.getGameState() != GameState.LOGGED_IN
+                || current.getTick() != client.getTickCount()) {
+            return null;
+        }
+        return current;
+    }
+
+    /**
+     * Gets the most recent snapshot, however old it is.
+     */
+    public static WorldSnapshot latest() {
+        return INSTANCE.snapshot;
+    }
+
+    /**
+     * Forgets the last snapshot, which has to be done when this is unregistered from the event bus as it would never
+     * be replaced.
+     */
+    public void reset() {
+        snapshot = null;
+    }
+
+    // Before GameEventSignal wakes up the scripts waiting for this tick
+    @Subscribe(priority = 100)
+    public void onGameTick(GameTick event) {
+        final Client client = Microbot.getClient();
+        final WorldView worldView = client.getTopLevelWorldView();
+        if (worldView == null) {
+            return;
+        }
+
+        final Player local = client.getLocalPlayer();
+        final LocalPoint origin = local != null ? local.getLocalLocation() : null;
+        final PlayerState localPlayer = local != null ? capture(local, local, origin) : null;
+
+        List<NpcState> npcs = new ArrayList<>();
+        for (NPC npc : worldView.npcs()) {
+            if (npc != null && npc.getName() != null && npc.getLocalLocation() != null) {
+                npcs.add(capture(npc, local, origin));
+            }
+        }
+        npcs.sort(NPC_DISTANCE);
+
+        List<PlayerState> players = new ArrayList<>();
+        for (Player player : worldView.players()) {
+            if (player != null && player != local && player.getLocalLocation() != null) {
+                players.add(capture(player, local, origin));
+            }
+        }
+        players.sort(PLAYER_DISTANCE);
+
+        snapshot = new WorldSnapshot(client.getTickCount(), client.getGameState(), worldView.getPlane(), localPlayer,
+                Collections.unmodifiableList(npcs), Collections.unmodifiableList(players));
+    }
+
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged event) {
+        switch (event.getGameState()) {
+            case LOGIN_SCREEN:
+            case HOPPING:
+            case CONNECTION_LOST:
+                snapshot = null;
+                break;
+        }
+    }
+
+    private static NpcState capture(NPC npc, Player local, LocalPoint origin) {
+        final Actor interacting = npc.getInteracting();
+        return new NpcState(npc, npc.getIndex(), npc.getId(), npc.getName(), npc.getCombatLevel(),
+                npc.getWorldLocation(), npc.getLocalLocation(), npc.getAnimation(), npc.getGraphic(),
+                npc.getPoseAnimation() != npc.getIdlePoseAnimation(), npc.isDead(),
+                npc.getHealthRatio(), npc.getHealthScale(),
+                interacting != null ? interacting.getName() : null, interacting != null && interacting == local,
+                distance(npc.getLocalLocation(), origin));
+    }
+
+    private static PlayerState capture(Player player, Player local, LocalPoint origin) {
+        final Actor interacting = player.getInteracting();
+        return new PlayerState(player, player.getName(), player.getCombatLevel(), player.getWorldLocation(),
+                player.getLocalLocation(), player.getAnimation(), player.getGraphic(),
+                player.getPoseAnimation() != player.getIdlePoseAnimation(),
+                player.getHealthRatio(), player.getHealthScale(),
+                interacting != null ? interacting.getName() : null, interacting != null && interacting == local,
+                distance(player.getLocalLocation(), origin));
+    }
+
+    private static int distance(LocalPoint point, LocalPoint origin) {
+        return point == null || origin == null ? Integer.MAX_VALUE : point.distanceTo(origin);
+    }
+}
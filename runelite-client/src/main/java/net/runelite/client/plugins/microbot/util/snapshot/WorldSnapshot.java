@@ -0,0 +1,122 @@
+package net.runelite.client.plugins.microbot.util.snapshot;
+
+import lombok.Getter;
+import lombok.Value;
+import net.runelite.api.GameState;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.util.npc.Rs2NpcModel;
+import net.runelite.client.plugins.microbot.util.player.Rs2PlayerModel;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * The state of the game world as it was at the start of a game tick, captured on the client thread by
+ * {@link Rs2WorldSnapshot}.
+ * <p>
+ * Everything in a snapshot is copied out of the client, so it can be read from any thread without locking and
+ * without waiting for the client thread. The server only updates the world once per tick, so a snapshot of the
+ * current tick is as accurate as asking the client, except for local-only state such as walking animations between
+ * two tiles. The client objects are kept alongside the copied state so scripts can still interact with them.
+ */
+@Getter
+public class WorldSnapshot {
+    private final int tick;
+    private final GameState gameState;
+    private final int plane;
+    /**
+     * The local player, or null if it didn't exist when the snapshot was taken.
+     */
+    private final PlayerState localPlayer;
+    /**
+     * The NPCs in the scene, closest to the local player first.
+     */
+    private final List<NpcState> npcs;
+    /**
+     * The other players in the scene, closest to the local player first.
+     */
+    private final List<PlayerState> players;
+
+    WorldSnapshot(int tick, GameState gameState, int plane, PlayerState localPlayer, List<NpcState> npcs,
+                  List<PlayerState> players) {
+        this.tick = tick;
+        this.gameState = gameState;
+        this.plane = plane;
+        this.localPlayer = localPlayer;
+        this.npcs = npcs;
+        this.players = players;
+    }
+
+    public List<NpcState> getNpcs(Predicate<NpcState> predicate) {
+        return npcs.stream().filter(predicate).collect(Collectors.toList());
+    }
+
+    public List<PlayerState> getPlayers(Predicate<PlayerState> predicate) {
+        return players.stream().filter(predicate).collect(Collectors.toList());
+    }
+
+    /**
+     * The distance in tiles from the local player, or {@link Integer#MAX_VALUE} if there is no local player.
+     */
+    public int distanceToPlayer(WorldPoint point) {
+        if (localPlayer == null || point == null || point.getPlane() != localPlayer.getWorldLocation().getPlane()) {
+            return Integer.MAX_VALUE;
+        }
+        return localPlayer.getWorldLocation().distanceTo2D(point);
+    }
+
+    @Value
+    public static class NpcState {
+        NPC npc;
+        int index;
+        int id;
+        String name;
+        int combatLevel;
+        WorldPoint worldLocation;
+        LocalPoint localLocation;
+        int animation;
+        int graphic;
+        boolean moving;
+        boolean dead;
+        int healthRatio;
+        int healthScale;
+        /**
+         * The name of the actor this NPC is interacting with, or null.
+         */
+        String interacting;
+        boolean interactingWithLocalPlayer;
+        /**
+         * The distance in local units from the local player.
+         */
+        int distance;
+
+        public Rs2NpcModel toModel() {
+            return new Rs2NpcModel(npc);
+        }
+    }
+
+    @Value
+    public static class PlayerState {
+        Player player;
+        String name;
+        int combatLevel;
+        WorldPoint worldLocation;
+        LocalPoint localLocation;
+        int animation;
+        int graphic;
+        boolean moving;
+        int healthRatio;
+        int healthScale;
+        String interacting;
+        boolean interactingWithLocalPlayer;
+        int distance;
+
+        public Rs2PlayerModel toModel() {
+            return new Rs2PlayerModel(player);
+        }
+    }
+}
@@ -21,6 +21,7 @@ import net.runelite.client.plugins.microbot.globval.enums.InterfaceTab;
 import net.runelite.client.plugins.microbot.shortestpath.*;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.Pathfinder;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathfinderConfig;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathfindingService;
 import net.runelite.client.plugins.microbot.util.bank.Rs2Bank;
 import net.runelite.client.plugins.microbot.util.bank.enums.BankLocation;
 import net.runelite.client.plugins.microbot.util.camera.Rs2Camera;
@@ -55,6 +56,7 @@ import javax.inject.Named;
 import java.awt.*;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.stream.Collectors;
@@ -132,6 +134,8 @@ public class Rs2Walker {
             return WalkerState.MOVING;
         if ((currentTarget != null && currentTarget.equals(target)) && ShortestPathPlugin.getMarker() != null)
             return WalkerState.MOVING;
+        // Transports that failed on the way to an earlier target may work again
+        ShortestPathPlugin.getPathfinderConfig().clearExcludedTransports();
         setTarget(target);
         ShortestPathPlugin.setReachedDistance(distance);
         stuckCount = 0;
@@ -314,7 +318,7 @@ public class Rs2Walker {
                         System.out.println("cancel instead of recalculate");
                         setTarget(null);
                     } else {
-                        recalculatePath();
+                        repairPath();
                     }
                     break;
                 }
@@ -1108,6 +1112,13 @@ public class Rs2Walker {
                     if (!handleDoorException(object, action)) {
                         Rs2GameObject.interact(object, action);
                         Rs2Player.waitForWalking();
+
+                        // A door that stays shut, e.g. a locked one, is routed around if the pathfinder knows it as a transport
+                        Transport door = isInstance ? null : findDoorTransport(path, index, object.getId());
+                        if (door != null && !sleepUntil(() -> Rs2Tile.isTileReachable(door.getDestination()), 1800)) {
+                            log.info("Door {} at {} didn't open, repairing path without it", name, probe);
+                            repairPath(door);
+                        }
                     }
                     return true;
                 }
@@ -1117,6 +1128,20 @@ public class Rs2Walker {
         return false;
     }
 
+    /**
+     * The transport crossing the door between the tiles of the path at or after the index, if there is one.
+     */
+    private static Transport findDoorTransport(List<WorldPoint> path, int index, int objectId) {
+        for (int i = index; i <= index + 1 && i < path.size() - 1; i++) {
+            for (Transport transport : ShortestPathPlugin.getTransports().getOrDefault(path.get(i), Collections.emptySet())) {
+                if (transport.getObjectId() == objectId && path.get(i + 1).equals(transport.getDestination())) {
+                    return transport;
+                }
+            }
+        }
+        return null;
+    }
+
     private static boolean handleDoorException(TileObject object, String action) {
         if (isInStrongholdOfSecurity()) {
             return handleStrongholdOfSecurityAnswer(object, action);
@@ -1261,6 +1286,39 @@ public class Rs2Walker {
                 .orElse(-1);
     }
 
+    /**
+     * Repairs the current path from the player's location after the player left it, reusing the rest of the path.
+     * Falls back to recalculating the path if the player is too far from it or there is no way back to it.
+     */
+    public static void repairPath() {
+        repairPath(null);
+    }
+
+    /**
+     * Repairs the current path after a transport on it failed, e.g. a door that turned out to be locked. The transport
+     * isn't used again until the walker is given a new target.
+     */
+    public static void repairPath(Transport failedTransport) {
+        final Pathfinder previous = ShortestPathPlugin.getPathfinder();
+        final WorldPoint location = Rs2Player.getWorldLocation();
+        if (previous == null || !previous.isDone() || location == null || Microbot.getClient().isClientThread()) {
+            if (failedTransport != null) {
+                ShortestPathPlugin.getPathfinderConfig().excludeTransport(failedTransport);
+            }
+        } else {
+            Pathfinder repair = Pathfinder.repair(ShortestPathPlugin.getPathfinderConfig(), previous, location, failedTransport);
+            if (repair != null) {
+                repair.run();
+                if (repair.isRepaired()) {
+                    log.debug("Repaired path from {}: {}", location, repair.getStats());
+                    ShortestPathPlugin.setPathfinder(repair);
+                    return;
+                }
+            }
+        }
+        recalculatePath();
+    }
+
     /**
      * Force the walker to recalculate path
      */
@@ -1348,8 +1406,8 @@ public class Rs2Walker {
         if (Rs2Player.isInCave()) {
             pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, ends);
             pathfinder.run();
-            ShortestPathPlugin.getPathfinderConfig().setIgnoreTeleportAndItems(true);
             Pathfinder pathfinderWithoutTeleports = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, ends);
+            pathfinderWithoutTeleports.setIgnoreTeleportAndItems(true);
             pathfinderWithoutTeleports.run();
             var lastPath = pathfinderWithoutTeleports.getPath().get(pathfinderWithoutTeleports.getPath().size()-1);
             var pathWithoutTeleportsIsReachable = lastPath.distanceTo(ends.stream().findFirst().orElse(lastPath)) <= config.reachedDistance();
@@ -1358,7 +1416,6 @@ public class Rs2Walker {
             } else {
                 ShortestPathPlugin.setPathfinder(pathfinder);
             }
-            ShortestPathPlugin.getPathfinderConfig().setIgnoreTeleportAndItems(false);
         } else {
             ShortestPathPlugin.setPathfinder(new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, ends));
             ShortestPathPlugin.setPathfinderFuture(ShortestPathPlugin.getPathfindingExecutor().submit(ShortestPathPlugin.getPathfinder()));
@@ -1597,7 +1654,13 @@ public class Rs2Walker {
 
 						handleObject(transport, object);
 						sleepUntil(() -> !Rs2Player.isAnimating());
-						return sleepUntilTrue(() -> Rs2Player.getWorldLocation().distanceTo(transport.getDestination()) < OFFSET);
+						if (sleepUntilTrue(() -> Rs2Player.getWorldLocation().distanceTo(transport.getDestination()) < OFFSET)) {
+							return true;
+						}
+						// The transport didn't take us to its destination, e.g. a shortcut that needs a higher level
+						log.info("Transport {} didn't reach {}, repairing path without it", transport.getDisplayInfo(), transport.getDestination());
+						repairPath(transport);
+						return true;
 					}
                 }
             }
@@ -2064,10 +2127,28 @@ public class Rs2Walker {
      * @return distance
      */
     public static int getDistanceBetween(WorldPoint startpoint, WorldPoint endpoint) {
-        Set<WorldPoint> ends = Set.of(endpoint);
-        Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), startpoint, ends);
+        return findPath(startpoint, Set.of(endpoint)).getPath().size();
+    }
+
+    /**
+     * Searches for the shortest path to the closest of the targets on the {@link PathfindingService} workers, so
+     * scripts asking for the same search at the same time share a single one. The search runs on the calling thread
+     * if the service isn't running or has too many searches waiting.
+     *
+     * @return the finished pathfinder
+     */
+    public static Pathfinder findPath(WorldPoint start, Set<WorldPoint> targets) {
+        final PathfindingService service = ShortestPathPlugin.getPathfindingService();
+        if (service != null && !Microbot.getClient().isClientThread()) {
+            try {
+                return service.submit(start, targets).join();
+            } catch (CompletionException e) {
+                log.debug("Pathfinding service couldn't search from {}, searching here: {}", start, e.getCause().toString());
+            }
+        }
+        Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, targets);
         pathfinder.run();
-        return pathfinder.getPath().size();
+        return pathfinder;
     }
 
     private static boolean handleSpiritTree(Transport transport) {
@@ -2653,8 +2734,7 @@ public class Rs2Walker {
             // Configure pathfinder            
             ShortestPathPlugin.getPathfinderConfig().refresh();
             // Run pathfinder
-            Pathfinder pf = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), startPoint, targetSet);
-            pf.run();
+            Pathfinder pf = findPath(startPoint, targetSet);
 
             List<WorldPoint> path = pf.getPath();
             if (path.isEmpty()) {
@@ -2662,6 +2742,16 @@ public class Rs2Walker {
                 return -1;
             }
 
+            // The search reports the target it reached, which is only missing when the path ends near a target
+            WorldPoint reached = pf.getReachedTarget();
+            if (reached != null) {
+                int index = targets.indexOf(reached);
+                if (index != -1) {
+                    log.debug("Found nearest accessible target at index " + index + ": " + targets.get(index));
+                    return index;
+                }
+            }
+
             // Find which target corresponds to the end of the path
             WorldPoint nearestTile = path.get(path.size() - 1);
             WorldArea nearestTileArea = new WorldArea(nearestTile, tolerance, tolerance);
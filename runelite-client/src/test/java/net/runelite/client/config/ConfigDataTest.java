@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.config;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ConfigDataTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testJournalReplay() throws Exception
+	{
+		File configFile = new File(folder.getRoot(), "test.properties");
+
+		ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+		ConfigData data = new ConfigData(configFile, executor);
+		data.setProperty("a", "1");
+		data.patch(data.swapChanges());
+
+		data.setProperty("b", "2");
+		data.setProperty("b", "3");
+		data.unset("a");
+
+		// delayed tasks still run after shutdown
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		// config data without a journal doesn't replay it
+		ConfigData unjournaled = new ConfigData(configFile);
+		assertEquals("1", unjournaled.getProperty("a"));
+		assertNull(unjournaled.getProperty("b"));
+		assertTrue(unjournaled.swapChanges().isEmpty());
+
+		// the changes since the last patch were never saved
+		ScheduledThreadPoolExecutor replayExecutor = new ScheduledThreadPoolExecutor(1);
+		ConfigData replayed = new ConfigData(configFile, replayExecutor);
+		replayExecutor.shutdown();
+		assertNull(replayed.getProperty("a"));
+		assertEquals("3", replayed.getProperty("b"));
+
+		Map<String, String> changes = replayed.swapChanges();
+		assertEquals(2, changes.size());
+		assertTrue(changes.containsKey("a"));
+		assertNull(changes.get("a"));
+		assertEquals("3", changes.get("b"));
+	}
+
+	@Test
+	public void testJournalCompaction() throws Exception
+	{
+		File configFile = new File(folder.getRoot(), "test.properties");
+		File journalFile = ConfigData.journalFile(configFile);
+
+		ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+		ConfigData data = new ConfigData(configFile, executor);
+		data.setProperty("a", "1");
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		assertTrue(journalFile.exists());
+
+		data.patch(data.swapChanges());
+		assertFalse(journalFile.exists());
+
+		ConfigData reloaded = new ConfigData(configFile);
+		assertEquals("1", reloaded.getProperty("a"));
+		assertTrue(reloaded.swapChanges().isEmpty());
+	}
+}